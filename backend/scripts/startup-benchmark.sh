@@ -0,0 +1,89 @@
+#!/usr/bin/env bash
+# Startup benchmark: time to first successful request and resident memory after it, for
+#   jvm     the executable jar               (./mvnw package)
+#   cds     AOT-processed, with a CDS archive (./mvnw -Pfast-startup package)
+#   native  GraalVM native image             (./mvnw -Pnative native:compile)
+# Variants whose build output is missing are skipped.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [variant...]     (from backend/, default: 5 runs of all)
+# Environment: PROFILE (default dev, H2 in memory), PORT (default 8080),
+#              URL_PATH (default /api/dashboard/stats), APP_ARGS (extra application arguments)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+shift || true
+if (($# == 0)); then
+  set -- jvm cds native
+fi
+VARIANTS=("$@")
+PROFILE=${PROFILE:-dev}
+PORT=${PORT:-8080}
+URL_PATH=${URL_PATH:-/api/dashboard/stats}
+APP_ARGS=${APP_ARGS:-}
+TARGET=$(pwd)/target
+JAR=$(ls "$TARGET"/staff-management-*.jar 2>/dev/null | grep -v -- '-cds.jar' | head -1 || true)
+CDS_JAR=$(ls "$TARGET"/cds/staff-management-*-cds.jar 2>/dev/null | head -1 || true)
+NATIVE=$TARGET/staff-management
+
+command_for() {
+  local args="--spring.profiles.active=$PROFILE --server.port=$PORT $APP_ARGS"
+  case $1 in
+    jvm) [[ -n $JAR ]] && echo "java -jar $JAR $args" ;;
+    cds) [[ -n $CDS_JAR && -f $TARGET/cds/application.jsa ]] &&
+           echo "java -XX:SharedArchiveFile=$TARGET/cds/application.jsa -Xlog:cds=error -Dspring.aot.enabled=true -jar $CDS_JAR $args" ;;
+    native) [[ -x $NATIVE ]] && echo "$NATIVE $args" ;;
+  esac
+}
+
+now_ms() {
+  date +%s%3N
+}
+
+rss_mb() {
+  ps -o rss= -p "$1" | awk '{ printf "%.0f", $1 / 1024 }'
+}
+
+# One start: prints "<ms to first response> <rss MB>"
+measure() {
+  local command=$1 workdir pid started elapsed rss
+  workdir=$(mktemp -d)
+  started=$(now_ms)
+  (cd "$workdir" && exec $command >"$workdir/app.log" 2>&1) &
+  pid=$!
+  until curl -sf -o /dev/null "http://localhost:$PORT$URL_PATH"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Application exited during startup, see $workdir/app.log" >&2
+      return 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( $(now_ms) - started ))
+  rss=$(rss_mb "$pid")
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  rm -rf "$workdir"
+  echo "$elapsed $rss"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+printf '%-8s %6s %22s %16s\n' variant runs "first request ms (med)" "RSS MB (med)"
+for variant in "${VARIANTS[@]}"; do
+  command=$(command_for "$variant" || true)
+  if [[ -z $command ]]; then
+    printf '%-8s %6s %22s %16s\n' "$variant" - "not built" -
+    continue
+  fi
+  times=()
+  sizes=()
+  for ((run = 1; run <= RUNS; run++)); do
+    read -r elapsed rss < <(measure "$command")
+    times+=("$elapsed")
+    sizes+=("$rss")
+  done
+  printf '%-8s %6s %22s %16s\n' "$variant" "$RUNS" \
+    "$(printf '%s\n' "${times[@]}" | median)" "$(printf '%s\n' "${sizes[@]}" | median)"
+done
@@ -0,0 +1,54 @@
+package com.staffmanagement.benchmark;
+
+import com.staffmanagement.model.AttendanceRecord;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AttendanceRecord#calculateTotalWork()}, which also determines the status, as it runs on
+ * every attendance insert and update. Records cover all statuses, half of them with a break.
+ * Scores are per record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttendanceRecordBenchmark {
+    private static final int RECORDS = 1024;
+
+    private AttendanceRecord[] records;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        records = new AttendanceRecord[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            LocalDate date = LocalDate.of(2025, 1, 1).plusDays(i % 365);
+            AttendanceRecord record = new AttendanceRecord();
+            record.setDate(date);
+            // Clock-ins from 07:30 to 10:30 and clock-outs from 12:00 to 20:00
+            record.setClockInTime(date.atTime(7, 30).plusMinutes(random.nextInt(180)));
+            record.setClockOutTime(date.atTime(12, 0).plusMinutes(random.nextInt(480)));
+            if (random.nextBoolean()) {
+                record.setBreakStartTime(date.atTime(12, 0));
+                record.setBreakEndTime(date.atTime(12, 30).plusMinutes(random.nextInt(30)));
+            }
+            records[i] = record;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void calculateTotalWork(Blackhole blackhole) {
+        for (AttendanceRecord record : records) {
+            record.calculateTotalWork();
+            blackhole.consume(record.getStatus());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.staffmanagement.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.staffmanagement.dto.AttendanceExportRow;
+import com.staffmanagement.model.*;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic fixtures shared by the benchmarks that run services without Spring or a database.
+ * Everything is generated from a fixed seed, so every run and every commit measures the same data.
+ */
+final class BenchmarkData {
+    static final LocalDate TODAY = LocalDate.of(2025, 6, 2);
+
+    private static final String[] FIRST_NAMES = {"Ahmet", "Ayşe", "Mehmet", "Zeynep", "Emre", "Elif", "Burak",
+            "Gülşen", "Oğuz", "İsmail", "Işıl", "Çağlar", "John", "Jane, Jr.", "Maria", "David"};
+    private static final String[] LAST_NAMES = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Öztürk",
+            "Aydın", "Arslan", "Doğan", "Kılıç", "O\"Brien", "Johnson", "Brown", "Garcia", "Miller"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Product", "Sales", "Marketing", "Finance",
+            "Human Resources"};
+    private static final String[] POSITIONS = {"Software Engineer", "Manager", "Analyst", "Specialist", "Director",
+            "Intern"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Services log every export and dashboard build; without Spring, logback would print them at DEBUG
+     */
+    static void quietLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    /**
+     * A mock that only answers stubbed calls, without recording invocations for verification
+     */
+    static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    static List<Staff> staff(int count, Random random) {
+        List<Staff> staff = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Staff member = new Staff();
+            member.setId((long) i + 1);
+            member.setFirstName(pick(FIRST_NAMES, random));
+            member.setLastName(pick(LAST_NAMES, random));
+            member.setEmail("user" + i + "@company.com");
+            member.setPhone("+90555" + (1_000_000 + random.nextInt(9_000_000)));
+            member.setDepartment(pick(DEPARTMENTS, random));
+            member.setPosition(pick(POSITIONS, random));
+            member.setHireDate(TODAY.minusDays(random.nextInt(3650)));
+            member.setActive(random.nextInt(10) > 0);
+            member.setUsedLeaveDays(random.nextInt(15));
+            member.calculateRemainingLeaveDays();
+            staff.add(member);
+        }
+        return staff;
+    }
+
+    /**
+     * Documents spread over the staff; a tenth have expired and a tenth expire later
+     */
+    static List<Document> documents(List<Staff> staff, int count, Random random) {
+        DocumentType[] types = DocumentType.values();
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Document document = new Document();
+            document.setId((long) i + 1);
+            document.setStaff(staff.get(random.nextInt(staff.size())));
+            document.setDocumentType(types[random.nextInt(types.length)]);
+            document.setDocumentName("Document " + i);
+            int expiry = random.nextInt(10);
+            if (expiry == 0) {
+                document.setExpiresAt(TODAY.minusDays(1 + random.nextInt(365)));
+            } else if (expiry == 1) {
+                document.setExpiresAt(TODAY.plusDays(1 + random.nextInt(365)));
+            }
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    static List<LeaveRequest> leaveRequests(List<Staff> staff, int count, Random random) {
+        LeaveType[] types = LeaveType.values();
+        LeaveStatus[] statuses = LeaveStatus.values();
+        List<LeaveRequest> leaveRequests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate start = TODAY.plusDays(random.nextInt(120) - 60);
+            LeaveRequest leaveRequest = new LeaveRequest();
+            leaveRequest.setId((long) i + 1);
+            leaveRequest.setStaff(staff.get(random.nextInt(staff.size())));
+            leaveRequest.setLeaveType(types[random.nextInt(types.length)]);
+            leaveRequest.setStatus(statuses[random.nextInt(statuses.length)]);
+            leaveRequest.setStartDate(start);
+            leaveRequest.setEndDate(start.plusDays(random.nextInt(14)));
+            leaveRequest.setReason(random.nextBoolean() ? "Family vacation" : null);
+            leaveRequests.add(leaveRequest);
+        }
+        return leaveRequests;
+    }
+
+    static List<AttendanceExportRow> attendanceRows(int count, Random random) {
+        AttendanceStatus[] statuses = AttendanceStatus.values();
+        List<AttendanceExportRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate date = TODAY.minusDays(i % 365);
+            rows.add(new AttendanceExportRow(
+                    (long) i + 1,
+                    pick(FIRST_NAMES, random),
+                    pick(LAST_NAMES, random),
+                    date,
+                    date.atTime(8, 30).plusSeconds(random.nextInt(5400)),
+                    date.atTime(17, 30).plusSeconds(random.nextInt(7200)),
+                    statuses[random.nextInt(statuses.length)],
+                    400L + random.nextInt(200),
+                    random.nextBoolean() ? (long) random.nextInt(120) : null,
+                    random.nextBoolean()));
+        }
+        return rows;
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
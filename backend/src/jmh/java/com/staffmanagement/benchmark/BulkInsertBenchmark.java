@@ -0,0 +1,137 @@
+package com.staffmanagement.benchmark;
+
+import com.staffmanagement.StaffManagementApplication;
+import com.staffmanagement.model.AttendanceRecord;
+import com.staffmanagement.model.AttendanceStatus;
+import com.staffmanagement.model.Staff;
+import com.staffmanagement.repository.AttendanceRepository;
+import com.staffmanagement.repository.StaffRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.tools.Server;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows inserted per second when staff and attendance records are saved in bulk, one transaction
+ * per {@value #ROWS} rows. The dev profile's H2 database is served over a local TCP port, so every
+ * statement is a real round trip as it is with PostgreSQL; in-process H2 would hide what batching saves.
+ * batch_size=1 sends one INSERT per row, which is what IDENTITY ids forced on every write;
+ * batch_size=50 is the configured JDBC batching that sequence ids allow. After each iteration
+ * the number of JDBC statements per row is printed. To measure against PostgreSQL instead, append
+ * -jvmArgsAppend "-Dspring.datasource.url=jdbc:postgresql://localhost:5432/staffdb?reWriteBatchedInserts=true
+ * -Dspring.datasource.driver-class-name=org.postgresql.Driver -Dspring.datasource.username=postgres
+ * -Dspring.datasource.password=postgres -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+ * to the JMH arguments.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+    private static final int ROWS = 500;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private StaffRepository staffRepository;
+    private AttendanceRepository attendanceRepository;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Staff owner;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        if (System.getProperty("spring.datasource.url") == null) {
+            server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            System.setProperty("spring.datasource.url", "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:bulkinsert");
+        }
+        context = new SpringApplicationBuilder(StaffManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                // Passed as arguments, since default properties would lose to application.properties
+                .run(
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.staffmanagement=WARN",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        staffRepository = context.getBean(StaffRepository.class);
+        attendanceRepository = context.getBean(AttendanceRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        owner = staffRepository.findAll().get(0);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatements() {
+        long rows = statistics.getEntityInsertCount();
+        System.out.printf("%n  batch_size=%d: %.3f SQL statements per row (%d rows)%n", batchSize,
+                rows == 0 ? 0.0 : (double) statistics.getPrepareStatementCount() / rows, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        if (server != null) {
+            server.stop();
+            System.clearProperty("spring.datasource.url");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Staff> insertStaff() {
+        List<Staff> staff = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long n = sequence++;
+            Staff s = new Staff();
+            s.setFirstName("Bench");
+            s.setLastName("Staff " + n);
+            s.setEmail("bench" + n + "@example.com");
+            s.setDepartment("Engineering");
+            s.setPosition("Developer");
+            s.setHireDate(LocalDate.of(2020, 1, 1));
+            staff.add(s);
+        }
+        return transactionTemplate.execute(status -> staffRepository.saveAll(staff));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<AttendanceRecord> insertAttendance() {
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        List<AttendanceRecord> records = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            AttendanceRecord record = new AttendanceRecord();
+            record.setStaff(owner);
+            record.setDate(start.plusDays(sequence++ % 3650));
+            record.setClockInTime(record.getDate().atTime(9, 0));
+            record.setClockOutTime(record.getDate().atTime(18, 0));
+            record.setStatus(AttendanceStatus.PRESENT);
+            records.add(record);
+        }
+        return transactionTemplate.execute(status -> attendanceRepository.saveAll(records));
+    }
+}
@@ -0,0 +1,64 @@
+package com.staffmanagement.benchmark;
+
+import com.staffmanagement.dto.DashboardStats;
+import com.staffmanagement.model.Document;
+import com.staffmanagement.model.LeaveRequest;
+import com.staffmanagement.model.Staff;
+import com.staffmanagement.repository.DocumentRepository;
+import com.staffmanagement.repository.LeaveRequestRepository;
+import com.staffmanagement.repository.StaffRepository;
+import com.staffmanagement.service.DashboardService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * The in-memory aggregation behind the dashboard over 10k staff, 100k documents and 20k leave
+ * requests, with the repositories stubbed so only the grouping and counting is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+    private static final int STAFF = 10_000;
+    private static final int DOCUMENTS = 100_000;
+    private static final int LEAVE_REQUESTS = 20_000;
+
+    private DashboardService dashboardService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        Random random = new Random(42);
+        List<Staff> staff = BenchmarkData.staff(STAFF, random);
+        List<Document> documents = BenchmarkData.documents(staff, DOCUMENTS, random);
+        List<LeaveRequest> leaveRequests = BenchmarkData.leaveRequests(staff, LEAVE_REQUESTS, random);
+
+        StaffRepository staffRepository = BenchmarkData.stub(StaffRepository.class);
+        LeaveRequestRepository leaveRequestRepository = BenchmarkData.stub(LeaveRequestRepository.class);
+        DocumentRepository documentRepository = BenchmarkData.stub(DocumentRepository.class);
+        when(staffRepository.findAll()).thenReturn(staff);
+        when(leaveRequestRepository.findAll()).thenReturn(leaveRequests);
+        when(documentRepository.findByStaffIdIn(anyList())).thenReturn(documents);
+
+        dashboardService = new DashboardService(staffRepository, leaveRequestRepository, documentRepository);
+    }
+
+    @Benchmark
+    public DashboardStats getDashboardStats() {
+        return dashboardService.getDashboardStats();
+    }
+
+    @Benchmark
+    public List<DashboardStats.StaffDocumentStatus> getDocumentCompletionDetails() {
+        return dashboardService.getDocumentCompletionDetails();
+    }
+}
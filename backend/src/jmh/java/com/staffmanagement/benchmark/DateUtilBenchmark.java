@@ -0,0 +1,37 @@
+package com.staffmanagement.benchmark;
+
+import com.staffmanagement.util.DateUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DateUtil#calculateBusinessDays} from a short leave up to a ten-year range; the loop walks
+ * every day, so the score grows with the range length.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilBenchmark {
+
+    @Param({"5", "30", "365", "3650"})
+    private int days;
+
+    private LocalDate start;
+    private LocalDate end;
+
+    @Setup
+    public void setUp() {
+        start = LocalDate.of(2025, 1, 1);
+        end = start.plusDays(days - 1);
+    }
+
+    @Benchmark
+    public int calculateBusinessDays() {
+        return DateUtil.calculateBusinessDays(start, end);
+    }
+}
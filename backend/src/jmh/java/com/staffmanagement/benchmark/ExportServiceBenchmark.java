@@ -0,0 +1,74 @@
+package com.staffmanagement.benchmark;
+
+import com.staffmanagement.dto.AttendanceExportRow;
+import com.staffmanagement.model.Staff;
+import com.staffmanagement.repository.AttendanceRepository;
+import com.staffmanagement.repository.LeaveRequestRepository;
+import com.staffmanagement.repository.StaffRepository;
+import com.staffmanagement.repository.TombstoneRepository;
+import com.staffmanagement.service.AttendanceService;
+import com.staffmanagement.service.BusinessMetrics;
+import com.staffmanagement.service.ExportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link ExportService} row encoding end to end, from the repository results to the bytes of the
+ * response, with repositories stubbed to return 10k synthetic rows. Scores are per row.
+ * {@link CsvExportBenchmark} compares the CSV encoder against the escapeCsvField baseline it replaced.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportServiceBenchmark {
+    private static final int ROWS = 10_000;
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private ExportService exportService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        Random random = new Random(42);
+        List<Staff> staff = BenchmarkData.staff(ROWS, random);
+        List<AttendanceExportRow> attendance = BenchmarkData.attendanceRows(ROWS, random);
+
+        StaffRepository staffRepository = BenchmarkData.stub(StaffRepository.class);
+        AttendanceRepository attendanceRepository = BenchmarkData.stub(AttendanceRepository.class);
+        when(staffRepository.findAll()).thenReturn(staff);
+        when(attendanceRepository.streamExportRows()).thenAnswer(invocation -> attendance.stream());
+
+        exportService = new ExportService(staffRepository, attendanceRepository,
+                BenchmarkData.stub(LeaveRequestRepository.class), BenchmarkData.stub(TombstoneRepository.class),
+                BenchmarkData.stub(AttendanceService.class), new BusinessMetrics(new SimpleMeterRegistry()), 60);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void staffCsv() {
+        exportService.writeStaffCsv(sink);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void attendanceCsv() {
+        exportService.writeAttendanceCsv(sink, null, null, null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void attendanceXlsx() throws IOException {
+        exportService.writeAttendanceXlsx(sink, null, null, null);
+    }
+}
@@ -0,0 +1,59 @@
+package com.staffmanagement.benchmark;
+
+import com.staffmanagement.model.LeaveRequest;
+import com.staffmanagement.repository.LeaveRequestRepository;
+import com.staffmanagement.service.BusinessMetrics;
+import com.staffmanagement.service.LeaveCertificateService;
+import com.staffmanagement.service.LeaveRequestService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Leave certificates from the built-in template: a fresh render, and a repeat download that is
+ * answered from the certificate cache (still hashing the values to find the cached version).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaveCertificateBenchmark {
+    private LeaveCertificateService leaveCertificateService;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkData.quietLogging();
+        Random random = new Random(42);
+        LeaveRequest leaveRequest = BenchmarkData.leaveRequests(BenchmarkData.staff(1, random), 1, random).get(0);
+        leaveRequest.setReason("Family vacation");
+
+        LeaveRequestService leaveRequestService = BenchmarkData.stub(LeaveRequestService.class);
+        when(leaveRequestService.getLeaveRequestById(leaveRequest.getId())).thenReturn(leaveRequest);
+        leaveCertificateService = new LeaveCertificateService(leaveRequestService,
+                BenchmarkData.stub(LeaveRequestRepository.class), new BusinessMetrics(new SimpleMeterRegistry()),
+                "", 1, 32 * 1024 * 1024);
+        leaveCertificateService.getLeaveCertificate(leaveRequest.getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        leaveCertificateService.shutdown();
+    }
+
+    @Benchmark
+    public byte[] render() {
+        return leaveCertificateService.renderSample();
+    }
+
+    @Benchmark
+    public LeaveCertificateService.RenderedCertificate cachedDownload() {
+        return leaveCertificateService.getLeaveCertificate(1L);
+    }
+}
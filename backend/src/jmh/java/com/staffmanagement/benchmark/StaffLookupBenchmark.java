@@ -0,0 +1,95 @@
+package com.staffmanagement.benchmark;
+
+import com.staffmanagement.StaffManagementApplication;
+import com.staffmanagement.dto.StaffResponse;
+import com.staffmanagement.model.Staff;
+import com.staffmanagement.service.StaffService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Staff lookups on the clock-in, leave request and document upload paths, with the Hibernate
+ * second-level/query cache on and off, against the dev profile's in-memory H2 database.
+ * Each call runs in its own transaction, as it does per request. After each trial the number
+ * of JDBC statements per lookup is printed, which is what the cache removes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StaffLookupBenchmark {
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private ConfigurableApplicationContext context;
+    private StaffService staffService;
+    private Statistics statistics;
+    private List<StaffResponse> staff;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(StaffManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                // Passed as arguments, since default properties would lose to application.properties
+                .run(
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.staffmanagement=WARN",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + cache);
+        staffService = context.getBean(StaffService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        staff = staffService.getAllStaff();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatements() {
+        long lookups = statistics.getSessionOpenCount();
+        System.out.printf("%n  cache=%s: %.2f SQL statements per lookup (%d lookups)%n", cache,
+                lookups == 0 ? 0.0 : (double) statistics.getPrepareStatementCount() / lookups, lookups);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Staff getStaffById() {
+        return staffService.getStaffById(nextStaff().getId());
+    }
+
+    @Benchmark
+    public Staff getStaffByEmail() {
+        return staffService.getStaffByEmail(nextStaff().getEmail());
+    }
+
+    @Benchmark
+    public List<StaffResponse> getActiveStaff() {
+        return staffService.getActiveStaff();
+    }
+
+    private StaffResponse nextStaff() {
+        next = (next + 1) % staff.size();
+        return staff.get(next);
+    }
+}
@@ -0,0 +1,58 @@
+package com.staffmanagement.benchmark;
+
+import com.staffmanagement.dto.StaffSearchResult;
+import com.staffmanagement.model.Staff;
+import com.staffmanagement.service.StaffSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead latency of {@link StaffSearchIndex} over 100k synthetic staff, first page of 10 hits.
+ * Queries cover a one-letter prefix (the worst case), a folded Turkish surname, two-token
+ * name lookups and an infix match.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StaffSearchBenchmark {
+    private static final int STAFF = 100_000;
+
+    @Param({"a", "yilmaz", "mehmet kay", "ayşe şahin", "ngine"})
+    private String query;
+
+    private StaffSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] firstNames = {"Ahmet", "Ayşe", "Mehmet", "Zeynep", "Emre", "Elif", "Burak", "Gülşen",
+                "Oğuz", "İsmail", "Işıl", "Çağlar", "John", "Jane", "Maria", "David"};
+        String[] lastNames = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Öztürk", "Aydın",
+                "Arslan", "Doğan", "Kılıç", "Smith", "Johnson", "Brown", "Garcia", "Miller"};
+        String[] departments = {"Engineering", "Product", "Sales", "Marketing", "Finance", "Human Resources"};
+        String[] positions = {"Software Engineer", "Manager", "Analyst", "Specialist", "Director", "Intern"};
+
+        index = new StaffSearchIndex();
+        for (int i = 0; i < STAFF; i++) {
+            Staff staff = new Staff();
+            staff.setId((long) i);
+            staff.setFirstName(firstNames[random.nextInt(firstNames.length)]);
+            staff.setLastName(lastNames[random.nextInt(lastNames.length)]);
+            staff.setEmail("user" + i + "@company.com");
+            staff.setDepartment(departments[random.nextInt(departments.length)]);
+            staff.setPosition(positions[random.nextInt(positions.length)]);
+            staff.setActive(random.nextInt(10) > 0);
+            index.put(staff);
+        }
+    }
+
+    @Benchmark
+    public StaffSearchResult search() {
+        return index.search(query, false, 0, 10);
+    }
+}
@@ -0,0 +1,400 @@
+package com.staffmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.staffmanagement.StaffManagementApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reproduces the morning clock-in peak against an in-process backend. Boots the application
+ * (profiles {@code loadtest.profiles}, by default the dev H2 database filled by the datagen profile;
+ * a local PostgreSQL with "datagen" and the spring.datasource properties), then lets
+ * {@code loadtest.employees} active staff clock in along an arrival curve, take a break and clock
+ * out, all within {@code loadtest.duration-seconds}. Dashboard pollers and periodic attendance
+ * exports run alongside. Calls go through the JDK's asynchronous HTTP client, so the number of
+ * calls in flight is not limited by client threads and arrivals keep their schedule however
+ * slow the server gets.
+ * Prints throughput, latency percentiles, error rates and the Hibernate statement counts, writes
+ * them as JSON to {@code loadtest.report}, and exits with 1 if a threshold is not met.
+ * All settings are system properties; Spring properties (-Ddatagen.staff=...) pass through.
+ */
+public final class ClockInStormLoadTest {
+    private static final List<String> ATTENDANCE_OPERATIONS = List.of("clock-in", "break-start", "break-end", "clock-out");
+
+    private final Settings settings;
+    private final HttpClient client;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private String baseUrl;
+    private int employees;
+    private long startNanos;
+
+    private ClockInStormLoadTest(Settings settings) {
+        this.settings = settings;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(settings.clientThreads, daemonThreads("loadtest-client")))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.scheduler = Executors.newScheduledThreadPool(2, daemonThreads("loadtest-scheduler"));
+        for (String operation : ATTENDANCE_OPERATIONS) {
+            stats.put(operation, new OperationStats(operation));
+        }
+        stats.put("dashboard", new OperationStats("dashboard"));
+        stats.put("export", new OperationStats("export"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = new Settings();
+        // As system properties, so they win over application.properties but can still be overridden with -D
+        defaultProperty("server.port", "0");
+        defaultProperty("logging.level.com.staffmanagement", "WARN");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(StaffManagementApplication.class)
+                .profiles(settings.profiles.split(","))
+                .run(args);
+        int exitCode;
+        try {
+            exitCode = new ClockInStormLoadTest(settings).run(context);
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private int run(ConfigurableApplicationContext context) throws InterruptedException, IOException {
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        // Staff who have not clocked in today yet
+        List<Long> staffIds = context.getBean(JdbcTemplate.class).queryForList(
+                "SELECT s.id FROM staff s WHERE s.active = TRUE AND NOT EXISTS (SELECT 1 FROM attendance_records a "
+                        + "WHERE a.staff_id = s.id AND a.date = ?) ORDER BY s.id", Long.class, LocalDate.now());
+        if (staffIds.size() < settings.employees) {
+            System.out.printf("Only %d staff can clock in today, simulating those instead of %d%n",
+                    staffIds.size(), settings.employees);
+        }
+        staffIds = staffIds.subList(0, Math.min(settings.employees, staffIds.size()));
+        employees = staffIds.size();
+        Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        System.out.printf("Simulating %d employees over %d s (%s arrivals), %d dashboard pollers, an export every %d s%n",
+                employees, settings.durationSeconds, settings.curve, settings.dashboardPollers,
+                settings.exportIntervalSeconds);
+        startNanos = System.nanoTime();
+        Random random = new Random(settings.seed);
+        CountDownLatch employeesDone = new CountDownLatch(staffIds.size());
+        for (Long staffId : staffIds) {
+            perform(new Employee(staffId, plan(random)), 0, employeesDone);
+        }
+        for (int i = 0; i < settings.dashboardPollers; i++) {
+            scheduler.schedule(this::pollDashboard, random.nextInt(settings.dashboardIntervalMillis), TimeUnit.MILLISECONDS);
+        }
+        if (settings.exportIntervalSeconds > 0) {
+            scheduler.schedule(this::export, settings.exportIntervalSeconds, TimeUnit.SECONDS);
+        }
+
+        scheduler.schedule(() -> stopped.set(true), settings.durationSeconds, TimeUnit.SECONDS);
+        boolean drained = employeesDone.await(settings.durationSeconds + settings.drainSeconds, TimeUnit.SECONDS);
+        stopped.set(true);
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        if (!drained) {
+            System.out.printf("%d employees had not finished %d s after the end of the run%n",
+                    employeesDone.getCount(), settings.drainSeconds);
+        }
+        scheduler.shutdownNow();
+
+        Map<String, Object> report = report(statistics, elapsedSeconds);
+        List<String> failures = checkThresholds(statistics, elapsedSeconds, drained);
+        report.put("failedThresholds", failures);
+        File reportFile = new File(settings.report);
+        if (reportFile.getAbsoluteFile().getParentFile() != null) {
+            reportFile.getAbsoluteFile().getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile, report);
+        System.out.println("Report written to " + reportFile.getAbsolutePath());
+
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.out.println("FAIL " + failure));
+            return 1;
+        }
+        System.out.println("PASS all thresholds");
+        return 0;
+    }
+
+    /**
+     * Due times of one employee's calls in milliseconds from the start: clock-in on the arrival
+     * curve within the first 60% of the run, a break for most, clock-out in the last 20%
+     */
+    private List<Call> plan(Random random) {
+        double duration = settings.durationSeconds * 1000.0;
+        double clockIn = switch (settings.curve) {
+            case "uniform" -> random.nextDouble() * 0.6;
+            case "burst" -> random.nextDouble() * 0.05;
+            default -> Math.max(0, Math.min(0.6, 0.3 + random.nextGaussian() * 0.1));
+        };
+        List<Call> calls = new ArrayList<>();
+        calls.add(new Call("clock-in", (long) (clockIn * duration)));
+        double breakEnd = clockIn;
+        if (random.nextDouble() < settings.breakShare) {
+            double breakStart = clockIn + 0.1 + random.nextDouble() * 0.1;
+            breakEnd = breakStart + 0.03 + random.nextDouble() * 0.05;
+            calls.add(new Call("break-start", (long) (breakStart * duration)));
+            calls.add(new Call("break-end", (long) (breakEnd * duration)));
+        }
+        double clockOut = Math.max(breakEnd + 0.01, 0.8 + random.nextDouble() * 0.2);
+        calls.add(new Call("clock-out", (long) (Math.min(clockOut, 1.0) * duration)));
+        return calls;
+    }
+
+    /**
+     * Runs an employee's calls in order, each no earlier than it is due and only after the previous
+     * one succeeded; a failed call ends the employee's day
+     */
+    private void perform(Employee employee, int index, CountDownLatch done) {
+        Call call = employee.calls.get(index);
+        long delayMillis = call.dueMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        scheduler.schedule(() -> {
+            long dueNanos = Math.max(System.nanoTime(), startNanos + TimeUnit.MILLISECONDS.toNanos(call.dueMillis));
+            send(stats.get(call.operation), attendanceRequest(employee.staffId, call.operation), dueNanos)
+                    .thenAccept(succeeded -> {
+                        if (succeeded && index + 1 < employee.calls.size()) {
+                            perform(employee, index + 1, done);
+                        } else {
+                            done.countDown();
+                        }
+                    });
+        }, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+    }
+
+    private HttpRequest attendanceRequest(long staffId, String operation) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/attendance/staff/" + staffId + "/" + operation))
+                .timeout(Duration.ofSeconds(settings.requestTimeoutSeconds))
+                .header("Content-Type", "application/json");
+        String body = "{\"location\":\"41.0146,28.9739\"}";
+        return switch (operation) {
+            case "clock-in" -> builder.POST(HttpRequest.BodyPublishers.ofString(body)).build();
+            case "clock-out" -> builder.PUT(HttpRequest.BodyPublishers.ofString(body)).build();
+            default -> builder.PUT(HttpRequest.BodyPublishers.noBody()).build();
+        };
+    }
+
+    private void pollDashboard() {
+        if (stopped.get()) {
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/dashboard/stats"))
+                .timeout(Duration.ofSeconds(settings.requestTimeoutSeconds))
+                .build();
+        send(stats.get("dashboard"), request, System.nanoTime()).thenRun(() -> {
+            if (!stopped.get()) {
+                scheduler.schedule(this::pollDashboard, settings.dashboardIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    private void export() {
+        if (stopped.get()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/export/attendance?startDate="
+                        + today.minusDays(30) + "&endDate=" + today))
+                .timeout(Duration.ofMinutes(10))
+                .build();
+        send(stats.get("export"), request, System.nanoTime()).thenRun(() -> {
+            if (!stopped.get()) {
+                scheduler.schedule(this::export, settings.exportIntervalSeconds, TimeUnit.SECONDS);
+            }
+        });
+    }
+
+    /**
+     * Sends the request and records it once the whole response has been read; completes with
+     * whether it succeeded
+     */
+    private CompletableFuture<Boolean> send(OperationStats operation, HttpRequest request, long dueNanos) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    String failure = null;
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        failure = cause.getClass().getSimpleName();
+                    } else if (response.statusCode() >= 400) {
+                        failure = "HTTP " + response.statusCode();
+                    }
+                    operation.record(dueNanos, failure);
+                    return failure == null;
+                });
+    }
+
+    private Map<String, Object> report(Statistics statistics, double elapsedSeconds) {
+        long requests = totalRequests();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("employees", employees);
+        report.put("durationSeconds", settings.durationSeconds);
+        report.put("curve", settings.curve);
+        report.put("elapsedSeconds", round(elapsedSeconds));
+        report.put("requests", requests);
+        report.put("throughputPerSecond", round(requests / elapsedSeconds));
+
+        System.out.printf("%n%-12s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Operation", "Count", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (OperationStats operation : stats.values()) {
+            System.out.printf("%-12s %8d %6.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n", operation.getName(),
+                    operation.getCount(), operation.getErrorRate() * 100, operation.getCount() / elapsedSeconds,
+                    operation.percentileMillis(50), operation.percentileMillis(90), operation.percentileMillis(99),
+                    operation.percentileMillis(99.9), operation.maxMillis());
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", operation.getCount());
+            values.put("errors", operation.getErrors());
+            values.put("errorRate", operation.getErrorRate());
+            values.put("throughputPerSecond", round(operation.getCount() / elapsedSeconds));
+            values.put("p50Millis", operation.percentileMillis(50));
+            values.put("p90Millis", operation.percentileMillis(90));
+            values.put("p99Millis", operation.percentileMillis(99));
+            values.put("p999Millis", operation.percentileMillis(99.9));
+            values.put("maxMillis", operation.maxMillis());
+            values.put("failures", operation.getFailures());
+            operations.put(operation.getName(), values);
+            if (!operation.getFailures().isEmpty()) {
+                System.out.printf("%-12s failures: %s%n", "", operation.getFailures());
+            }
+        }
+        report.put("operations", operations);
+
+        Map<String, Object> database = new LinkedHashMap<>();
+        database.put("preparedStatements", statistics.getPrepareStatementCount());
+        database.put("statementsPerRequest", requests == 0 ? 0 : round((double) statistics.getPrepareStatementCount() / requests));
+        database.put("queries", statistics.getQueryExecutionCount());
+        database.put("entityLoads", statistics.getEntityLoadCount());
+        database.put("entityInserts", statistics.getEntityInsertCount());
+        database.put("entityUpdates", statistics.getEntityUpdateCount());
+        database.put("transactions", statistics.getTransactionCount());
+        database.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        database.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        report.put("database", database);
+        System.out.printf("%n%d requests in %.1f s (%.1f/s); %d JDBC statements (%.2f per request), %d queries, "
+                        + "%d inserts, %d updates, %d transactions%n", requests, elapsedSeconds, requests / elapsedSeconds,
+                statistics.getPrepareStatementCount(), database.get("statementsPerRequest"),
+                statistics.getQueryExecutionCount(), statistics.getEntityInsertCount(),
+                statistics.getEntityUpdateCount(), statistics.getTransactionCount());
+        return report;
+    }
+
+    private List<String> checkThresholds(Statistics statistics, double elapsedSeconds, boolean drained) {
+        List<String> failures = new ArrayList<>();
+        if (!drained) {
+            failures.add("not all employees finished their day");
+        }
+        for (String name : ATTENDANCE_OPERATIONS) {
+            OperationStats operation = stats.get(name);
+            if (settings.maxP99Millis > 0 && operation.percentileMillis(99) > settings.maxP99Millis) {
+                failures.add(String.format(Locale.ROOT, "%s p99 %.1f ms > %d ms",
+                        name, operation.percentileMillis(99), settings.maxP99Millis));
+            }
+        }
+        long requests = totalRequests();
+        long errors = stats.values().stream().mapToLong(OperationStats::getErrors).sum();
+        double errorRate = requests == 0 ? 0 : (double) errors / requests;
+        if (errorRate > settings.maxErrorRate) {
+            failures.add(String.format(Locale.ROOT, "error rate %.4f > %.4f", errorRate, settings.maxErrorRate));
+        }
+        if (settings.minThroughput > 0 && requests / elapsedSeconds < settings.minThroughput) {
+            failures.add(String.format(Locale.ROOT, "throughput %.1f/s < %.1f/s",
+                    requests / elapsedSeconds, settings.minThroughput));
+        }
+        if (settings.maxStatementsPerRequest > 0 && requests > 0
+                && (double) statistics.getPrepareStatementCount() / requests > settings.maxStatementsPerRequest) {
+            failures.add(String.format(Locale.ROOT, "%.2f statements per request > %.2f",
+                    (double) statistics.getPrepareStatementCount() / requests, settings.maxStatementsPerRequest));
+        }
+        return failures;
+    }
+
+    private long totalRequests() {
+        return stats.values().stream().mapToLong(OperationStats::getCount).sum();
+    }
+
+    private static void defaultProperty(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        ThreadFactory defaults = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaults.newThread(runnable);
+            thread.setName(prefix + "-" + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Employee {
+        private final long staffId;
+        private final List<Call> calls;
+
+        private Employee(long staffId, List<Call> calls) {
+            this.staffId = staffId;
+            this.calls = calls;
+        }
+    }
+
+    private static final class Call {
+        private final String operation;
+        private final long dueMillis;
+
+        private Call(String operation, long dueMillis) {
+            this.operation = operation;
+            this.dueMillis = dueMillis;
+        }
+    }
+
+    /**
+     * Run settings from system properties; the thresholds are the release gate
+     */
+    private static final class Settings {
+        private final String profiles = System.getProperty("loadtest.profiles", "dev,datagen");
+        private final int employees = Integer.getInteger("loadtest.employees", 2000);
+        private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 120);
+        // normal: a peak around a third of the run (09:00), uniform, or burst: everyone in the first 5%
+        private final String curve = System.getProperty("loadtest.curve", "normal");
+        private final double breakShare = Double.parseDouble(System.getProperty("loadtest.break-share", "0.8"));
+        private final int dashboardPollers = Integer.getInteger("loadtest.dashboard-pollers", 2);
+        private final int dashboardIntervalMillis = Math.max(1, Integer.getInteger("loadtest.dashboard-interval-ms", 2000));
+        private final int exportIntervalSeconds = Integer.getInteger("loadtest.export-interval-seconds", 30);
+        private final int clientThreads = Integer.getInteger("loadtest.client-threads", 8);
+        private final int requestTimeoutSeconds = Integer.getInteger("loadtest.request-timeout-seconds", 30);
+        private final int drainSeconds = Integer.getInteger("loadtest.drain-seconds", 60);
+        private final long seed = Long.getLong("loadtest.seed", 42L);
+        private final String report = System.getProperty("loadtest.report", "loadtest-report.json");
+        private final int maxP99Millis = Integer.getInteger("loadtest.max-p99-ms", 500);
+        private final double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.001"));
+        private final double minThroughput = Double.parseDouble(System.getProperty("loadtest.min-throughput", "0"));
+        private final double maxStatementsPerRequest =
+                Double.parseDouble(System.getProperty("loadtest.max-statements-per-request", "0"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.staffmanagement.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies and failures of one kind of call. Latencies are recorded in microseconds from the
+ * moment the call was due, not from when it was sent, so time spent waiting for a free client
+ * thread or connection counts as well (no coordinated omission).
+ */
+final class OperationStats {
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(10), 3);
+    private final AtomicLong errors = new AtomicLong();
+    private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @param failure HTTP status or exception name if the call failed, null if it succeeded
+     */
+    void record(long dueNanos, String failure) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - dueNanos);
+        latencies.recordValue(Math.min(Math.max(micros, 0), latencies.getHighestTrackableValue()));
+        if (failure != null) {
+            errors.incrementAndGet();
+            failures.computeIfAbsent(failure, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    long getCount() {
+        return latencies.getTotalCount();
+    }
+
+    long getErrors() {
+        return errors.get();
+    }
+
+    double getErrorRate() {
+        return getCount() == 0 ? 0 : (double) getErrors() / getCount();
+    }
+
+    /**
+     * Latency at the given percentile (0-100) in milliseconds
+     */
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+
+    Map<String, Long> getFailures() {
+        Map<String, Long> counts = new TreeMap<>();
+        failures.forEach((failure, count) -> counts.put(failure, count.get()));
+        return counts;
+    }
+}
@@ -0,0 +1,86 @@
+package com.staffmanagement.config;
+
+import com.staffmanagement.dto.AttendanceExportRow;
+import com.staffmanagement.dto.LeaveRequestExportRow;
+import com.staffmanagement.dto.StaffResponse;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for an AOT-processed build ({@code -Pfast-startup} or {@code -Pnative}),
+ * written to META-INF/native-image by {@code process-aot}. Spring derives the hints for entities
+ * (fields and Lombok-generated accessors), controllers and the types they bind itself; these cover
+ * what it cannot see: classpath resources, DTOs created by JPQL constructor expressions, and the
+ * classes POI's XMLBeans schemas and Lucene's attribute factory load by name.
+ */
+@Configuration
+@ImportRuntimeHints(RuntimeHintsConfig.ApplicationRuntimeHints.class)
+public class RuntimeHintsConfig {
+
+    static class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+        private static final List<String> REFLECTIVE_CLASS_PATTERNS = List.of(
+                "org/openxmlformats/schemas/**/impl/*Impl.class",
+                "com/microsoft/schemas/**/impl/*Impl.class",
+                "org/etsi/uri/**/impl/*Impl.class",
+                "org/w3/x2000/**/impl/*Impl.class",
+                "org/apache/lucene/**/*AttributeImpl.class");
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources()
+                    .registerPattern("templates/*.docx")
+                    .registerPattern("hibernate-cache.conf")
+                    .registerPattern("db/*.sql")
+                    .registerPattern("org/apache/poi/schemas/ooxml/**")
+                    .registerPattern("org/apache/pdfbox/resources/**")
+                    .registerPattern("org/apache/fontbox/cmap/*")
+                    .registerPattern("org/apache/fontbox/unicode/*");
+
+            for (Class<?> type : List.of(StaffResponse.class, LeaveRequestExportRow.class, AttendanceExportRow.class)) {
+                hints.reflection().registerType(type,
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            hints.reflection().registerType(
+                    TypeReference.of("org.apache.poi.schemas.ooxml.system.ooxml.TypeSystemHolder"),
+                    MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            for (String className : scan(classLoader)) {
+                hints.reflection().registerType(TypeReference.of(className),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+        }
+
+        /**
+         * Generated XMLBeans implementations and Lucene attribute implementations on the classpath,
+         * found at build time so the list follows whatever the library versions ship
+         */
+        private static List<String> scan(ClassLoader classLoader) {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+            MetadataReaderFactory readers = new SimpleMetadataReaderFactory(classLoader);
+            try {
+                List<String> classNames = new ArrayList<>();
+                for (String pattern : REFLECTIVE_CLASS_PATTERNS) {
+                    for (Resource resource : resolver.getResources("classpath*:" + pattern)) {
+                        classNames.add(readers.getMetadataReader(resource).getClassMetadata().getClassName());
+                    }
+                }
+                return classNames;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
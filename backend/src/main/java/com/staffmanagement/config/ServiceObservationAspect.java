@@ -0,0 +1,38 @@
+package com.staffmanagement.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observes every public method of the {@code *Service} beans: a {@code service.calls} timer tagged
+ * with class, method and exception, and a span nested in the request's span, so a trace shows
+ * which service call issued which SQL. Only calls through the Spring proxy are seen, so a
+ * service's calls to its own methods (row writers, loops over entities) stay unobserved and free.
+ */
+@Aspect
+@Component
+public class ServiceObservationAspect {
+    private final ObservationRegistry observationRegistry;
+
+    public ServiceObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("execution(public * com.staffmanagement.service..*Service.*(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (observationRegistry.isNoop()) {
+            return joinPoint.proceed();
+        }
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        return Observation.createNotStarted("service.calls", observationRegistry)
+                .contextualName(className + "." + methodName)
+                .lowCardinalityKeyValue("class", className)
+                .lowCardinalityKeyValue("method", methodName)
+                .observeChecked((Observation.CheckedCallable<Object, Throwable>) joinPoint::proceed);
+    }
+}
@@ -0,0 +1,616 @@
+package com.staffmanagement.config;
+
+import com.staffmanagement.model.*;
+import com.staffmanagement.util.DateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills the database with a large, realistic data set for performance work (profile "datagen"):
+ * staff across weighted departments, their leave history and documents for the last
+ * {@code datagen.years} years, and a daily attendance record per working day for the first
+ * {@code datagen.attendance-staff} of them, with per-person habits for lateness, overtime and breaks.
+ * The result depends only on the seed and {@code datagen.end-date}: every staff member draws from
+ * a random generator seeded with the seed and its own index, so the same settings give the same
+ * rows on H2 and PostgreSQL. Rows are written with plain JDBC batch inserts and explicit ids,
+ * after which the id sequences are moved past them. Records end the day before the end date, so
+ * clock-ins on the end date itself start from a clean slate.
+ * Runs before the other runners, while Hibernate has not taken a block of ids yet; benchmarks and
+ * load tests can also construct it directly around their own {@link JdbcTemplate}.
+ */
+@Component
+@Profile("datagen")
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class SyntheticDataGenerator implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final Department[] DEPARTMENTS = {
+            new Department("Engineering", 30, "Software Engineer", "Senior Software Engineer", "QA Engineer",
+                    "DevOps Engineer", "Engineering Manager"),
+            new Department("Operations", 18, "Operations Specialist", "Shift Supervisor", "Logistics Coordinator"),
+            new Department("Sales", 15, "Sales Representative", "Account Manager", "Sales Manager"),
+            new Department("Customer Support", 12, "Support Agent", "Support Team Lead"),
+            new Department("Finance", 7, "Accountant", "Financial Analyst", "Payroll Specialist"),
+            new Department("Marketing", 6, "Marketing Specialist", "Content Writer", "Marketing Manager"),
+            new Department("Human Resources", 4, "HR Specialist", "Recruiter", "HR Manager"),
+            new Department("Product", 4, "Product Manager", "Business Analyst"),
+            new Department("Design", 3, "Designer", "UX Researcher"),
+            new Department("Legal", 1, "Legal Counsel", "Compliance Officer")
+    };
+    private static final int TOTAL_WEIGHT = 100;
+
+    private static final String[] FIRST_NAMES = {
+            "Ahmet", "Mehmet", "Mustafa", "Ali", "Hasan", "Emre", "Burak", "Murat", "Can", "Deniz",
+            "Ayse", "Fatma", "Zeynep", "Elif", "Emine", "Merve", "Selin", "Ece", "Esra", "Derya",
+            "John", "Michael", "David", "James", "Daniel", "Thomas", "Mark", "Peter", "Lucas", "Omar",
+            "Jane", "Emily", "Sarah", "Laura", "Anna", "Maria", "Sophie", "Olivia", "Nina", "Leyla"
+    };
+    private static final String[] LAST_NAMES = {
+            "Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Yildirim", "Ozturk", "Aydin", "Ozdemir",
+            "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kara", "Koc", "Kurt", "Ozkan", "Simsek",
+            "Smith", "Johnson", "Brown", "Miller", "Davis", "Wilson", "Taylor", "Clark", "Walker", "Young"
+    };
+    private static final String[] STREETS = {
+            "Ataturk Cd.", "Cumhuriyet Cd.", "Istiklal Cd.", "Bagdat Cd.", "Main St", "Oak Ave", "Park Rd", "Elm St"
+    };
+    private static final String[] CITIES = {"Istanbul", "Ankara", "Izmir", "Bursa", "Antalya", "Kocaeli"};
+    private static final String[] REJECTION_REASONS = {
+            "Team capacity during this period", "Overlaps with a release", "Insufficient notice", "Please split the request"
+    };
+    private static final String APPROVER = "HR Admin";
+
+    private static final String STAFF_SQL = "INSERT INTO staff (id, first_name, last_name, email, phone, address, "
+            + "position, department, hire_date, date_of_birth, annual_leave_days, used_leave_days, remaining_leave_days, "
+            + "carried_over_leave_days, last_carryover_year, active, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] STAFF_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DATE, Types.DATE, Types.INTEGER,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.BOOLEAN, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private static final String LEAVE_SQL = "INSERT INTO leave_requests (id, staff_id, start_date, end_date, "
+            + "leave_type, status, reason, rejection_reason, days_requested, request_date, approval_date, created_at, "
+            + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] LEAVE_TYPES = {Types.BIGINT, Types.BIGINT, Types.DATE, Types.DATE, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.DATE, Types.DATE, Types.TIMESTAMP,
+            Types.TIMESTAMP};
+
+    private static final String DOCUMENT_SQL = "INSERT INTO documents (id, staff_id, document_name, document_type, "
+            + "file_name, file_url, file_size, upload_date, uploaded_by, expires_at, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] DOCUMENT_TYPES = {Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.TIMESTAMP, Types.VARCHAR, Types.DATE, Types.TIMESTAMP,
+            Types.TIMESTAMP};
+
+    private static final String ATTENDANCE_SQL = "INSERT INTO attendance_records (id, staff_id, date, clock_in_time, "
+            + "clock_out_time, break_start_time, break_end_time, status, total_work_minutes, overtime_minutes, "
+            + "break_minutes, clock_in_location, clock_out_location, clock_in_ip_address, clock_out_ip_address, "
+            + "approved, approved_at, approved_by, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] ATTENDANCE_TYPES = {Types.BIGINT, Types.BIGINT, Types.DATE, Types.TIMESTAMP,
+            Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.BIGINT,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN, Types.TIMESTAMP, Types.VARCHAR,
+            Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long seed;
+    private final int staffCount;
+    private final int years;
+    private final int attendanceStaff;
+    private final LocalDate endDate;
+    private final int batchSize;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  @Value("${datagen.seed:42}") long seed,
+                                  @Value("${datagen.staff:50000}") int staffCount,
+                                  @Value("${datagen.years:5}") int years,
+                                  @Value("${datagen.attendance-staff:2000}") int attendanceStaff,
+                                  @Value("${datagen.end-date:}") String endDate,
+                                  @Value("${datagen.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seed = seed;
+        this.staffCount = staffCount;
+        this.years = Math.max(1, years);
+        this.attendanceStaff = attendanceStaff < 0 ? staffCount : Math.min(attendanceStaff, staffCount);
+        this.endDate = endDate.isBlank() ? LocalDate.now() : LocalDate.parse(endDate.trim());
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run(String... args) {
+        generate();
+    }
+
+    /**
+     * Inserts the whole data set and returns the number of rows written per table
+     */
+    public Summary generate() {
+        long started = System.nanoTime();
+        logger.info("Generating {} staff ({} with daily attendance) over {} years up to {}, seed {}",
+                staffCount, attendanceStaff, years, endDate, seed);
+
+        Batch staff = new Batch(STAFF_SQL, STAFF_TYPES, null, nextId("staff"));
+        Batch leaves = new Batch(LEAVE_SQL, LEAVE_TYPES, staff, nextId("leave_requests"));
+        Batch documents = new Batch(DOCUMENT_SQL, DOCUMENT_TYPES, staff, nextId("documents"));
+        Batch attendance = new Batch(ATTENDANCE_SQL, ATTENDANCE_TYPES, staff, nextId("attendance_records"));
+
+        int progressStep = Math.max(1, staffCount / 10);
+        for (int index = 0; index < staffCount; index++) {
+            Random random = new Random(seed ^ (index * 0x9E3779B97F4A7C15L));
+            GeneratedStaff person = generateStaff(index, random);
+            List<LeaveRequest> leaveHistory = generateLeaves(person, random);
+            long staffId = staff.add(staffRow(person));
+            for (LeaveRequest leave : leaveHistory) {
+                leaves.add(leaveRow(staffId, leave, random));
+            }
+            generateDocuments(staffId, person, random, documents);
+            if (index < attendanceStaff) {
+                generateAttendance(staffId, person, leaveHistory, random, attendance);
+            }
+            if ((index + 1) % progressStep == 0) {
+                logger.info("Generated {} of {} staff, {} attendance records so far",
+                        index + 1, staffCount, attendance.count + attendance.rows.size());
+            }
+        }
+        for (Batch batch : List.of(staff, leaves, documents, attendance)) {
+            batch.flush();
+        }
+
+        restartSequence("staff", staff.nextId);
+        restartSequence("leave_requests", leaves.nextId);
+        restartSequence("documents", documents.nextId);
+        restartSequence("attendance_records", attendance.nextId);
+
+        Summary summary = new Summary(staff.count, leaves.count, documents.count, attendance.count,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        logger.info("Generated {} staff, {} leave requests, {} documents and {} attendance records in {} ms",
+                summary.getStaff(), summary.getLeaveRequests(), summary.getDocuments(),
+                summary.getAttendanceRecords(), summary.getDurationMillis());
+        return summary;
+    }
+
+    private GeneratedStaff generateStaff(int index, Random random) {
+        GeneratedStaff person = new GeneratedStaff();
+        Staff staff = person.staff;
+        staff.setFirstName(pick(FIRST_NAMES, random));
+        staff.setLastName(pick(LAST_NAMES, random));
+        staff.setEmail((staff.getFirstName() + "." + staff.getLastName() + "." + (index + 1) + "@example.com")
+                .toLowerCase(Locale.ROOT));
+        staff.setPhone(String.format(Locale.ROOT, "+90 5%02d %03d %02d %02d", random.nextInt(60), random.nextInt(1000),
+                random.nextInt(100), random.nextInt(100)));
+        staff.setAddress((1 + random.nextInt(200)) + " " + pick(STREETS, random) + ", " + pick(CITIES, random));
+
+        int roll = random.nextInt(TOTAL_WEIGHT);
+        Department department = DEPARTMENTS[0];
+        for (Department candidate : DEPARTMENTS) {
+            if (roll < candidate.weight) {
+                department = candidate;
+                break;
+            }
+            roll -= candidate.weight;
+        }
+        staff.setDepartment(department.name);
+        staff.setPosition(pick(department.positions, random));
+
+        // Squared so recent hires outnumber long tenures, up to 15 years back
+        double tenure = random.nextDouble();
+        LocalDate hireDate = endDate.minusDays((long) (tenure * tenure * 15 * 365));
+        staff.setHireDate(hireDate);
+        staff.setDateOfBirth(hireDate.minusYears(21 + random.nextInt(35)).minusDays(random.nextInt(365)));
+        long tenureYears = ChronoUnit.YEARS.between(hireDate, endDate);
+        staff.setAnnualLeaveDays(tenureYears >= 15 ? 26 : tenureYears >= 5 ? 20 : 14);
+        if (hireDate.getYear() < endDate.getYear()) {
+            staff.setCarriedOverLeaveDays(random.nextInt(6));
+            staff.setLastCarryoverYear(endDate.getYear());
+        }
+        staff.setUsedLeaveDays(0);
+        staff.setCreatedAt(hireDate.minusDays(7 + random.nextInt(21)).atTime(10, 0));
+
+        person.historyStart = hireDate.isAfter(endDate.minusYears(years)) ? hireDate : endDate.minusYears(years);
+        if (random.nextInt(100) < 6) {
+            // Former staff: left somewhere between their hire date and the end date
+            staff.setActive(false);
+            long employedDays = Math.max(1, ChronoUnit.DAYS.between(hireDate, endDate));
+            person.leftOn = hireDate.plusDays(1 + (long) (random.nextDouble() * employedDays));
+        } else {
+            person.leftOn = endDate;
+        }
+        person.lateRate = 0.02 + random.nextDouble() * 0.18;
+        person.overtimeRate = 0.03 + random.nextDouble() * 0.15;
+        person.arrivalOffset = (int) Math.round(random.nextGaussian() * 6);
+        person.ipAddress = "10." + (1 + random.nextInt(20)) + "." + random.nextInt(256) + "." + (2 + random.nextInt(250));
+        return person;
+    }
+
+    /**
+     * Annual leave within the yearly allowance, short sick leaves and the occasional personal,
+     * emergency, unpaid or parental leave, without overlaps. Leaves up to two months after the end
+     * date are still pending or already approved.
+     */
+    private List<LeaveRequest> generateLeaves(GeneratedStaff person, Random random) {
+        List<LeaveRequest> leaves = new ArrayList<>();
+        Staff staff = person.staff;
+        LocalDate last = person.leftOn.isBefore(endDate) ? person.leftOn : endDate.plusMonths(2);
+        for (int year = person.historyStart.getYear(); year <= last.getYear(); year++) {
+            LocalDate from = LocalDate.of(year, 1, 1).isBefore(person.historyStart)
+                    ? person.historyStart : LocalDate.of(year, 1, 1);
+            LocalDate to = LocalDate.of(year, 12, 31).isAfter(last) ? last : LocalDate.of(year, 12, 31);
+            if (from.isAfter(to)) {
+                continue;
+            }
+            int allowance = staff.getAnnualLeaveDays() + (year == endDate.getYear() ? staff.getCarriedOverLeaveDays() : 0);
+            for (int i = 2 + random.nextInt(3); i > 0; i--) {
+                LeaveRequest leave = addLeave(leaves, LeaveType.ANNUAL, from, to, 1 + random.nextInt(8), random);
+                if (leave != null && leave.getStatus() == LeaveStatus.APPROVED) {
+                    if (leave.getDaysRequested() > allowance) {
+                        leaves.remove(leave);
+                        continue;
+                    }
+                    allowance -= leave.getDaysRequested();
+                    if (year == endDate.getYear()) {
+                        staff.setUsedLeaveDays(staff.getUsedLeaveDays() + leave.getDaysRequested());
+                    }
+                }
+            }
+            for (int i = random.nextInt(4); i > 0; i--) {
+                addLeave(leaves, LeaveType.SICK, from, to, 1 + random.nextInt(3), random);
+            }
+            if (random.nextInt(100) < 30) {
+                addLeave(leaves, random.nextBoolean() ? LeaveType.PERSONAL : LeaveType.EMERGENCY, from, to, 1, random);
+            }
+            if (random.nextInt(100) < 2) {
+                addLeave(leaves, LeaveType.UNPAID, from, to, 5 + random.nextInt(15), random);
+            }
+            if (random.nextInt(1000) < 15) {
+                boolean maternity = random.nextBoolean();
+                addLeave(leaves, maternity ? LeaveType.MATERNITY : LeaveType.PATERNITY, from, to,
+                        maternity ? 80 : 5, random);
+            }
+        }
+        staff.calculateRemainingLeaveDays();
+        return leaves;
+    }
+
+    private LeaveRequest addLeave(List<LeaveRequest> leaves, LeaveType type, LocalDate from, LocalDate to,
+                                  int workingDays, Random random) {
+        LocalDate start = from.plusDays(random.nextInt((int) ChronoUnit.DAYS.between(from, to) + 1));
+        while (!DateUtil.isWorkingDay(start)) {
+            start = start.plusDays(1);
+        }
+        LocalDate end = start;
+        for (int days = 1; days < workingDays; days++) {
+            end = end.plusDays(1);
+            while (!DateUtil.isWorkingDay(end)) {
+                end = end.plusDays(1);
+            }
+        }
+        boolean sudden = type == LeaveType.SICK || type == LeaveType.EMERGENCY;
+        if (end.isAfter(to) || (sudden && start.isAfter(endDate))) {
+            return null;
+        }
+        for (LeaveRequest existing : leaves) {
+            if (existing.getStatus() != LeaveStatus.REJECTED && existing.getStatus() != LeaveStatus.CANCELLED
+                    && DateUtil.doDateRangesOverlap(start, end, existing.getStartDate(), existing.getEndDate())) {
+                return null;
+            }
+        }
+
+        LeaveRequest leave = new LeaveRequest();
+        leave.setLeaveType(type);
+        leave.setStartDate(start);
+        leave.setEndDate(end);
+        // Stored as the entity stores it, in calendar days
+        leave.calculateDays();
+        leave.setRequestDate(sudden ? start : start.minusDays(3 + random.nextInt(40)));
+        if (leave.getRequestDate().isAfter(endDate)) {
+            leave.setRequestDate(endDate);
+        }
+        int roll = random.nextInt(100);
+        if (start.isAfter(endDate)) {
+            leave.setStatus(roll < 60 ? LeaveStatus.PENDING : LeaveStatus.APPROVED);
+        } else if (sudden || roll < 85) {
+            leave.setStatus(LeaveStatus.APPROVED);
+        } else {
+            leave.setStatus(roll < 93 ? LeaveStatus.REJECTED : LeaveStatus.CANCELLED);
+        }
+        if (leave.getStatus() == LeaveStatus.APPROVED) {
+            LocalDate approvalDate = leave.getRequestDate().plusDays(random.nextInt(3));
+            leave.setApprovalDate(approvalDate.isAfter(endDate) ? endDate : approvalDate);
+        }
+        leaves.add(leave);
+        return leave;
+    }
+
+    private void generateDocuments(long staffId, GeneratedStaff person, Random random, Batch documents) {
+        LocalDate hireDate = person.staff.getHireDate();
+        LocalDate contractEnd = random.nextInt(100) < 15 ? hireDate.plusYears(1 + random.nextInt(3)) : null;
+        addDocument(documents, staffId, DocumentType.CONTRACT, "Employment Contract", hireDate, contractEnd, random);
+        addDocument(documents, staffId, DocumentType.ID_CARD, "ID Card Copy", hireDate,
+                hireDate.plusYears(10).minusDays(random.nextInt(3650)), random);
+        if (random.nextInt(100) < 85) {
+            addDocument(documents, staffId, DocumentType.RESUME, "Resume", hireDate.minusDays(20), null, random);
+        }
+        if (random.nextInt(100) < 35) {
+            addDocument(documents, staffId, DocumentType.PASSPORT, "Passport Copy", hireDate,
+                    hireDate.plusYears(10).minusDays(random.nextInt(3650)), random);
+        }
+        for (int i = random.nextInt(3); i > 0; i--) {
+            LocalDate uploaded = hireDate.plusDays(random.nextInt((int) ChronoUnit.DAYS.between(hireDate, endDate) + 1));
+            addDocument(documents, staffId, DocumentType.CERTIFICATE, "Training Certificate", uploaded,
+                    random.nextBoolean() ? uploaded.plusYears(2) : null, random);
+        }
+        for (int year = person.historyStart.getYear(); year <= person.leftOn.getYear(); year++) {
+            LocalDate uploaded = LocalDate.of(year, 2, 1).plusDays(random.nextInt(60));
+            if (uploaded.isBefore(hireDate) || uploaded.isAfter(person.leftOn)) {
+                continue;
+            }
+            addDocument(documents, staffId, DocumentType.TAX_FORM, "Tax Form " + year, uploaded, null, random);
+            if (random.nextInt(100) < 25) {
+                addDocument(documents, staffId, DocumentType.MEDICAL, "Health Report " + year,
+                        uploaded.plusDays(random.nextInt(200)), uploaded.plusYears(1), random);
+            }
+        }
+    }
+
+    private void addDocument(Batch documents, long staffId, DocumentType type, String name,
+                             LocalDate uploaded, LocalDate expiresAt, Random random) {
+        String fileName = name.toLowerCase(Locale.ROOT).replace(' ', '_') + "_" + staffId + ".pdf";
+        // Log-normal around 60 KB, as scans and generated PDFs mostly are
+        long fileSize = Math.min(20_000_000L, 5_000L + (long) Math.exp(11 + random.nextGaussian() * 0.9));
+        LocalDateTime uploadedAt = uploaded.atTime(9, 0).plusMinutes(random.nextInt(540));
+        documents.add(new Object[]{null, staffId, name, type.name(), fileName, "/documents/" + fileName, fileSize,
+                uploadedAt, APPROVER, expiresAt, uploadedAt, uploadedAt});
+    }
+
+    /**
+     * One record per working day from the start of the history to the day before the end date,
+     * except on approved leave and after leaving. Arrival, overtime and break habits differ per
+     * person; totals and status come from {@link AttendanceRecord#calculateTotalWork()}.
+     */
+    private void generateAttendance(long staffId, GeneratedStaff person, List<LeaveRequest> leaves, Random random,
+                                    Batch attendance) {
+        List<LeaveRequest> approved = new ArrayList<>();
+        for (LeaveRequest leave : leaves) {
+            if (leave.getStatus() == LeaveStatus.APPROVED) {
+                approved.add(leave);
+            }
+        }
+        String location = String.format(Locale.ROOT, "41.%04d,28.%04d", 100 + random.nextInt(50), 9700 + random.nextInt(50));
+        LocalDate last = person.leftOn.isBefore(endDate) ? person.leftOn : endDate.minusDays(1);
+        for (LocalDate date = person.historyStart; !date.isAfter(last); date = date.plusDays(1)) {
+            if (!DateUtil.isWorkingDay(date) || onLeave(approved, date)) {
+                continue;
+            }
+            AttendanceRecord record = new AttendanceRecord();
+            record.setDate(date);
+            double roll = random.nextDouble();
+            if (roll < 0.01) {
+                record.setStatus(AttendanceStatus.ABSENT);
+            } else {
+                // Within the 15 minutes of grace on a normal day; late arrivals are made up in the evening
+                int arrival = Math.max(8 * 60 + 40, Math.min(9 * 60 + 14,
+                        8 * 60 + 58 + person.arrivalOffset + (int) Math.round(random.nextGaussian() * 4)));
+                if (random.nextDouble() < person.lateRate) {
+                    arrival = 9 * 60 + 16 + (int) Math.min(100, -Math.log(1 - random.nextDouble()) * 20);
+                }
+                LocalDateTime clockIn = date.atStartOfDay().plusMinutes(arrival).plusSeconds(random.nextInt(60));
+                record.setClockInTime(clockIn);
+                if (roll < 0.03) {
+                    // Half day: leaves before lunch
+                    record.setClockOutTime(clockIn.plusMinutes(180 + random.nextInt(50)));
+                } else {
+                    LocalDateTime breakStart = date.atTime(12, 0).plusMinutes(random.nextInt(60));
+                    int breakMinutes = 60 + Math.min(30, Math.abs((int) Math.round(random.nextGaussian() * 6)));
+                    record.setBreakStartTime(breakStart);
+                    record.setBreakEndTime(breakStart.plusMinutes(breakMinutes));
+                    LocalDateTime clockOut = clockIn.plusMinutes(breakMinutes + 8 * 60 - random.nextInt(4));
+                    if (roll > 0.97) {
+                        clockOut = date.atTime(16, 0).plusMinutes(random.nextInt(100));
+                    } else if (random.nextDouble() < person.overtimeRate) {
+                        clockOut = clockOut.plusMinutes(30 + (long) Math.min(240, -Math.log(1 - random.nextDouble()) * 60));
+                    } else if (clockOut.isBefore(date.atTime(17, 45))) {
+                        // Stays until the end of the working day even when in early
+                        clockOut = date.atTime(17, 45).plusMinutes(random.nextInt(10));
+                    }
+                    record.setClockOutTime(clockOut);
+                }
+                record.calculateTotalWork();
+            }
+            attendance.add(attendanceRow(staffId, record, location, person.ipAddress, random));
+        }
+    }
+
+    private static boolean onLeave(List<LeaveRequest> approved, LocalDate date) {
+        for (LeaveRequest leave : approved) {
+            if (!date.isBefore(leave.getStartDate()) && !date.isAfter(leave.getEndDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object[] staffRow(GeneratedStaff person) {
+        Staff staff = person.staff;
+        LocalDateTime updatedAt = person.leftOn.isBefore(endDate) ? person.leftOn.atTime(17, 0) : staff.getCreatedAt();
+        return new Object[]{null, staff.getFirstName(), staff.getLastName(), staff.getEmail(), staff.getPhone(),
+                staff.getAddress(), staff.getPosition(), staff.getDepartment(), staff.getHireDate(),
+                staff.getDateOfBirth(), staff.getAnnualLeaveDays(), staff.getUsedLeaveDays(),
+                staff.getRemainingLeaveDays(), staff.getCarriedOverLeaveDays(), staff.getLastCarryoverYear(),
+                staff.getActive(), staff.getCreatedAt(), updatedAt};
+    }
+
+    private Object[] leaveRow(long staffId, LeaveRequest leave, Random random) {
+        LocalDateTime createdAt = leave.getRequestDate().atTime(9, 0).plusMinutes(random.nextInt(480));
+        LocalDateTime updatedAt = leave.getApprovalDate() != null
+                ? leave.getApprovalDate().atTime(LocalTime.of(17, 0)) : createdAt;
+        if (updatedAt.isBefore(createdAt)) {
+            updatedAt = createdAt;
+        }
+        String reason = switch (leave.getLeaveType()) {
+            case ANNUAL -> "Vacation";
+            case SICK -> "Medical appointment";
+            case PERSONAL -> "Personal matters";
+            case EMERGENCY -> "Family emergency";
+            case UNPAID -> "Extended travel";
+            case MATERNITY, PATERNITY -> "Birth of a child";
+        };
+        String rejectionReason = leave.getStatus() == LeaveStatus.REJECTED ? pick(REJECTION_REASONS, random) : null;
+        return new Object[]{null, staffId, leave.getStartDate(), leave.getEndDate(), leave.getLeaveType().name(),
+                leave.getStatus().name(), reason, rejectionReason, leave.getDaysRequested(), leave.getRequestDate(),
+                leave.getApprovalDate(), createdAt, updatedAt};
+    }
+
+    private Object[] attendanceRow(long staffId, AttendanceRecord record, String location, String ipAddress,
+                                   Random random) {
+        LocalDate date = record.getDate();
+        boolean approved = date.isBefore(endDate.minusDays(7));
+        LocalDateTime approvedAt = approved ? date.plusDays(1 + random.nextInt(3)).atTime(10, 0) : null;
+        LocalDateTime createdAt = record.getClockInTime() != null ? record.getClockInTime() : date.atTime(23, 59);
+        LocalDateTime updatedAt = approvedAt != null ? approvedAt
+                : record.getClockOutTime() != null ? record.getClockOutTime() : createdAt;
+        boolean present = record.getClockInTime() != null;
+        return new Object[]{null, staffId, date, record.getClockInTime(), record.getClockOutTime(),
+                record.getBreakStartTime(), record.getBreakEndTime(), record.getStatus().name(),
+                record.getTotalWorkMinutes(), record.getOvertimeMinutes(), record.getBreakMinutes(),
+                present ? location : null, present ? location : null, present ? ipAddress : null,
+                present ? ipAddress : null, approved, approvedAt, approved ? APPROVER : null, createdAt, updatedAt};
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    /**
+     * Hands out ids after the generated ones; with pooled-lo the sequence value is the first id of the next block
+     */
+    private void restartSequence(String table, long nextId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + nextId);
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Rows for one table, sent as a JDBC batch every {@code batchSize} rows. A batch flushes its
+     * parent first, so child rows never reach the database before the staff they refer to.
+     */
+    private final class Batch {
+        private final String sql;
+        private final int[] types;
+        private final Batch parent;
+        private final List<Object[]> rows = new ArrayList<>();
+        private long nextId;
+        private long count;
+
+        private Batch(String sql, int[] types, Batch parent, long nextId) {
+            this.sql = sql;
+            this.types = types;
+            this.parent = parent;
+            this.nextId = nextId;
+        }
+
+        /**
+         * Assigns the row its id (first column) and returns it
+         */
+        private long add(Object[] row) {
+            long id = nextId++;
+            row[0] = id;
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+            return id;
+        }
+
+        private void flush() {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows, types);
+                count += rows.size();
+                rows.clear();
+            }
+        }
+    }
+
+    private static final class Department {
+        private final String name;
+        private final int weight;
+        private final String[] positions;
+
+        private Department(String name, int weight, String... positions) {
+            this.name = name;
+            this.weight = weight;
+            this.positions = positions;
+        }
+    }
+
+    /**
+     * A staff member being generated, with the habits their attendance is drawn from
+     */
+    private static final class GeneratedStaff {
+        private final Staff staff = new Staff();
+        private LocalDate historyStart;
+        private LocalDate leftOn;
+        private double lateRate;
+        private double overtimeRate;
+        private int arrivalOffset;
+        private String ipAddress;
+    }
+
+    public static final class Summary {
+        private final long staff;
+        private final long leaveRequests;
+        private final long documents;
+        private final long attendanceRecords;
+        private final long durationMillis;
+
+        public Summary(long staff, long leaveRequests, long documents, long attendanceRecords, long durationMillis) {
+            this.staff = staff;
+            this.leaveRequests = leaveRequests;
+            this.documents = documents;
+            this.attendanceRecords = attendanceRecords;
+            this.durationMillis = durationMillis;
+        }
+
+        public long getStaff() {
+            return staff;
+        }
+
+        public long getLeaveRequests() {
+            return leaveRequests;
+        }
+
+        public long getDocuments() {
+            return documents;
+        }
+
+        public long getAttendanceRecords() {
+            return attendanceRecords;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.staffmanagement.controller;
 
+import com.staffmanagement.dto.AttendanceResponse;
 import com.staffmanagement.model.AttendanceRecord;
 import com.staffmanagement.service.AttendanceService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,44 +23,48 @@ public class AttendanceController {
     private final AttendanceService attendanceService;
 
     @GetMapping
-    public ResponseEntity<List<AttendanceRecord>> getAllAttendance() {
-        return ResponseEntity.ok(attendanceService.getAllAttendance());
+    public ResponseEntity<List<AttendanceResponse>> getAllAttendance() {
+        return ResponseEntity.ok(attendanceService.getAllAttendance().stream()
+                .map(AttendanceResponse::from).toList());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<AttendanceRecord> getAttendanceById(@PathVariable Long id) {
-        return ResponseEntity.ok(attendanceService.getAttendanceById(id));
+    public ResponseEntity<AttendanceResponse> getAttendanceById(@PathVariable Long id) {
+        return ResponseEntity.ok(AttendanceResponse.from(attendanceService.getAttendanceById(id)));
     }
 
     @GetMapping("/staff/{staffId}")
-    public ResponseEntity<List<AttendanceRecord>> getAttendanceByStaffId(@PathVariable Long staffId) {
-        return ResponseEntity.ok(attendanceService.getAttendanceByStaffId(staffId));
+    public ResponseEntity<List<AttendanceResponse>> getAttendanceByStaffId(@PathVariable Long staffId) {
+        return ResponseEntity.ok(attendanceService.getAttendanceByStaffId(staffId).stream()
+                .map(AttendanceResponse::from).toList());
     }
 
     @GetMapping("/staff/{staffId}/today")
-    public ResponseEntity<AttendanceRecord> getTodayAttendance(@PathVariable Long staffId) {
+    public ResponseEntity<AttendanceResponse> getTodayAttendance(@PathVariable Long staffId) {
         Optional<AttendanceRecord> record = attendanceService.getTodayAttendance(staffId);
-        return record.map(ResponseEntity::ok)
+        return record.map(AttendanceResponse::from).map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/date/{date}")
-    public ResponseEntity<List<AttendanceRecord>> getAttendanceByDate(
+    public ResponseEntity<List<AttendanceResponse>> getAttendanceByDate(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        return ResponseEntity.ok(attendanceService.getAttendanceByDate(date));
+        return ResponseEntity.ok(attendanceService.getAttendanceByDate(date).stream()
+                .map(AttendanceResponse::from).toList());
     }
 
     @GetMapping("/staff/{staffId}/range")
-    public ResponseEntity<List<AttendanceRecord>> getAttendanceByDateRange(
+    public ResponseEntity<List<AttendanceResponse>> getAttendanceByDateRange(
             @PathVariable Long staffId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         return ResponseEntity.ok(attendanceService.getAttendanceByStaffIdAndDateRange(
-                staffId, startDate, endDate));
+                staffId, startDate, endDate).stream()
+                .map(AttendanceResponse::from).toList());
     }
 
     @PostMapping("/staff/{staffId}/clock-in")
-    public ResponseEntity<AttendanceRecord> clockIn(
+    public ResponseEntity<AttendanceResponse> clockIn(
             @PathVariable Long staffId,
             @RequestBody Map<String, String> body,
             HttpServletRequest request) {
@@ -67,43 +72,43 @@ public class AttendanceController {
         String ipAddress = getClientIP(request);
 
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(attendanceService.clockIn(staffId, location, ipAddress));
+                .body(AttendanceResponse.from(attendanceService.clockIn(staffId, location, ipAddress)));
     }
 
     @PutMapping("/staff/{staffId}/clock-out")
-    public ResponseEntity<AttendanceRecord> clockOut(
+    public ResponseEntity<AttendanceResponse> clockOut(
             @PathVariable Long staffId,
             @RequestBody Map<String, String> body,
             HttpServletRequest request) {
         String location = body.getOrDefault("location", "Unknown");
         String ipAddress = getClientIP(request);
 
-        return ResponseEntity.ok(attendanceService.clockOut(staffId, location, ipAddress));
+        return ResponseEntity.ok(AttendanceResponse.from(attendanceService.clockOut(staffId, location, ipAddress)));
     }
 
     @PutMapping("/staff/{staffId}/break-start")
-    public ResponseEntity<AttendanceRecord> startBreak(@PathVariable Long staffId) {
-        return ResponseEntity.ok(attendanceService.startBreak(staffId));
+    public ResponseEntity<AttendanceResponse> startBreak(@PathVariable Long staffId) {
+        return ResponseEntity.ok(AttendanceResponse.from(attendanceService.startBreak(staffId)));
     }
 
     @PutMapping("/staff/{staffId}/break-end")
-    public ResponseEntity<AttendanceRecord> endBreak(@PathVariable Long staffId) {
-        return ResponseEntity.ok(attendanceService.endBreak(staffId));
+    public ResponseEntity<AttendanceResponse> endBreak(@PathVariable Long staffId) {
+        return ResponseEntity.ok(AttendanceResponse.from(attendanceService.endBreak(staffId)));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<AttendanceRecord> updateAttendance(
+    public ResponseEntity<AttendanceResponse> updateAttendance(
             @PathVariable Long id,
             @Valid @RequestBody AttendanceRecord attendance) {
-        return ResponseEntity.ok(attendanceService.updateAttendance(id, attendance));
+        return ResponseEntity.ok(AttendanceResponse.from(attendanceService.updateAttendance(id, attendance)));
     }
 
     @PutMapping("/{id}/approve")
-    public ResponseEntity<AttendanceRecord> approveAttendance(
+    public ResponseEntity<AttendanceResponse> approveAttendance(
             @PathVariable Long id,
             @RequestBody Map<String, String> body) {
         String approver = body.getOrDefault("approver", "System");
-        return ResponseEntity.ok(attendanceService.approveAttendance(id, approver));
+        return ResponseEntity.ok(AttendanceResponse.from(attendanceService.approveAttendance(id, approver)));
     }
 
     @DeleteMapping("/{id}")
@@ -121,8 +126,9 @@ public class AttendanceController {
     }
 
     @GetMapping("/pending-approvals")
-    public ResponseEntity<List<AttendanceRecord>> getPendingApprovals() {
-        return ResponseEntity.ok(attendanceService.getPendingApprovals());
+    public ResponseEntity<List<AttendanceResponse>> getPendingApprovals() {
+        return ResponseEntity.ok(attendanceService.getPendingApprovals().stream()
+                .map(AttendanceResponse::from).toList());
     }
 
     private String getClientIP(HttpServletRequest request) {
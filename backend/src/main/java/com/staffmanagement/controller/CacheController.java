@@ -0,0 +1,31 @@
+package com.staffmanagement.controller;
+
+import com.staffmanagement.dto.CacheStatistics;
+import com.staffmanagement.service.CacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+    private final CacheService cacheService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStatistics> getStatistics() {
+        return ResponseEntity.ok(cacheService.getStatistics());
+    }
+
+    @DeleteMapping("/stats")
+    public ResponseEntity<Void> resetStatistics() {
+        cacheService.resetStatistics();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/staff")
+    public ResponseEntity<Void> evictStaff() {
+        cacheService.evictStaff();
+        return ResponseEntity.noContent().build();
+    }
+}
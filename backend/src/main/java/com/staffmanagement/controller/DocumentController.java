@@ -1,49 +1,226 @@
 package com.staffmanagement.controller;
 
+import com.staffmanagement.dto.DocumentExpiryGroup;
+import com.staffmanagement.dto.DocumentResponse;
+import com.staffmanagement.dto.DocumentSearchResult;
 import com.staffmanagement.model.Document;
+import com.staffmanagement.model.DocumentType;
+import com.staffmanagement.service.DocumentExpiryService;
+import com.staffmanagement.service.DocumentPreviewService;
+import com.staffmanagement.service.DocumentSearchService;
 import com.staffmanagement.service.DocumentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/documents")
 @RequiredArgsConstructor
 public class DocumentController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String PREVIEW_STATUS = "X-Preview-Status";
+
     private final DocumentService documentService;
+    private final DocumentPreviewService documentPreviewService;
+    private final DocumentSearchService documentSearchService;
+    private final DocumentExpiryService documentExpiryService;
 
     @GetMapping
-    public ResponseEntity<List<Document>> getAllDocuments() {
-        return ResponseEntity.ok(documentService.getAllDocuments());
+    public ResponseEntity<List<DocumentResponse>> getAllDocuments() {
+        return ResponseEntity.ok(documentService.getAllDocuments().stream()
+                .map(DocumentResponse::from).toList());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<DocumentSearchResult> searchDocuments(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long staffId,
+            @RequestParam(required = false) DocumentType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(documentSearchService.search(q, staffId, type, from, to, page, size));
+    }
+
+    @GetMapping("/expiring")
+    public ResponseEntity<List<DocumentExpiryGroup>> getUpcomingExpiries(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "false") boolean includeExpired) {
+        return ResponseEntity.ok(documentExpiryService.getUpcomingExpiries(days, includeExpired));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Document> getDocumentById(@PathVariable Long id) {
-        return ResponseEntity.ok(documentService.getDocumentById(id));
+    public ResponseEntity<DocumentResponse> getDocumentById(@PathVariable Long id) {
+        return ResponseEntity.ok(DocumentResponse.from(documentService.getDocumentById(id)));
     }
 
     @GetMapping("/staff/{staffId}")
-    public ResponseEntity<List<Document>> getDocumentsByStaffId(@PathVariable Long staffId) {
-        return ResponseEntity.ok(documentService.getDocumentsByStaffId(staffId));
+    public ResponseEntity<List<DocumentResponse>> getDocumentsByStaffId(@PathVariable Long staffId) {
+        return ResponseEntity.ok(documentService.getDocumentsByStaffId(staffId).stream()
+                .map(DocumentResponse::from).toList());
     }
 
     @PostMapping("/staff/{staffId}")
-    public ResponseEntity<Document> createDocument(
+    public ResponseEntity<DocumentResponse> createDocument(
             @PathVariable Long staffId,
             @Valid @RequestBody Document document) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(documentService.createDocument(staffId, document));
+                .body(DocumentResponse.from(documentService.createDocument(staffId, document)));
+    }
+
+    /**
+     * Create a document from an uploaded file. The container spools the part to disk, and it is
+     * streamed from there into the content-addressed store while its SHA-256 is computed
+     */
+    @PostMapping(value = "/staff/{staffId}/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DocumentResponse> uploadDocument(
+            @PathVariable Long staffId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String documentName,
+            @RequestParam(required = false) DocumentType documentType,
+            @RequestParam(required = false) String uploadedBy,
+            @RequestParam(required = false) String notes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expiresAt)
+            throws IOException {
+        Document metadata = new Document();
+        metadata.setDocumentName(documentName);
+        metadata.setDocumentType(documentType);
+        metadata.setUploadedBy(uploadedBy);
+        metadata.setNotes(notes);
+        metadata.setExpiresAt(expiresAt);
+        try (InputStream content = file.getInputStream()) {
+            Document saved = documentService.uploadDocument(staffId, metadata, content, file.getSize(),
+                    file.getOriginalFilename(), file.getContentType());
+            return ResponseEntity.status(HttpStatus.CREATED).body(DocumentResponse.from(saved));
+        }
+    }
+
+    @PutMapping(value = "/{id}/content", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DocumentResponse> replaceContent(
+            @PathVariable Long id,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            return ResponseEntity.ok(DocumentResponse.from(documentService.replaceContent(id, content, file.getSize(),
+                    file.getOriginalFilename(), file.getContentType())));
+        }
+    }
+
+    /**
+     * Download the stored content. The SHA-256 is a strong ETag, so If-None-Match revalidates
+     * without a transfer; a single byte range (honoured only if If-Range still matches) answers
+     * 206 Partial Content. The bytes are sent zero-copy: through Tomcat's sendfile when the
+     * connector offers it, otherwise with FileChannel.transferTo onto the response stream
+     */
+    @GetMapping("/{id}/content")
+    public void downloadContent(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Document document = documentService.getDocumentById(id);
+        Path file = documentService.getContentPath(document);
+        long length = Files.size(file);
+        String etag = "\"" + document.getContentHash() + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges = parseRanges(range);
+            // Several ranges would need a multipart/byteranges body; the whole file is sent instead
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+                if (start >= length || end < start) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        String fileName = document.getFileName() != null ? document.getFileName() : "document-" + id;
+        response.setContentType(document.getContentType());
+        ContentDisposition disposition = StandardCharsets.US_ASCII.newEncoder().canEncode(fileName)
+                ? ContentDisposition.attachment().filename(fileName).build()
+                : ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build();
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+        response.setContentLengthLong(end - start + 1);
+        if (!HttpMethod.HEAD.matches(request.getMethod())) {
+            sendFile(request, response, file, start, end - start + 1);
+        }
+    }
+
+    /**
+     * JPEG preview of the document's content. While it is being generated the response is
+     * 202 Accepted with a placeholder image and Retry-After; types without a preview get the
+     * placeholder with 200. X-Preview-Status tells the two apart
+     */
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<Resource> getPreview(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "THUMBNAIL") DocumentPreviewService.Size size) {
+        Document document = documentService.getDocumentById(id);
+        DocumentPreviewService.Preview preview = documentPreviewService.getPreview(document, size);
+        if (preview.getStatus() == DocumentPreviewService.Status.READY) {
+            return ResponseEntity.ok()
+                    .header(PREVIEW_STATUS, preview.getStatus().name())
+                    .eTag("\"" + document.getContentHash() + "-" + size.name().toLowerCase(Locale.ROOT) + "\"")
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .body(new FileSystemResource(preview.getFile()));
+        }
+
+        boolean pending = preview.getStatus() == DocumentPreviewService.Status.PENDING;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(pending ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .header(PREVIEW_STATUS, preview.getStatus().name())
+                .cacheControl(CacheControl.noStore())
+                .contentType(MediaType.IMAGE_PNG);
+        if (pending) {
+            response.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return response.body(new ByteArrayResource(documentPreviewService.getPlaceholder(size)));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Document> updateDocument(
+    public ResponseEntity<DocumentResponse> updateDocument(
             @PathVariable Long id,
             @Valid @RequestBody Document document) {
-        return ResponseEntity.ok(documentService.updateDocument(id, document));
+        return ResponseEntity.ok(DocumentResponse.from(documentService.updateDocument(id, document)));
     }
 
     @DeleteMapping("/{id}")
@@ -51,4 +228,49 @@ public class DocumentController {
         documentService.deleteDocument(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static void sendFile(HttpServletRequest request, HttpServletResponse response, Path file, long start,
+                                 long count) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file itself once the response is committed, with FileChannel.transferTo
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + count;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    private static List<HttpRange> parseRanges(String header) {
+        try {
+            return HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored, as RFC 9110 allows
+            return List.of();
+        }
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -1,13 +1,20 @@
 package com.staffmanagement.controller;
 
 import com.staffmanagement.service.ExportService;
+import com.staffmanagement.service.PartitionedExportService;
+import com.staffmanagement.util.XlsxWriter;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/export")
@@ -15,7 +22,10 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "http://localhost:5173")
 public class ExportController {
     private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+    private static final String WATERMARK_HEADER = "X-Export-Watermark";
+
     private final ExportService exportService;
+    private final PartitionedExportService partitionedExportService;
 
     @GetMapping("/staff")
     public ResponseEntity<byte[]> exportStaff() {
@@ -54,4 +64,112 @@ public class ExportController {
                 .contentType(MediaType.parseMediaType("text/csv"))
                 .body(csv);
     }
+
+    @GetMapping("/staff/xlsx")
+    public ResponseEntity<StreamingResponseBody> exportStaffXlsx() {
+        logger.info("Exporting all staff to XLSX");
+        return xlsxResponse("staff.xlsx", exportService::writeStaffXlsx);
+    }
+
+    @GetMapping("/attendance/xlsx")
+    public ResponseEntity<StreamingResponseBody> exportAttendanceXlsx(
+            @RequestParam(required = false) Long staffId,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+        logger.info("Exporting attendance to XLSX - staffId: {}, startDate: {}, endDate: {}",
+                staffId, startDate, endDate);
+        return xlsxResponse("attendance.xlsx",
+                out -> exportService.writeAttendanceXlsx(out, staffId, startDate, endDate));
+    }
+
+    @GetMapping("/leave-requests/xlsx")
+    public ResponseEntity<StreamingResponseBody> exportLeaveRequestsXlsx(
+            @RequestParam(required = false) Long staffId) {
+        logger.info("Exporting leave requests to XLSX - staffId: {}", staffId);
+        return xlsxResponse("leave_requests.xlsx", out -> exportService.writeLeaveRequestsXlsx(out, staffId));
+    }
+
+    @GetMapping("/monthly-report/xlsx")
+    public ResponseEntity<StreamingResponseBody> exportMonthlyReportXlsx(
+            @RequestParam Long staffId,
+            @RequestParam int year,
+            @RequestParam int month) {
+        logger.info("Exporting monthly report to XLSX - staffId: {}, {}/{}", staffId, year, month);
+        return xlsxResponse("monthly_report_" + staffId + "_" + year + "_" + month + ".xlsx",
+                out -> exportService.writeMonthlyReportXlsx(out, staffId, year, month));
+    }
+
+    /**
+     * Multi-month attendance range exported in parallel monthly partitions, as one CSV or a ZIP of monthly CSVs
+     */
+    @GetMapping("/attendance/partitioned")
+    public ResponseEntity<StreamingResponseBody> exportAttendancePartitioned(
+            @RequestParam(required = false) Long staffId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean zip) {
+        int partitions = partitionedExportService.partition(startDate, endDate).size();
+        logger.info("Exporting attendance in {} partitions - staffId: {}, startDate: {}, endDate: {}, zip: {}",
+                partitions, staffId, startDate, endDate, zip);
+
+        if (zip) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=attendance.zip")
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .body(out -> partitionedExportService.writeAttendanceZip(out, staffId, startDate, endDate));
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=attendance.csv")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(out -> partitionedExportService.writeAttendanceCsv(out, staffId, startDate, endDate));
+    }
+
+    /**
+     * Rows changed after {@code since}; pass the returned watermark header back as the next {@code since}
+     */
+    @GetMapping("/staff/delta")
+    public ResponseEntity<StreamingResponseBody> exportStaffDelta(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        LocalDateTime from = since != null ? since : ExportService.DELTA_START;
+        LocalDateTime watermark = exportService.getStaffWatermark(from);
+        logger.info("Exporting staff delta to CSV - since: {}, watermark: {}", from, watermark);
+        return deltaResponse("staff_delta.csv", watermark,
+                out -> exportService.writeStaffDeltaCsv(out, from, watermark));
+    }
+
+    @GetMapping("/attendance/delta")
+    public ResponseEntity<StreamingResponseBody> exportAttendanceDelta(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        LocalDateTime from = since != null ? since : ExportService.DELTA_START;
+        LocalDateTime watermark = exportService.getAttendanceWatermark(from);
+        logger.info("Exporting attendance delta to CSV - since: {}, watermark: {}", from, watermark);
+        return deltaResponse("attendance_delta.csv", watermark,
+                out -> exportService.writeAttendanceDeltaCsv(out, from, watermark));
+    }
+
+    @GetMapping("/leave-requests/delta")
+    public ResponseEntity<StreamingResponseBody> exportLeaveRequestsDelta(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        LocalDateTime from = since != null ? since : ExportService.DELTA_START;
+        LocalDateTime watermark = exportService.getLeaveRequestWatermark(from);
+        logger.info("Exporting leave requests delta to CSV - since: {}, watermark: {}", from, watermark);
+        return deltaResponse("leave_requests_delta.csv", watermark,
+                out -> exportService.writeLeaveRequestsDeltaCsv(out, from, watermark));
+    }
+
+    private ResponseEntity<StreamingResponseBody> deltaResponse(String fileName, LocalDateTime watermark,
+                                                                StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName)
+                .header(WATERMARK_HEADER, watermark.toString())
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> xlsxResponse(String fileName, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName)
+                .contentType(MediaType.parseMediaType(XlsxWriter.CONTENT_TYPE))
+                .body(body);
+    }
 }
@@ -0,0 +1,61 @@
+package com.staffmanagement.controller;
+
+import com.staffmanagement.dto.ExportJobRequest;
+import com.staffmanagement.dto.ExportJobStatus;
+import com.staffmanagement.service.ExportJobService;
+import com.staffmanagement.util.XlsxWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.ZoneId;
+
+@RestController
+@RequestMapping("/api/export/jobs")
+@RequiredArgsConstructor
+public class ExportJobController {
+    private final ExportJobService exportJobService;
+
+    @PostMapping
+    public ResponseEntity<ExportJobStatus> submitExport(@RequestBody ExportJobRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportJobService.submit(request));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobStatus> getExportStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(exportJobService.getStatus(id));
+    }
+
+    /**
+     * Download a finished export. Returning a file Resource lets Spring answer
+     * Range requests with 206 Partial Content, so interrupted downloads can resume.
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable Long id) {
+        Path file = exportJobService.getFile(id);
+        ExportJobStatus status = exportJobService.getStatus(id);
+        MediaType contentType = status.getFormat() == ExportJobRequest.Format.XLSX
+                ? MediaType.parseMediaType(XlsxWriter.CONTENT_TYPE)
+                : MediaType.parseMediaType("application/gzip");
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + status.getFileName())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag("\"export-" + id + "-" + status.getFileSize() + "\"")
+                .lastModified(status.getFinishedAt().atZone(ZoneId.systemDefault()))
+                .contentType(contentType)
+                .body(new FileSystemResource(file));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelExport(@PathVariable Long id) {
+        exportJobService.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,18 +1,23 @@
 package com.staffmanagement.controller;
 
+import com.staffmanagement.dto.LeaveRequestResponse;
 import com.staffmanagement.model.LeaveRequest;
 import com.staffmanagement.model.LeaveStatus;
+import com.staffmanagement.model.LeaveType;
 import com.staffmanagement.service.LeaveCertificateService;
 import com.staffmanagement.service.LeaveRequestService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -24,44 +29,47 @@ public class LeaveRequestController {
     private final LeaveCertificateService leaveCertificateService;
 
     @GetMapping
-    public ResponseEntity<List<LeaveRequest>> getAllLeaveRequests() {
-        return ResponseEntity.ok(leaveRequestService.getAllLeaveRequests());
+    public ResponseEntity<List<LeaveRequestResponse>> getAllLeaveRequests() {
+        return ResponseEntity.ok(leaveRequestService.getAllLeaveRequests().stream()
+                .map(LeaveRequestResponse::from).toList());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<LeaveRequest> getLeaveRequestById(@PathVariable Long id) {
-        return ResponseEntity.ok(leaveRequestService.getLeaveRequestById(id));
+    public ResponseEntity<LeaveRequestResponse> getLeaveRequestById(@PathVariable Long id) {
+        return ResponseEntity.ok(LeaveRequestResponse.from(leaveRequestService.getLeaveRequestById(id)));
     }
 
     @GetMapping("/staff/{staffId}")
-    public ResponseEntity<List<LeaveRequest>> getLeaveRequestsByStaffId(@PathVariable Long staffId) {
-        return ResponseEntity.ok(leaveRequestService.getLeaveRequestsByStaffId(staffId));
+    public ResponseEntity<List<LeaveRequestResponse>> getLeaveRequestsByStaffId(@PathVariable Long staffId) {
+        return ResponseEntity.ok(leaveRequestService.getLeaveRequestsByStaffId(staffId).stream()
+                .map(LeaveRequestResponse::from).toList());
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<LeaveRequest>> getLeaveRequestsByStatus(@PathVariable LeaveStatus status) {
-        return ResponseEntity.ok(leaveRequestService.getLeaveRequestsByStatus(status));
+    public ResponseEntity<List<LeaveRequestResponse>> getLeaveRequestsByStatus(@PathVariable LeaveStatus status) {
+        return ResponseEntity.ok(leaveRequestService.getLeaveRequestsByStatus(status).stream()
+                .map(LeaveRequestResponse::from).toList());
     }
 
     @PostMapping("/staff/{staffId}")
-    public ResponseEntity<LeaveRequest> createLeaveRequest(
+    public ResponseEntity<LeaveRequestResponse> createLeaveRequest(
             @PathVariable Long staffId,
             @Valid @RequestBody LeaveRequest leaveRequest) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(leaveRequestService.createLeaveRequest(staffId, leaveRequest));
+                .body(LeaveRequestResponse.from(leaveRequestService.createLeaveRequest(staffId, leaveRequest)));
     }
 
     @PutMapping("/{id}/approve")
-    public ResponseEntity<LeaveRequest> approveLeaveRequest(@PathVariable Long id) {
-        return ResponseEntity.ok(leaveRequestService.approveLeaveRequest(id));
+    public ResponseEntity<LeaveRequestResponse> approveLeaveRequest(@PathVariable Long id) {
+        return ResponseEntity.ok(LeaveRequestResponse.from(leaveRequestService.approveLeaveRequest(id)));
     }
 
     @PutMapping("/{id}/reject")
-    public ResponseEntity<LeaveRequest> rejectLeaveRequest(
+    public ResponseEntity<LeaveRequestResponse> rejectLeaveRequest(
             @PathVariable Long id,
             @RequestBody Map<String, String> body) {
         String reason = body.getOrDefault("reason", "Not specified");
-        return ResponseEntity.ok(leaveRequestService.rejectLeaveRequest(id, reason));
+        return ResponseEntity.ok(LeaveRequestResponse.from(leaveRequestService.rejectLeaveRequest(id, reason)));
     }
 
     @DeleteMapping("/{id}")
@@ -70,20 +78,38 @@ public class LeaveRequestController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * The certificate with a strong ETag; a matching If-None-Match is answered with 304
+     */
     @GetMapping("/{id}/certificate")
     public ResponseEntity<byte[]> downloadLeaveCertificate(@PathVariable Long id) {
-        try {
-            byte[] document = leaveCertificateService.generateLeaveCertificate(id);
+        LeaveCertificateService.RenderedCertificate certificate = leaveCertificateService.getLeaveCertificate(id);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("attachment", "izin_belgesi_" + id + ".docx");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", "izin_belgesi_" + id + ".docx");
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(document);
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(certificate.getEtag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(certificate.getContent());
+    }
+
+    /**
+     * Certificates for every approved leave overlapping the period, streamed as one ZIP
+     */
+    @GetMapping("/certificates")
+    public ResponseEntity<StreamingResponseBody> downloadLeaveCertificates(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) LeaveType leaveType) {
+        List<LeaveRequest> leaveRequests = leaveCertificateService.findCertificateLeaves(from, to, department, leaveType);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=izin_belgeleri_" + from + "_" + to + ".zip")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(out -> leaveCertificateService.writeCertificatesZip(out, leaveRequests));
     }
 }
@@ -1,13 +1,24 @@
 package com.staffmanagement.controller;
 
+import com.staffmanagement.dto.StaffImportResult;
+import com.staffmanagement.dto.StaffOffboardingResult;
+import com.staffmanagement.dto.StaffResponse;
+import com.staffmanagement.dto.StaffSearchResult;
 import com.staffmanagement.model.Staff;
+import com.staffmanagement.service.StaffImportService;
+import com.staffmanagement.service.StaffOffboardingService;
+import com.staffmanagement.service.StaffSearchService;
 import com.staffmanagement.service.StaffService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -15,40 +26,62 @@ import java.util.List;
 @RequiredArgsConstructor
 public class StaffController {
     private final StaffService staffService;
+    private final StaffSearchService staffSearchService;
+    private final StaffImportService staffImportService;
+    private final StaffOffboardingService staffOffboardingService;
 
     @GetMapping
-    public ResponseEntity<List<Staff>> getAllStaff() {
+    public ResponseEntity<List<StaffResponse>> getAllStaff() {
         return ResponseEntity.ok(staffService.getAllStaff());
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<Staff>> getActiveStaff() {
+    public ResponseEntity<List<StaffResponse>> getActiveStaff() {
         return ResponseEntity.ok(staffService.getActiveStaff());
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<StaffSearchResult> searchStaff(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeInactive) {
+        return ResponseEntity.ok(staffSearchService.search(q, includeInactive, page, size));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Staff> getStaffById(@PathVariable Long id) {
-        return ResponseEntity.ok(staffService.getStaffById(id));
+    public ResponseEntity<StaffResponse> getStaffById(@PathVariable Long id) {
+        return ResponseEntity.ok(StaffResponse.from(staffService.getStaffById(id)));
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<Staff> getStaffByEmail(@PathVariable String email) {
-        return ResponseEntity.ok(staffService.getStaffByEmail(email));
+    public ResponseEntity<StaffResponse> getStaffByEmail(@PathVariable String email) {
+        return ResponseEntity.ok(StaffResponse.from(staffService.getStaffByEmail(email)));
     }
 
     @GetMapping("/department/{department}")
-    public ResponseEntity<List<Staff>> getStaffByDepartment(@PathVariable String department) {
+    public ResponseEntity<List<StaffResponse>> getStaffByDepartment(@PathVariable String department) {
         return ResponseEntity.ok(staffService.getStaffByDepartment(department));
     }
 
     @PostMapping
-    public ResponseEntity<Staff> createStaff(@Valid @RequestBody Staff staff) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(staffService.createStaff(staff));
+    public ResponseEntity<StaffResponse> createStaff(@Valid @RequestBody Staff staff) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(StaffResponse.from(staffService.createStaff(staff)));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StaffImportResult> importStaff(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "ALL_OR_NOTHING") StaffImportResult.Mode mode) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            StaffImportResult result = staffImportService.importStaff(inputStream, file.getOriginalFilename(), mode);
+            return ResponseEntity.status(result.isCommitted() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(result);
+        }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Staff> updateStaff(@PathVariable Long id, @Valid @RequestBody Staff staff) {
-        return ResponseEntity.ok(staffService.updateStaff(id, staff));
+    public ResponseEntity<StaffResponse> updateStaff(@PathVariable Long id, @Valid @RequestBody Staff staff) {
+        return ResponseEntity.ok(StaffResponse.from(staffService.updateStaff(id, staff)));
     }
 
     @DeleteMapping("/{id}")
@@ -57,6 +90,13 @@ public class StaffController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{id}/offboard")
+    public ResponseEntity<StaffOffboardingResult> offboardStaff(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "true") boolean archive) {
+        return ResponseEntity.ok(staffOffboardingService.offboard(id, archive));
+    }
+
     @PutMapping("/{id}/deactivate")
     public ResponseEntity<Void> deactivateStaff(@PathVariable Long id) {
         staffService.deactivateStaff(id);
@@ -0,0 +1,21 @@
+package com.staffmanagement.controller;
+
+import com.staffmanagement.dto.WarmupReport;
+import com.staffmanagement.service.WarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/warmup")
+@RequiredArgsConstructor
+public class WarmupController {
+    private final WarmupService warmupService;
+
+    @GetMapping
+    public ResponseEntity<WarmupReport> getReport() {
+        return ResponseEntity.ok(warmupService.getReport());
+    }
+}
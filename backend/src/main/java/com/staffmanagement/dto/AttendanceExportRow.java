@@ -0,0 +1,28 @@
+package com.staffmanagement.dto;
+
+import com.staffmanagement.model.AttendanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read projection of an attendance record joined with its staff member, used by exports
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceExportRow {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private LocalDate date;
+    private LocalDateTime clockInTime;
+    private LocalDateTime clockOutTime;
+    private AttendanceStatus status;
+    private Long totalWorkMinutes;
+    private Long overtimeMinutes;
+    private Boolean approved;
+}
@@ -0,0 +1,50 @@
+package com.staffmanagement.dto;
+
+import com.staffmanagement.model.AttendanceRecord;
+import com.staffmanagement.model.AttendanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceResponse {
+    private Long id;
+    private StaffSummary staff;
+    private LocalDate date;
+    private LocalDateTime clockInTime;
+    private LocalDateTime clockOutTime;
+    private LocalDateTime breakStartTime;
+    private LocalDateTime breakEndTime;
+    private AttendanceStatus status;
+    private Long totalWorkMinutes;
+    private Long overtimeMinutes;
+    private Long breakMinutes;
+    private String clockInLocation;
+    private String clockOutLocation;
+    private String clockInIpAddress;
+    private String clockOutIpAddress;
+    private String notes;
+    private Boolean approved;
+    private LocalDateTime approvedAt;
+    private String approvedBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    /**
+     * Map an attendance record whose staff member has been fetched with it
+     */
+    public static AttendanceResponse from(AttendanceRecord record) {
+        return new AttendanceResponse(record.getId(), StaffSummary.from(record.getStaff()), record.getDate(),
+                record.getClockInTime(), record.getClockOutTime(), record.getBreakStartTime(),
+                record.getBreakEndTime(), record.getStatus(), record.getTotalWorkMinutes(),
+                record.getOvertimeMinutes(), record.getBreakMinutes(), record.getClockInLocation(),
+                record.getClockOutLocation(), record.getClockInIpAddress(), record.getClockOutIpAddress(),
+                record.getNotes(), record.getApproved(), record.getApprovedAt(), record.getApprovedBy(),
+                record.getCreatedAt(), record.getUpdatedAt());
+    }
+}
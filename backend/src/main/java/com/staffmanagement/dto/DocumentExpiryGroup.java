@@ -0,0 +1,17 @@
+package com.staffmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentExpiryGroup {
+    private LocalDate expiresAt;
+    private long daysLeft;
+    private List<DocumentResponse> documents;
+}
@@ -0,0 +1,42 @@
+package com.staffmanagement.dto;
+
+import com.staffmanagement.model.Document;
+import com.staffmanagement.model.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentResponse {
+    private Long id;
+    private StaffSummary staff;
+    private String documentName;
+    private DocumentType documentType;
+    private String fileName;
+    private String fileUrl;
+    private Long fileSize;
+    private String contentHash;
+    private String contentType;
+    private LocalDateTime uploadDate;
+    private String uploadedBy;
+    private String notes;
+    private LocalDate expiresAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    /**
+     * Map a document whose staff member has been fetched with it
+     */
+    public static DocumentResponse from(Document document) {
+        return new DocumentResponse(document.getId(), StaffSummary.from(document.getStaff()),
+                document.getDocumentName(), document.getDocumentType(), document.getFileName(),
+                document.getFileUrl(), document.getFileSize(), document.getContentHash(), document.getContentType(),
+                document.getUploadDate(), document.getUploadedBy(), document.getNotes(), document.getExpiresAt(),
+                document.getCreatedAt(), document.getUpdatedAt());
+    }
+}
@@ -0,0 +1,32 @@
+package com.staffmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSearchResult {
+    private String query;
+    private long total;
+    private int page;
+    private int size;
+    private List<Hit> hits;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+        private Long id;
+        private Long staffId;
+        private String documentName;
+        private String documentType;
+        private String fileName;
+        private LocalDateTime uploadDate;
+        private float score;
+    }
+}
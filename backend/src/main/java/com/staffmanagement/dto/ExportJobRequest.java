@@ -0,0 +1,31 @@
+package com.staffmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobRequest {
+    private Type type;
+    private Format format = Format.CSV;
+
+    // Optional filters (attendance: staffId + date range, leave requests: staffId)
+    private Long staffId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    public enum Type {
+        STAFF,
+        ATTENDANCE,
+        LEAVE_REQUESTS
+    }
+
+    public enum Format {
+        CSV,
+        XLSX
+    }
+}
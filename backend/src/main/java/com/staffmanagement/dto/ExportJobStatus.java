@@ -0,0 +1,33 @@
+package com.staffmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobStatus {
+    private Long id;
+    private ExportJobRequest.Type type;
+    private ExportJobRequest.Format format;
+    private State state;
+    private long bytesWritten;   // Uncompressed bytes rendered so far
+    private Long fileSize;       // Size of the spooled file once completed
+    private String fileName;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime expiresAt;
+    private String errorMessage;
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,29 @@
+package com.staffmanagement.dto;
+
+import com.staffmanagement.model.LeaveStatus;
+import com.staffmanagement.model.LeaveType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Flat read projection of a leave request joined with its staff member, used by exports
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestExportRow {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private LeaveType leaveType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer daysRequested;
+    private LeaveStatus status;
+    private LocalDate requestDate;
+    private LocalDate approvalDate;
+    private String rejectionReason;
+}
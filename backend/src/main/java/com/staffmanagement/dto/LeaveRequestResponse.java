@@ -0,0 +1,41 @@
+package com.staffmanagement.dto;
+
+import com.staffmanagement.model.LeaveRequest;
+import com.staffmanagement.model.LeaveStatus;
+import com.staffmanagement.model.LeaveType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestResponse {
+    private Long id;
+    private StaffSummary staff;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LeaveType leaveType;
+    private LeaveStatus status;
+    private String reason;
+    private String rejectionReason;
+    private Integer daysRequested;
+    private LocalDate requestDate;
+    private LocalDate approvalDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    /**
+     * Map a leave request whose staff member has been fetched with it
+     */
+    public static LeaveRequestResponse from(LeaveRequest leaveRequest) {
+        return new LeaveRequestResponse(leaveRequest.getId(), StaffSummary.from(leaveRequest.getStaff()),
+                leaveRequest.getStartDate(), leaveRequest.getEndDate(), leaveRequest.getLeaveType(),
+                leaveRequest.getStatus(), leaveRequest.getReason(), leaveRequest.getRejectionReason(),
+                leaveRequest.getDaysRequested(), leaveRequest.getRequestDate(), leaveRequest.getApprovalDate(),
+                leaveRequest.getCreatedAt(), leaveRequest.getUpdatedAt());
+    }
+}
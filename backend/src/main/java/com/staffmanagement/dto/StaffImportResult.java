@@ -0,0 +1,35 @@
+package com.staffmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffImportResult {
+    private Mode mode;
+    private int totalRows;
+    private int imported;
+    private int rejected;
+    private boolean committed;   // False when an all-or-nothing import was rolled back
+    private long durationMillis;
+    private List<RowError> errors;
+
+    public enum Mode {
+        ALL_OR_NOTHING,
+        BEST_EFFORT
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;             // Line in the file, the header being row 1
+        private String email;
+        private String field;
+        private String message;
+    }
+}
@@ -0,0 +1,17 @@
+package com.staffmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffOffboardingResult {
+    private Long staffId;
+    private boolean archived;        // Rows were copied to the *_archive tables before deletion
+    private int attendanceRecords;
+    private int leaveRequests;
+    private int documents;
+    private long durationMillis;
+}
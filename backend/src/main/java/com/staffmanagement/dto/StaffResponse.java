@@ -0,0 +1,45 @@
+package com.staffmanagement.dto;
+
+import com.staffmanagement.model.Staff;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Staff as returned by the API: the entity's columns without its leave request and document collections.
+ * List endpoints select it directly with a constructor expression, so no entities are loaded for them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffResponse {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String address;
+    private String position;
+    private String department;
+    private LocalDate hireDate;
+    private LocalDate dateOfBirth;
+    private Integer annualLeaveDays;
+    private Integer usedLeaveDays;
+    private Integer remainingLeaveDays;
+    private Integer carriedOverLeaveDays;
+    private Integer lastCarryoverYear;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static StaffResponse from(Staff staff) {
+        return new StaffResponse(staff.getId(), staff.getFirstName(), staff.getLastName(), staff.getEmail(),
+                staff.getPhone(), staff.getAddress(), staff.getPosition(), staff.getDepartment(),
+                staff.getHireDate(), staff.getDateOfBirth(), staff.getAnnualLeaveDays(), staff.getUsedLeaveDays(),
+                staff.getRemainingLeaveDays(), staff.getCarriedOverLeaveDays(), staff.getLastCarryoverYear(),
+                staff.getActive(), staff.getCreatedAt(), staff.getUpdatedAt());
+    }
+}
@@ -0,0 +1,32 @@
+package com.staffmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffSearchResult {
+    private String query;
+    private int total;
+    private int page;
+    private int size;
+    private List<Hit> hits;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+        private Long id;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String department;
+        private String position;
+        private Boolean active;
+        private int score;
+    }
+}
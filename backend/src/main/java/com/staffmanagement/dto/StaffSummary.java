@@ -0,0 +1,29 @@
+package com.staffmanagement.dto;
+
+import com.staffmanagement.model.Staff;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The few staff fields shown next to an attendance record, leave request or document
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffSummary {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String department;
+    private String position;
+
+    public static StaffSummary from(Staff staff) {
+        if (staff == null) {
+            return null;
+        }
+        return new StaffSummary(staff.getId(), staff.getFirstName(), staff.getLastName(), staff.getEmail(),
+                staff.getDepartment(), staff.getPosition());
+    }
+}
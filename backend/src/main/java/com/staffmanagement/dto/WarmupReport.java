@@ -0,0 +1,28 @@
+package com.staffmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarmupReport {
+    private boolean enabled;
+    private boolean completed;
+    private long budgetMillis;
+    private long durationMillis;
+    private List<Step> steps;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Step {
+        private String name;
+        private String status;
+        private long durationMillis;
+        private String error;
+    }
+}
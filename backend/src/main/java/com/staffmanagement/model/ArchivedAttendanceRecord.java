@@ -0,0 +1,55 @@
+package com.staffmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Copy of an offboarded employee's attendance record, kept under its original id
+ */
+@Entity
+@Table(name = "attendance_records_archive", indexes = @Index(name = "idx_attendance_records_archive_staff_id", columnList = "staff_id"))
+@Data
+@NoArgsConstructor
+public class ArchivedAttendanceRecord {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long staffId;
+
+    private LocalDate date;
+
+    private LocalDateTime clockInTime;
+    private LocalDateTime clockOutTime;
+
+    private LocalDateTime breakStartTime;
+    private LocalDateTime breakEndTime;
+
+    @Enumerated(EnumType.STRING)
+    private AttendanceStatus status;
+
+    private Long totalWorkMinutes;
+    private Long overtimeMinutes;
+    private Long breakMinutes;
+
+    private String clockInLocation;
+    private String clockOutLocation;
+    private String clockInIpAddress;
+    private String clockOutIpAddress;
+
+    private String notes;
+
+    private Boolean approved;
+    private LocalDateTime approvedAt;
+    private String approvedBy;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
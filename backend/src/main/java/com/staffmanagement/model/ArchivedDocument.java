@@ -0,0 +1,48 @@
+package com.staffmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Copy of an offboarded employee's document record, kept under its original id
+ */
+@Entity
+@Table(name = "documents_archive", indexes = @Index(name = "idx_documents_archive_staff_id", columnList = "staff_id"))
+@Data
+@NoArgsConstructor
+public class ArchivedDocument {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long staffId;
+
+    private String documentName;
+
+    @Enumerated(EnumType.STRING)
+    private DocumentType documentType;
+
+    private String fileName;
+    private String fileUrl;
+    private Long fileSize;
+
+    @Column(length = 64)
+    private String contentHash;
+    private String contentType;
+
+    private LocalDateTime uploadDate;
+    private String uploadedBy;
+
+    private String notes;
+    private LocalDate expiresAt;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
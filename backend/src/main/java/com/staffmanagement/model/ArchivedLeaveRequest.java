@@ -0,0 +1,46 @@
+package com.staffmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Copy of an offboarded employee's leave request, kept under its original id
+ */
+@Entity
+@Table(name = "leave_requests_archive", indexes = @Index(name = "idx_leave_requests_archive_staff_id", columnList = "staff_id"))
+@Data
+@NoArgsConstructor
+public class ArchivedLeaveRequest {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long staffId;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    private LeaveType leaveType;
+
+    @Enumerated(EnumType.STRING)
+    private LeaveStatus status;
+
+    private String reason;
+    private String rejectionReason;
+
+    private Integer daysRequested;
+
+    private LocalDate requestDate;
+    private LocalDate approvalDate;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
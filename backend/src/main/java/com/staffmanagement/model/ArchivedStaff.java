@@ -0,0 +1,45 @@
+package com.staffmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Copy of an offboarded staff row, kept under its original id
+ */
+@Entity
+@Table(name = "staff_archive")
+@Data
+@NoArgsConstructor
+public class ArchivedStaff {
+    @Id
+    private Long id;
+
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String address;
+    private String position;
+    private String department;
+
+    private LocalDate hireDate;
+    private LocalDate dateOfBirth;
+
+    private Integer annualLeaveDays;
+    private Integer usedLeaveDays;
+    private Integer remainingLeaveDays;
+    private Integer carriedOverLeaveDays;
+    private Integer lastCarryoverYear;
+
+    private Boolean active;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -3,22 +3,32 @@ package com.staffmanagement.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attendance_records")
+@Table(name = "attendance_records", indexes = {
+        @Index(name = "idx_attendance_records_date", columnList = "date"),
+        @Index(name = "idx_attendance_records_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AttendanceRecord {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_records_seq")
+    @SequenceGenerator(name = "attendance_records_seq", sequenceName = "attendance_records_seq", allocationSize = 50)
     private Long id;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "staff_id", nullable = false)
     private Staff staff;
@@ -60,6 +70,14 @@ public class AttendanceRecord {
     private LocalDateTime approvedAt;
     private String approvedBy;
 
+    // Değişiklik takibi (delta export için)
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
     @PrePersist
     @PreUpdate
     public void calculateTotalWork() {
@@ -0,0 +1,8 @@
+package com.staffmanagement.model;
+
+public enum ChangeEntityType {
+    STAFF,
+    ATTENDANCE_RECORD,
+    LEAVE_REQUEST,
+    DOCUMENT
+}
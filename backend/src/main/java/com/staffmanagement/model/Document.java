@@ -4,20 +4,32 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "documents")
+@Table(name = "documents", indexes = {
+        @Index(name = "idx_documents_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_documents_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_documents_expires_at", columnList = "expires_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Document {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documents_seq")
+    @SequenceGenerator(name = "documents_seq", sequenceName = "documents_seq", allocationSize = 50)
     private Long id;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "staff_id", nullable = false)
     private Staff staff;
@@ -32,8 +44,24 @@ public class Document {
     private String fileUrl;
     private Long fileSize;
 
+    // Stored content, if uploaded: SHA-256 of the bytes, which is also the blob's name in the store
+    @Column(length = 64)
+    private String contentHash;
+    private String contentType;
+
     private LocalDateTime uploadDate = LocalDateTime.now();
     private String uploadedBy;
 
     private String notes;
+
+    // First day the document is no longer valid (ID cards, work permits, fixed-term contracts); null if it does not expire
+    private LocalDate expiresAt;
+
+    // Change tracking for delta exports
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
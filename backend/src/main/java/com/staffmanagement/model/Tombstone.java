@@ -0,0 +1,39 @@
+package com.staffmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records a deleted row so delta exports can tell downstream systems to remove it
+ */
+@Entity
+@Table(name = "tombstones", indexes = @Index(name = "idx_tombstones_type_deleted_at", columnList = "entity_type, deleted_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tombstones_seq")
+    @SequenceGenerator(name = "tombstones_seq", sequenceName = "tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @CreationTimestamp
+    private LocalDateTime deletedAt;
+
+    public Tombstone(ChangeEntityType entityType, Long entityId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+    }
+}
@@ -1,36 +1,58 @@
 package com.staffmanagement.repository;
 
+import com.staffmanagement.dto.AttendanceExportRow;
 import com.staffmanagement.model.AttendanceRecord;
 import com.staffmanagement.model.AttendanceStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<AttendanceRecord, Long> {
 
+    // List lookups fetch the staff member in the same query so serializing the result stays one SELECT
+    @Override
+    @EntityGraph(attributePaths = "staff")
+    List<AttendanceRecord> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "staff")
+    Optional<AttendanceRecord> findById(Long id);
+
+    @EntityGraph(attributePaths = "staff")
     List<AttendanceRecord> findByStaffId(Long staffId);
 
+    @EntityGraph(attributePaths = "staff")
     List<AttendanceRecord> findByDate(LocalDate date);
 
+    @EntityGraph(attributePaths = "staff")
     List<AttendanceRecord> findByStaffIdAndDateBetween(
         Long staffId,
         LocalDate startDate,
         LocalDate endDate
     );
 
+    @EntityGraph(attributePaths = "staff")
     Optional<AttendanceRecord> findByStaffIdAndDate(Long staffId, LocalDate date);
 
+    @EntityGraph(attributePaths = "staff")
     List<AttendanceRecord> findByStatus(AttendanceStatus status);
 
+    @EntityGraph(attributePaths = "staff")
     List<AttendanceRecord> findByApprovedFalse();
 
-    @Query("SELECT a FROM AttendanceRecord a WHERE a.staff.id = :staffId " +
+    @Query("SELECT a FROM AttendanceRecord a JOIN FETCH a.staff WHERE a.staff.id = :staffId " +
            "AND YEAR(a.date) = :year AND MONTH(a.date) = :month")
     List<AttendanceRecord> findByStaffIdAndYearAndMonth(
         @Param("staffId") Long staffId,
@@ -38,7 +60,7 @@ public interface AttendanceRepository extends JpaRepository<AttendanceRecord, Lo
         @Param("month") int month
     );
 
-    @Query("SELECT a FROM AttendanceRecord a WHERE YEAR(a.date) = :year AND MONTH(a.date) = :month")
+    @Query("SELECT a FROM AttendanceRecord a JOIN FETCH a.staff WHERE YEAR(a.date) = :year AND MONTH(a.date) = :month")
     List<AttendanceRecord> findByYearAndMonth(
         @Param("year") int year,
         @Param("month") int month
@@ -59,4 +81,44 @@ public interface AttendanceRepository extends JpaRepository<AttendanceRecord, Lo
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
+
+    // Export projections: one joined SELECT streamed row by row; must be consumed inside a transaction
+    String EXPORT_ROW_SELECT = "SELECT new com.staffmanagement.dto.AttendanceExportRow(" +
+           "a.id, s.firstName, s.lastName, a.date, a.clockInTime, a.clockOutTime, a.status, " +
+           "a.totalWorkMinutes, a.overtimeMinutes, a.approved) " +
+           "FROM AttendanceRecord a JOIN a.staff s ";
+
+    @Query(EXPORT_ROW_SELECT + "ORDER BY a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<AttendanceExportRow> streamExportRows();
+
+    @Query(EXPORT_ROW_SELECT + "WHERE s.id = :staffId ORDER BY a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<AttendanceExportRow> streamExportRowsByStaffId(@Param("staffId") Long staffId);
+
+    @Query(EXPORT_ROW_SELECT + "WHERE s.id = :staffId AND a.date BETWEEN :startDate AND :endDate ORDER BY a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<AttendanceExportRow> streamExportRowsByStaffIdAndDateBetween(
+        @Param("staffId") Long staffId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    @Query(EXPORT_ROW_SELECT + "WHERE a.date BETWEEN :startDate AND :endDate ORDER BY a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<AttendanceExportRow> streamExportRowsByDateBetween(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    // Delta export: rows changed in the (since, until] window; "until" is the watermark handed back to the client
+    @Query("SELECT MAX(a.updatedAt) FROM AttendanceRecord a WHERE a.updatedAt > :since")
+    LocalDateTime findMaxUpdatedAtAfter(@Param("since") LocalDateTime since);
+
+    @Query(EXPORT_ROW_SELECT + "WHERE a.updatedAt > :since AND a.updatedAt <= :until ORDER BY a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<AttendanceExportRow> streamExportRowsUpdatedBetween(
+        @Param("since") LocalDateTime since,
+        @Param("until") LocalDateTime until
+    );
 }
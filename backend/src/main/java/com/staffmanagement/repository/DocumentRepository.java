@@ -2,14 +2,51 @@ package com.staffmanagement.repository;
 
 import com.staffmanagement.model.Document;
 import com.staffmanagement.model.DocumentType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
+    @Override
+    @EntityGraph(attributePaths = "staff")
+    List<Document> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "staff")
+    Optional<Document> findById(Long id);
+
+    @EntityGraph(attributePaths = "staff")
     List<Document> findByStaffId(Long staffId);
+
+    @EntityGraph(attributePaths = "staff")
     List<Document> findByDocumentType(DocumentType documentType);
+
     List<Document> findByStaffIdIn(List<Long> staffIds);
+
+    // Expiry tracking: all expiring documents once on startup, date ranges (idx_documents_expires_at) on request
+    List<Document> findByExpiresAtIsNotNull();
+
+    @EntityGraph(attributePaths = "staff")
+    List<Document> findByExpiresAtBetweenOrderByExpiresAtAsc(LocalDate from, LocalDate to);
+
+    @EntityGraph(attributePaths = "staff")
+    List<Document> findByExpiresAtLessThanEqualOrderByExpiresAtAsc(LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(d.fileSize), 0) FROM Document d WHERE d.staff.id = :staffId AND d.contentHash IS NOT NULL")
+    long sumStoredBytesByStaffId(@Param("staffId") Long staffId);
+
+    // Blobs still referenced by live or archived documents; everything else in the store can be swept
+    @Query("SELECT DISTINCT d.contentHash FROM Document d WHERE d.contentHash IS NOT NULL")
+    Set<String> findContentHashes();
+
+    @Query("SELECT DISTINCT a.contentHash FROM ArchivedDocument a WHERE a.contentHash IS NOT NULL")
+    Set<String> findArchivedContentHashes();
 }
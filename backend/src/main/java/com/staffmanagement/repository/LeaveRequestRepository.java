@@ -1,15 +1,78 @@
 package com.staffmanagement.repository;
 
+import com.staffmanagement.dto.LeaveRequestExportRow;
 import com.staffmanagement.model.LeaveRequest;
 import com.staffmanagement.model.LeaveStatus;
+import com.staffmanagement.model.LeaveType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
+    @Override
+    @EntityGraph(attributePaths = "staff")
+    List<LeaveRequest> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "staff")
+    Optional<LeaveRequest> findById(Long id);
+
+    @EntityGraph(attributePaths = "staff")
     List<LeaveRequest> findByStaffId(Long staffId);
+
+    @EntityGraph(attributePaths = "staff")
     List<LeaveRequest> findByStatus(LeaveStatus status);
+
+    @EntityGraph(attributePaths = "staff")
     List<LeaveRequest> findByStaffIdAndStatus(Long staffId, LeaveStatus status);
+
+    // Bulk certificates: leaves overlapping [from, to], staff fetched in the same query
+    @Query("SELECT l FROM LeaveRequest l JOIN FETCH l.staff s " +
+           "WHERE l.status = :status AND l.startDate <= :to AND l.endDate >= :from " +
+           "AND (:department IS NULL OR s.department = :department) " +
+           "AND (:leaveType IS NULL OR l.leaveType = :leaveType) " +
+           "ORDER BY l.startDate, l.id")
+    List<LeaveRequest> findForCertificates(
+        @Param("status") LeaveStatus status,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("department") String department,
+        @Param("leaveType") LeaveType leaveType
+    );
+
+    String EXPORT_ROW_SELECT = "SELECT new com.staffmanagement.dto.LeaveRequestExportRow(" +
+           "l.id, s.firstName, s.lastName, l.leaveType, l.startDate, l.endDate, l.daysRequested, " +
+           "l.status, l.requestDate, l.approvalDate, l.rejectionReason) " +
+           "FROM LeaveRequest l JOIN l.staff s ";
+
+    @Query(EXPORT_ROW_SELECT + "ORDER BY l.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<LeaveRequestExportRow> streamExportRows();
+
+    @Query(EXPORT_ROW_SELECT + "WHERE s.id = :staffId ORDER BY l.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<LeaveRequestExportRow> streamExportRowsByStaffId(@Param("staffId") Long staffId);
+
+    // Delta export: rows changed in the (since, until] window; "until" is the watermark handed back to the client
+    @Query("SELECT MAX(l.updatedAt) FROM LeaveRequest l WHERE l.updatedAt > :since")
+    LocalDateTime findMaxUpdatedAtAfter(@Param("since") LocalDateTime since);
+
+    @Query(EXPORT_ROW_SELECT + "WHERE l.updatedAt > :since AND l.updatedAt <= :until ORDER BY l.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<LeaveRequestExportRow> streamExportRowsUpdatedBetween(
+        @Param("since") LocalDateTime since,
+        @Param("until") LocalDateTime until
+    );
 }
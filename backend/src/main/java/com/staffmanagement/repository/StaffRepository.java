@@ -1,16 +1,70 @@
 package com.staffmanagement.repository;
 
+import com.staffmanagement.dto.StaffResponse;
 import com.staffmanagement.model.Staff;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StaffRepository extends JpaRepository<Staff, Long> {
-    Optional<Staff> findByEmail(String email);
-    List<Staff> findByActiveTrue();
-    List<Staff> findByDepartment(String department);
+    // Hot lookups, served from the query cache; results are invalidated by any write to the staff table.
+    // Written as JPQL rather than derived so Hibernate reuses the translated SQL instead of rebuilding it per call
+    @Query("SELECT s FROM Staff s WHERE s.email = :email")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Staff.QUERY_CACHE_REGION)
+    })
+    Optional<Staff> findByEmail(@Param("email") String email);
+
     List<Staff> findByPosition(String position);
+
+    // Serializes writes that check a per-staff total, such as the document storage quota
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Staff s WHERE s.id = :id")
+    Optional<Staff> findByIdForUpdate(@Param("id") Long id);
+
+    // API read model: selected straight into DTOs, so listing staff loads no entities
+    String RESPONSE_SELECT = "SELECT new com.staffmanagement.dto.StaffResponse(" +
+            "s.id, s.firstName, s.lastName, s.email, s.phone, s.address, s.position, s.department, " +
+            "s.hireDate, s.dateOfBirth, s.annualLeaveDays, s.usedLeaveDays, s.remainingLeaveDays, " +
+            "s.carriedOverLeaveDays, s.lastCarryoverYear, s.active, s.createdAt, s.updatedAt) " +
+            "FROM Staff s ";
+
+    @Query(RESPONSE_SELECT + "ORDER BY s.id")
+    List<StaffResponse> findAllResponses();
+
+    // The query cache keeps the selected values, so a hit builds DTOs without hydrating any entity
+    @Query(RESPONSE_SELECT + "WHERE s.active = true ORDER BY s.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Staff.QUERY_CACHE_REGION)
+    })
+    List<StaffResponse> findActiveResponses();
+
+    @Query(RESPONSE_SELECT + "WHERE s.department = :department ORDER BY s.id")
+    List<StaffResponse> findResponsesByDepartment(@Param("department") String department);
+
+    @Query("SELECT s.email FROM Staff s WHERE s.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT MAX(s.updatedAt) FROM Staff s WHERE s.updatedAt > :since")
+    LocalDateTime findMaxUpdatedAtAfter(@Param("since") LocalDateTime since);
+
+    @Query("SELECT s FROM Staff s WHERE s.updatedAt > :since AND s.updatedAt <= :until ORDER BY s.id")
+    List<Staff> findUpdatedBetween(
+        @Param("since") LocalDateTime since,
+        @Param("until") LocalDateTime until
+    );
 }
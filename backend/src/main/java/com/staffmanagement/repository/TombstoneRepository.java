@@ -0,0 +1,28 @@
+package com.staffmanagement.repository;
+
+import com.staffmanagement.model.ChangeEntityType;
+import com.staffmanagement.model.Tombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    @Query("SELECT MAX(t.deletedAt) FROM Tombstone t WHERE t.entityType = :type AND t.deletedAt > :since")
+    LocalDateTime findMaxDeletedAtAfter(
+        @Param("type") ChangeEntityType type,
+        @Param("since") LocalDateTime since
+    );
+
+    @Query("SELECT t FROM Tombstone t WHERE t.entityType = :type " +
+           "AND t.deletedAt > :since AND t.deletedAt <= :until ORDER BY t.deletedAt, t.id")
+    List<Tombstone> findDeletedBetween(
+        @Param("type") ChangeEntityType type,
+        @Param("since") LocalDateTime since,
+        @Param("until") LocalDateTime until
+    );
+}
@@ -1,11 +1,15 @@
 package com.staffmanagement.service;
 
+import com.staffmanagement.dto.AttendanceResponse;
 import com.staffmanagement.exception.BusinessException;
 import com.staffmanagement.exception.ResourceNotFoundException;
 import com.staffmanagement.model.AttendanceRecord;
 import com.staffmanagement.model.AttendanceStatus;
+import com.staffmanagement.model.ChangeEntityType;
 import com.staffmanagement.model.Staff;
+import com.staffmanagement.model.Tombstone;
 import com.staffmanagement.repository.AttendanceRepository;
+import com.staffmanagement.repository.TombstoneRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,34 +31,42 @@ public class AttendanceService {
     private static final Logger logger = LoggerFactory.getLogger(AttendanceService.class);
 
     private final AttendanceRepository attendanceRepository;
+    private final TombstoneRepository tombstoneRepository;
     private final StaffService staffService;
+    private final BusinessMetrics businessMetrics;
 
+    @Transactional(readOnly = true)
     public List<AttendanceRecord> getAllAttendance() {
         logger.debug("Fetching all attendance records");
         return attendanceRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public AttendanceRecord getAttendanceById(Long id) {
         logger.debug("Fetching attendance record with id: {}", id);
         return attendanceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("AttendanceRecord", id));
     }
 
+    @Transactional(readOnly = true)
     public List<AttendanceRecord> getAttendanceByStaffId(Long staffId) {
         logger.debug("Fetching attendance records for staff id: {}", staffId);
         return attendanceRepository.findByStaffId(staffId);
     }
 
+    @Transactional(readOnly = true)
     public List<AttendanceRecord> getAttendanceByDate(LocalDate date) {
         logger.debug("Fetching attendance records for date: {}", date);
         return attendanceRepository.findByDate(date);
     }
 
+    @Transactional(readOnly = true)
     public List<AttendanceRecord> getAttendanceByStaffIdAndDateRange(
             Long staffId, LocalDate startDate, LocalDate endDate) {
         return attendanceRepository.findByStaffIdAndDateBetween(staffId, startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
     public Optional<AttendanceRecord> getTodayAttendance(Long staffId) {
         return attendanceRepository.findByStaffIdAndDate(staffId, LocalDate.now());
     }
@@ -81,6 +93,7 @@ public class AttendanceService {
 
         AttendanceRecord saved = attendanceRepository.save(record);
         logger.info("Staff {} clocked in successfully at {}", staffId, saved.getClockInTime());
+        businessMetrics.clockedIn();
         return saved;
     }
 
@@ -101,6 +114,7 @@ public class AttendanceService {
 
         AttendanceRecord saved = attendanceRepository.save(record);
         logger.info("Staff {} clocked out successfully at {}", staffId, saved.getClockOutTime());
+        businessMetrics.clockedOut();
         return saved;
     }
 
@@ -118,6 +132,7 @@ public class AttendanceService {
         record.setBreakStartTime(LocalDateTime.now());
         AttendanceRecord saved = attendanceRepository.save(record);
         logger.info("Staff {} started break at {}", staffId, saved.getBreakStartTime());
+        businessMetrics.breakStarted();
         return saved;
     }
 
@@ -140,6 +155,7 @@ public class AttendanceService {
         record.setBreakEndTime(LocalDateTime.now());
         AttendanceRecord saved = attendanceRepository.save(record);
         logger.info("Staff {} ended break at {}", staffId, saved.getBreakEndTime());
+        businessMetrics.breakEnded();
         return saved;
     }
 
@@ -166,6 +182,7 @@ public class AttendanceService {
         record.setApprovedBy(approver);
         AttendanceRecord saved = attendanceRepository.save(record);
         logger.info("Attendance record approved successfully");
+        businessMetrics.attendanceApproved();
         return saved;
     }
 
@@ -173,9 +190,11 @@ public class AttendanceService {
         logger.info("Deleting attendance record with id: {}", id);
         AttendanceRecord record = getAttendanceById(id);
         attendanceRepository.delete(record);
+        tombstoneRepository.save(new Tombstone(ChangeEntityType.ATTENDANCE_RECORD, id));
         logger.info("Attendance record deleted successfully");
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getMonthlyReport(Long staffId, int year, int month) {
         logger.debug("Generating monthly report for staff {} - {}/{}", staffId, year, month);
         List<AttendanceRecord> records = attendanceRepository
@@ -212,12 +231,13 @@ public class AttendanceService {
         report.put("absentDays", absentDays);
         report.put("lateDays", lateDays);
         report.put("workingDays", workingDays);
-        report.put("records", records);
+        report.put("records", records.stream().map(AttendanceResponse::from).toList());
 
         logger.debug("Monthly report generated: {} present days, {} absent days", presentDays, absentDays);
         return report;
     }
 
+    @Transactional(readOnly = true)
     public List<AttendanceRecord> getPendingApprovals() {
         logger.debug("Fetching pending attendance approvals");
         return attendanceRepository.findByApprovedFalse();
@@ -0,0 +1,138 @@
+package com.staffmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.staffmanagement.util.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters for business events, next to the request, service and JDBC timings recorded for every
+ * call: clock events, approval decisions, exports and leave certificates. Fixed meters are
+ * registered once; exports look theirs up per type and format, which the registry answers from a map.
+ * Events are counted once the transaction they happen in commits, so a rolled-back approval or a
+ * failed export is not counted.
+ */
+@Component
+public class BusinessMetrics {
+    private static final ThreadLocal<Boolean> PAUSED = ThreadLocal.withInitial(() -> false);
+
+    private final MeterRegistry meterRegistry;
+    private final Counter clockIns;
+    private final Counter clockOuts;
+    private final Counter breakStarts;
+    private final Counter breakEnds;
+    private final Counter leaveApprovals;
+    private final Counter leaveRejections;
+    private final Counter attendanceApprovals;
+    private final Counter certificateRenders;
+    private final Counter bulkCertificateRenders;
+
+    public BusinessMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.clockIns = clockEvents("clock-in");
+        this.clockOuts = clockEvents("clock-out");
+        this.breakStarts = clockEvents("break-start");
+        this.breakEnds = clockEvents("break-end");
+        this.leaveApprovals = approvals("leave", "approved");
+        this.leaveRejections = approvals("leave", "rejected");
+        this.attendanceApprovals = approvals("attendance", "approved");
+        this.certificateRenders = certificateRenders("single");
+        this.bulkCertificateRenders = certificateRenders("bulk");
+    }
+
+    public void clockedIn() {
+        record(clockIns::increment);
+    }
+
+    public void clockedOut() {
+        record(clockOuts::increment);
+    }
+
+    public void breakStarted() {
+        record(breakStarts::increment);
+    }
+
+    public void breakEnded() {
+        record(breakEnds::increment);
+    }
+
+    public void leaveApproved() {
+        record(leaveApprovals::increment);
+    }
+
+    public void leaveRejected() {
+        record(leaveRejections::increment);
+    }
+
+    public void attendanceApproved() {
+        record(attendanceApprovals::increment);
+    }
+
+    /**
+     * @param type  staff, attendance, leave-requests or monthly-report
+     * @param format csv, csv-delta, xlsx or zip
+     */
+    public void exported(String type, String format, long rows) {
+        record(() -> {
+            meterRegistry.counter("exports", "type", type, "format", format).increment();
+            meterRegistry.counter("export.rows", "type", type, "format", format).increment(rows);
+        });
+    }
+
+    public void certificateRendered() {
+        record(certificateRenders::increment);
+    }
+
+    public void certificatesRendered(int count) {
+        record(() -> bulkCertificateRenders.increment(count));
+    }
+
+    /**
+     * Stop counting events on the current thread until {@link #resume()}, for calls that are not
+     * real business events such as the startup warm-up
+     */
+    public void pause() {
+        PAUSED.set(true);
+    }
+
+    public void resume() {
+        PAUSED.remove();
+    }
+
+    /**
+     * Publish the hits, misses, evictions and size of a cache built with {@code recordStats()}
+     */
+    public <K, V> Cache<K, V> monitor(Cache<K, V> cache, String name) {
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    private void record(Runnable increment) {
+        if (!PAUSED.get()) {
+            TransactionUtil.afterCommit(increment);
+        }
+    }
+
+    private Counter clockEvents(String event) {
+        return Counter.builder("attendance.clock.events")
+                .description("Clock-ins, clock-outs and breaks recorded")
+                .tag("event", event)
+                .register(meterRegistry);
+    }
+
+    private Counter approvals(String subject, String outcome) {
+        return Counter.builder("approvals")
+                .description("Approval decisions on leave requests and attendance records")
+                .tag("subject", subject)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter certificateRenders(String mode) {
+        return Counter.builder("certificates.renders")
+                .description("Leave certificates rendered from the template, one by one or in bulk ZIPs")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+}
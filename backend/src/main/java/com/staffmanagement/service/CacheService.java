@@ -0,0 +1,72 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.dto.CacheStatistics;
+import com.staffmanagement.model.Staff;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hit/miss statistics and manual eviction for the Hibernate second-level cache.
+ * Writes through JPA invalidate cached staff automatically; {@link #evictStaff()} is only
+ * needed after changes made outside Hibernate (plain JDBC, SQL run by hand).
+ */
+@Service
+public class CacheService {
+    private static final Logger logger = LoggerFactory.getLogger(CacheService.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    public CacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    public CacheStatistics getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheStatistics.Region> regions = new ArrayList<>();
+        if (sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            for (String name : statistics.getSecondLevelCacheRegionNames()) {
+                regions.add(toRegion(name, statistics.getCacheRegionStatistics(name)));
+            }
+        }
+
+        return new CacheStatistics(
+                statistics.isStatisticsEnabled() && sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount(),
+                statistics.getPrepareStatementCount(),
+                regions);
+    }
+
+    public void evictStaff() {
+        logger.info("Evicting cached staff entities and staff query results");
+        sessionFactory.getCache().evictEntityData(Staff.class);
+        sessionFactory.getCache().evictQueryRegion(Staff.QUERY_CACHE_REGION);
+    }
+
+    public void resetStatistics() {
+        sessionFactory.getStatistics().clear();
+    }
+
+    private static CacheStatistics.Region toRegion(String name, CacheRegionStatistics region) {
+        if (region == null) {
+            return new CacheStatistics.Region(name, 0, 0, 0, null, 0.0);
+        }
+        long lookups = region.getHitCount() + region.getMissCount();
+        // JCache providers do not report sizes; Hibernate signals that with a negative count
+        Long elements = region.getElementCountInMemory() >= 0 ? region.getElementCountInMemory() : null;
+        return new CacheStatistics.Region(name, region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                elements, lookups == 0 ? 0.0 : (double) region.getHitCount() / lookups);
+    }
+}
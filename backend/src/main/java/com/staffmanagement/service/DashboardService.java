@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class DashboardService {
     private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
 
@@ -95,6 +97,7 @@ public class DashboardService {
         for (Staff staff : allStaff) {
             List<Document> staffDocs = documentsByStaffId.getOrDefault(staff.getId(), Collections.emptyList());
             Set<DocumentType> uploadedTypes = staffDocs.stream()
+                    .filter(doc -> isValid(doc, today))
                     .map(Document::getDocumentType)
                     .collect(Collectors.toSet());
 
@@ -123,6 +126,7 @@ public class DashboardService {
 
     public List<DashboardStats.StaffDocumentStatus> getDocumentCompletionDetails() {
         logger.debug("Generating document completion details");
+        LocalDate today = LocalDate.now();
         List<Staff> allStaff = staffRepository.findAll();
         List<DocumentType> requiredDocTypes = Arrays.asList(
                 DocumentType.CONTRACT,
@@ -143,6 +147,7 @@ public class DashboardService {
                 .map(staff -> {
                     List<Document> staffDocs = documentsByStaffId.getOrDefault(staff.getId(), Collections.emptyList());
                     Set<DocumentType> uploadedTypes = staffDocs.stream()
+                            .filter(doc -> isValid(doc, today))
                             .map(Document::getDocumentType)
                             .collect(Collectors.toSet());
 
@@ -162,4 +167,11 @@ public class DashboardService {
                 .filter(status -> status.getMissingDocuments() > 0)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * An expired document counts as missing until a current one is uploaded
+     */
+    private static boolean isValid(Document document, LocalDate today) {
+        return document.getExpiresAt() == null || today.isBefore(document.getExpiresAt());
+    }
 }
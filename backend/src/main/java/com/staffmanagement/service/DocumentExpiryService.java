@@ -0,0 +1,221 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.dto.DocumentExpiryGroup;
+import com.staffmanagement.dto.DocumentResponse;
+import com.staffmanagement.exception.ValidationException;
+import com.staffmanagement.model.Document;
+import com.staffmanagement.model.DocumentType;
+import com.staffmanagement.repository.DocumentRepository;
+import com.staffmanagement.util.TimingWheel;
+import com.staffmanagement.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Reminds about documents that are about to expire, {@code documents.expiry.reminder-days} days
+ * ahead of their expiry date (by default 30, 7 and 0). Every pending reminder sits in an in-memory
+ * {@link TimingWheel} that is advanced once per tick, so finding due reminders costs nothing per
+ * tracked document and the documents table is only read once, when the wheel is rebuilt on startup.
+ * {@link DocumentService} keeps it current after each commit. Reminders are written to the log;
+ * those that fell due while the application was down are not sent again.
+ */
+@Service
+public class DocumentExpiryService {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentExpiryService.class);
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int MAX_DAYS_AHEAD = 366;
+
+    private final DocumentRepository documentRepository;
+    private final int[] reminderDays;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final TimingWheel<Reminder> wheel;
+    private final Map<Long, Tracked> tracked = new HashMap<>();
+
+    public DocumentExpiryService(DocumentRepository documentRepository,
+                                 @Value("${documents.expiry.reminder-days:30,7,0}") int[] reminderDays,
+                                 @Value("${documents.expiry.tick-ms:60000}") long tickMillis) {
+        this.documentRepository = documentRepository;
+        this.reminderDays = reminderDays;
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        List<Document> expiring = documentRepository.findByExpiresAtIsNotNull();
+        synchronized (this) {
+            tracked.values().forEach(this::cancel);
+            tracked.clear();
+            expiring.forEach(document -> schedule(Reminder.of(document, 0)));
+        }
+        logger.info("Tracking {} expiring documents with {} reminders scheduled in {} ms", tracked.size(),
+                wheel.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Documents expiring within the next {@code days} days, grouped by expiry date; with
+     * {@code includeExpired}, documents that have already expired come first
+     */
+    @Transactional(readOnly = true)
+    public List<DocumentExpiryGroup> getUpcomingExpiries(int days, boolean includeExpired) {
+        if (days < 0 || days > MAX_DAYS_AHEAD) {
+            throw new ValidationException("days", "Days must be between 0 and " + MAX_DAYS_AHEAD);
+        }
+        LocalDate today = LocalDate.now(zone);
+        LocalDate until = today.plusDays(days);
+        List<Document> documents = includeExpired
+                ? documentRepository.findByExpiresAtLessThanEqualOrderByExpiresAtAsc(until)
+                : documentRepository.findByExpiresAtBetweenOrderByExpiresAtAsc(today, until);
+
+        Map<LocalDate, List<DocumentResponse>> byDate = new LinkedHashMap<>();
+        for (Document document : documents) {
+            byDate.computeIfAbsent(document.getExpiresAt(), date -> new ArrayList<>()).add(DocumentResponse.from(document));
+        }
+        List<DocumentExpiryGroup> groups = new ArrayList<>(byDate.size());
+        byDate.forEach((date, group) ->
+                groups.add(new DocumentExpiryGroup(date, ChronoUnit.DAYS.between(today, date), group)));
+        return groups;
+    }
+
+    public void track(Document document) {
+        Reminder snapshot = Reminder.of(document, 0);
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                cancel(tracked.remove(snapshot.documentId));
+                schedule(snapshot);
+            }
+        });
+    }
+
+    public void untrack(Long documentId) {
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                cancel(tracked.remove(documentId));
+            }
+        });
+    }
+
+    /**
+     * Drop all documents of a staff member, for deletes that bypass {@link DocumentService}
+     */
+    public void untrackStaff(Long staffId) {
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                tracked.values().removeIf(entry -> {
+                    if (!entry.staffId.equals(staffId)) {
+                        return false;
+                    }
+                    cancel(entry);
+                    return true;
+                });
+            }
+        });
+    }
+
+    @Scheduled(fixedRateString = "${documents.expiry.tick-ms:60000}")
+    public void advance() {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(System.currentTimeMillis(), due::add);
+            for (Reminder reminder : due) {
+                Tracked entry = tracked.get(reminder.documentId);
+                if (entry != null) {
+                    entry.timers.removeIf(timer -> timer.getItem() == reminder);
+                    if (entry.timers.isEmpty()) {
+                        tracked.remove(reminder.documentId);
+                    }
+                }
+            }
+        }
+        for (Reminder reminder : due) {
+            if (reminder.daysBefore == 0) {
+                logger.warn("Document {} '{}' ({}) of staff {} has expired today ({})", reminder.documentId,
+                        reminder.documentName, reminder.documentType, reminder.staffId, reminder.expiresAt);
+            } else {
+                logger.warn("Document {} '{}' ({}) of staff {} expires in {} days ({})", reminder.documentId,
+                        reminder.documentName, reminder.documentType, reminder.staffId, reminder.daysBefore,
+                        reminder.expiresAt);
+            }
+        }
+    }
+
+    /**
+     * Put the reminders of a document that are still ahead on the wheel; caller holds the lock
+     */
+    private void schedule(Reminder document) {
+        if (document.expiresAt == null) {
+            return;
+        }
+        Tracked entry = new Tracked(document.staffId);
+        for (int days : reminderDays) {
+            Reminder reminder = document.withDaysBefore(days);
+            long deadline = document.expiresAt.minusDays(days).atStartOfDay(zone).toInstant().toEpochMilli();
+            TimingWheel.Timer<Reminder> timer = wheel.schedule(deadline, reminder);
+            if (timer != null) {
+                entry.timers.add(timer);
+            }
+        }
+        if (!entry.timers.isEmpty()) {
+            tracked.put(document.documentId, entry);
+        }
+    }
+
+    private void cancel(Tracked entry) {
+        if (entry != null) {
+            entry.timers.forEach(wheel::cancel);
+        }
+    }
+
+    private static final class Tracked {
+        private final Long staffId;
+        private final List<TimingWheel.Timer<Reminder>> timers = new ArrayList<>(3);
+
+        Tracked(Long staffId) {
+            this.staffId = staffId;
+        }
+    }
+
+    /**
+     * What a reminder reports, copied when the document changes so firing needs no database access
+     */
+    private static final class Reminder {
+        private final Long documentId;
+        private final Long staffId;
+        private final String documentName;
+        private final DocumentType documentType;
+        private final LocalDate expiresAt;
+        private final int daysBefore;
+
+        private Reminder(Long documentId, Long staffId, String documentName, DocumentType documentType,
+                         LocalDate expiresAt, int daysBefore) {
+            this.documentId = documentId;
+            this.staffId = staffId;
+            this.documentName = documentName;
+            this.documentType = documentType;
+            this.expiresAt = expiresAt;
+            this.daysBefore = daysBefore;
+        }
+
+        static Reminder of(Document document, int daysBefore) {
+            return new Reminder(document.getId(), document.getStaff().getId(), document.getDocumentName(),
+                    document.getDocumentType(), document.getExpiresAt(), daysBefore);
+        }
+
+        Reminder withDaysBefore(int days) {
+            return new Reminder(documentId, staffId, documentName, documentType, expiresAt, days);
+        }
+    }
+}
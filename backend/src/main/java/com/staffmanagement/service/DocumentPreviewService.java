@@ -0,0 +1,436 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.exception.ResourceNotFoundException;
+import com.staffmanagement.model.Document;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Generates JPEG previews and thumbnails of uploaded document content in the background.
+ * Images are decoded with subsampling, so a large scan never lands in heap at full resolution;
+ * PDFs have their first page rendered; DOCX files use the first-page picture Word embeds when
+ * saving, or else a plain rendering of their opening text. Results are cached on disk by content
+ * hash, so documents sharing content share previews and replaced content gets new ones.
+ * Jobs run on a bounded pool; when its queue is full the request is simply retried on the next read.
+ * Content that can never be previewed (unsupported, encrypted or malformed) gets a marker file so it
+ * is not tried again; other failures are retried on later reads, up to {@value #MAX_ATTEMPTS} attempts.
+ */
+@Service
+public class DocumentPreviewService {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentPreviewService.class);
+
+    private static final String UNAVAILABLE_MARKER = ".none";
+    private static final int MIN_LINE_LENGTH = 8;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final DocumentStorageService documentStorageService;
+    private final ThreadPoolExecutor executor;
+    private final Path previewDir;
+    private final Map<String, Boolean> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Integer> failedAttempts = new ConcurrentHashMap<>();
+    private final Map<Size, byte[]> placeholders = new ConcurrentHashMap<>();
+
+    public enum Size {
+        THUMBNAIL(200),
+        PREVIEW(1000);
+
+        private final int maxDimension;
+
+        Size(int maxDimension) {
+            this.maxDimension = maxDimension;
+        }
+
+        public int getMaxDimension() {
+            return maxDimension;
+        }
+    }
+
+    public enum Status {
+        READY,
+        PENDING,        // Queued or being generated; the placeholder stands in meanwhile
+        UNAVAILABLE     // Not an image, PDF or DOCX, encrypted or malformed, or failing repeatedly
+    }
+
+    public DocumentPreviewService(DocumentStorageService documentStorageService,
+                                  @Value("${documents.preview.dir:data/previews}") String previewDir,
+                                  @Value("${documents.preview.pool-size:2}") int poolSize,
+                                  @Value("${documents.preview.queue-capacity:100}") int queueCapacity) throws IOException {
+        this.documentStorageService = documentStorageService;
+        this.previewDir = Files.createDirectories(Paths.get(previewDir)).toAbsolutePath();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "preview-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+    }
+
+    /**
+     * The cached preview of a document's content, queueing its generation if there is none yet
+     */
+    public Preview getPreview(Document document, Size size) {
+        String hash = document.getContentHash();
+        if (hash == null) {
+            throw new ResourceNotFoundException("Document content", document.getId());
+        }
+        Path file = previewPath(hash, size);
+        if (Files.exists(file)) {
+            return new Preview(Status.READY, file);
+        }
+        if (Files.exists(markerPath(hash))) {
+            return new Preview(Status.UNAVAILABLE, null);
+        }
+        submit(hash, document.getContentType(), document.getFileName());
+        return new Preview(Status.PENDING, null);
+    }
+
+    /**
+     * Queue preview generation for stored content; a no-op if it exists or is already queued
+     */
+    public void submit(String hash, String contentType, String fileName) {
+        if (Files.exists(previewPath(hash, Size.THUMBNAIL)) || Files.exists(markerPath(hash))) {
+            return;
+        }
+        if (inFlight.putIfAbsent(hash, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> generate(hash, contentType, fileName));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(hash);
+            logger.debug("Preview queue is full, not queueing {}", hash);
+        }
+    }
+
+    /**
+     * PNG shown while a preview is pending or when there is none
+     */
+    public byte[] getPlaceholder(Size size) {
+        return placeholders.computeIfAbsent(size, DocumentPreviewService::renderPlaceholder);
+    }
+
+    /**
+     * Remove previews whose content has been swept from the document store
+     */
+    @Scheduled(fixedDelayString = "${documents.storage.sweep-interval-ms:3600000}")
+    public void sweepOrphaned() {
+        int removed = 0;
+        try (Stream<Path> files = Files.walk(previewDir)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String name = file.getFileName().toString();
+                if (name.length() >= 64 && documentStorageService.find(name.substring(0, 64)).isEmpty()) {
+                    Files.deleteIfExists(file);
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Preview sweep failed: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            logger.info("Removed {} previews of deleted content", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generate(String hash, String contentType, String fileName) {
+        long started = System.currentTimeMillis();
+        try {
+            Path source = documentStorageService.find(hash).orElseThrow(() -> new NoSuchFileException(hash));
+            BufferedImage page = render(source, contentType, fileName);
+            if (page == null) {
+                logger.debug("No preview for {} ({})", hash, contentType);
+                markUnavailable(hash);
+                return;
+            }
+            BufferedImage preview = scaleToFit(page, Size.PREVIEW.getMaxDimension());
+            write(preview, previewPath(hash, Size.PREVIEW));
+            // Written last, so its presence means both sizes are there
+            write(scaleToFit(preview, Size.THUMBNAIL.getMaxDimension()), previewPath(hash, Size.THUMBNAIL));
+            failedAttempts.remove(hash);
+            logger.debug("Generated preview for {} in {} ms", hash, System.currentTimeMillis() - started);
+        } catch (InvalidPasswordException | IIOException | UnsupportedFileFormatException | POIXMLException e) {
+            // Encrypted or malformed content fails the same way every time
+            logger.info("No preview for {}: {}", hash, e.toString());
+            markUnavailable(hash);
+        } catch (Exception e) {
+            // Anything else (a read error, an interrupted worker) may pass, so nothing is written
+            // and the next read queues the job again
+            int attempts = failedAttempts.merge(hash, 1, Integer::sum);
+            if (attempts >= MAX_ATTEMPTS) {
+                logger.warn("Preview generation failed {} times for {}, giving up: {}", attempts, hash, e.toString());
+                markUnavailable(hash);
+            } else {
+                logger.warn("Preview generation failed for {}: {}", hash, e.toString());
+            }
+        } finally {
+            inFlight.remove(hash);
+        }
+    }
+
+    private void markUnavailable(String hash) {
+        failedAttempts.remove(hash);
+        try {
+            Files.createDirectories(markerPath(hash).getParent());
+            Files.write(markerPath(hash), new byte[0]);
+        } catch (IOException e) {
+            // Without the marker the next read simply tries again
+            logger.warn("Could not mark {} as having no preview: {}", hash, e.getMessage());
+        }
+    }
+
+    private BufferedImage render(Path source, String contentType, String fileName) throws IOException {
+        byte[] magic = new byte[5];
+        try (InputStream in = Files.newInputStream(source)) {
+            in.readNBytes(magic, 0, magic.length);
+        }
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+
+        if (magic[0] == '%' && magic[1] == 'P' && magic[2] == 'D' && magic[3] == 'F') {
+            return renderPdf(source);
+        }
+        if (magic[0] == 'P' && magic[1] == 'K' && (name.endsWith(".docx") || type.contains("wordprocessingml"))) {
+            return renderDocx(source);
+        }
+        return readImage(source, Size.PREVIEW.getMaxDimension());
+    }
+
+    /**
+     * Decode with subsampling so the decoded raster is at most about twice the target size
+     */
+    private static BufferedImage readImage(Path source, int maxDimension) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int step = Math.max(1, Math.max(reader.getWidth(0), reader.getHeight(0)) / (maxDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage renderPdf(Path source) throws IOException {
+        try (PDDocument pdf = Loader.loadPDF(source.toFile())) {
+            if (pdf.getNumberOfPages() == 0) {
+                return null;
+            }
+            PDRectangle box = pdf.getPage(0).getCropBox();
+            float scale = Size.PREVIEW.getMaxDimension() / Math.max(box.getWidth(), box.getHeight());
+            return new PDFRenderer(pdf).renderImage(0, scale, ImageType.RGB);
+        }
+    }
+
+    private static BufferedImage renderDocx(Path source) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(source.toFile(), PackageAccess.READ);
+             XWPFDocument docx = new XWPFDocument(pkg)) {
+            // Word stores a picture of the first page when "Save preview picture" is on
+            try (InputStream thumbnail = docx.getProperties().getThumbnailImage()) {
+                BufferedImage image = thumbnail != null ? ImageIO.read(thumbnail) : null;
+                if (image != null) {
+                    return image;
+                }
+            }
+            return renderText(docx);
+        } catch (InvalidFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * An A4-shaped page with the document's opening paragraphs, enough to tell documents apart
+     */
+    private static BufferedImage renderText(XWPFDocument docx) {
+        int height = Size.PREVIEW.getMaxDimension();
+        int width = (int) (height / Math.sqrt(2));
+        int margin = width / 12;
+        BufferedImage page = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = page.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(Color.DARK_GRAY);
+            g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, height / 60));
+            FontMetrics metrics = g.getFontMetrics();
+
+            int y = margin + metrics.getAscent();
+            for (XWPFParagraph paragraph : docx.getParagraphs()) {
+                for (String line : wrap(paragraph.getText(), metrics, width - 2 * margin)) {
+                    if (y > height - margin) {
+                        return page;
+                    }
+                    g.drawString(line, margin, y);
+                    y += metrics.getHeight();
+                }
+                y += metrics.getHeight() / 2;
+            }
+            return page;
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static List<String> wrap(String text, FontMetrics metrics, int maxWidth) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : text.split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (line.length() >= MIN_LINE_LENGTH && metrics.stringWidth(line + " " + word) > maxWidth) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+            if (!line.isEmpty()) {
+                line.append(' ');
+            }
+            line.append(word);
+        }
+        if (!line.isEmpty()) {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Scale down to fit, flattening transparency onto white. Large reductions are done by halving,
+     * as a single bilinear pass samples too few source pixels and aliases
+     */
+    private static BufferedImage scaleToFit(BufferedImage source, int maxDimension) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static void write(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = target.resolveSibling(target.getFileName() + ".part");
+        if (!ImageIO.write(image, "jpg", tmp.toFile())) {
+            throw new IOException("No JPEG writer available");
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] renderPlaceholder(Size size) {
+        int height = size.getMaxDimension();
+        int width = (int) (height / Math.sqrt(2));
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(new Color(0xF1F5F9));
+            g.fillRect(0, 0, width, height);
+            g.setColor(new Color(0xCBD5E1));
+            g.setStroke(new BasicStroke(Math.max(1, height / 100f)));
+            int inset = width / 6;
+            g.drawRect(inset, inset, width - 2 * inset, height - 2 * inset);
+            for (int i = 1; i <= 4; i++) {
+                int y = inset + i * (height - 2 * inset) / 6;
+                g.drawLine(inset * 3 / 2, y, width - inset * 3 / 2, y);
+            }
+        } finally {
+            g.dispose();
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path previewPath(String hash, Size size) {
+        return previewDir.resolve(hash.substring(0, 2))
+                .resolve(hash + "-" + size.name().toLowerCase(Locale.ROOT) + ".jpg");
+    }
+
+    private Path markerPath(String hash) {
+        return previewDir.resolve(hash.substring(0, 2)).resolve(hash + UNAVAILABLE_MARKER);
+    }
+
+    /**
+     * Outcome of a preview lookup; {@code file} is set when the status is READY
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Preview {
+        private Status status;
+        private Path file;
+    }
+}
@@ -0,0 +1,475 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.dto.DocumentSearchResult;
+import com.staffmanagement.exception.ValidationException;
+import com.staffmanagement.model.Document;
+import com.staffmanagement.model.DocumentType;
+import com.staffmanagement.repository.DocumentRepository;
+import com.staffmanagement.util.TransactionUtil;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.*;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text search over document names, file names, notes and the text of uploaded files,
+ * kept in a Lucene index on local disk. Text is folded to lower-case ASCII like staff search.
+ * Changes from {@link DocumentService} are queued after their transaction commits and applied by
+ * a single background thread, which extracts text from the stored content and commits the index;
+ * queued changes are keyed by document id, so a burst of edits to one document is indexed once.
+ * On startup the index is reconciled with the database, so only documents that changed while the
+ * application was down are extracted again.
+ */
+@Service
+public class DocumentSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentSearchService.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    // Deepest result a page may reach; Lucene allocates a hit queue for every result up to the end of the page
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final String ID = "id";
+    private static final String STAFF_ID = "staffId";
+    private static final String DOCUMENT_TYPE = "documentType";
+    private static final String UPLOAD_DATE = "uploadDate";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String DOCUMENT_NAME = "documentName";
+    private static final String FILE_NAME = "fileName";
+    private static final String NOTES = "notes";
+    private static final String CONTENT = "content";
+
+    // Text fields searched by a query and how much a match in each counts
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            DOCUMENT_NAME, 4f,
+            FILE_NAME, 2f,
+            NOTES, 2f,
+            CONTENT, 1f);
+
+    private static final Pattern QUERY_PART = Pattern.compile("\"([^\"]*)\"?|(\\S+)");
+    private static final Sort NEWEST_FIRST = new Sort(new SortField(UPLOAD_DATE, SortField.Type.LONG, true));
+
+    private final DocumentRepository documentRepository;
+    private final DocumentStorageService documentStorageService;
+    private final DocumentTextExtractor textExtractor;
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<Long, IndexedDocument> pending = new ConcurrentHashMap<>();
+    private final Queue<Long> pendingStaffRemovals = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    public DocumentSearchService(DocumentRepository documentRepository,
+                                 DocumentStorageService documentStorageService,
+                                 @Value("${documents.search.index-dir:data/search-index}") String indexDir,
+                                 @Value("${documents.search.max-text-chars:1000000}") int maxTextChars) throws IOException {
+        this.documentRepository = documentRepository;
+        this.documentStorageService = documentStorageService;
+        this.textExtractor = new DocumentTextExtractor(maxTextChars);
+
+        Path dir = Files.createDirectories(Paths.get(indexDir)).toAbsolutePath();
+        this.writer = new IndexWriter(FSDirectory.open(dir), new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "document-indexer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        logger.info("Document search index at {} ({} documents)", dir, writer.getDocStats().numDocs);
+    }
+
+    /**
+     * Queue every document whose indexed copy is missing or stale, and drop index entries of
+     * documents that no longer exist
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        Map<Long, String> indexed = readFingerprints();
+        int queued = 0;
+        for (Document document : documentRepository.findAll()) {
+            IndexedDocument snapshot = IndexedDocument.of(document);
+            if (!snapshot.fingerprint().equals(indexed.remove(document.getId()))) {
+                // A change made since startup is newer than the database read here
+                pending.putIfAbsent(snapshot.id, snapshot);
+                queued++;
+            }
+        }
+        for (Long id : indexed.keySet()) {
+            pending.putIfAbsent(id, IndexedDocument.deleted(id));
+        }
+        logger.info("Document search index reconciled in {} ms: {} documents to index, {} to remove",
+                System.currentTimeMillis() - started, queued, indexed.size());
+        scheduleDrain();
+    }
+
+    /**
+     * Documents matching every word or "quoted phrase" of the query, best matches first; without
+     * a query, every document passing the filters, newest upload first
+     */
+    public DocumentSearchResult search(String query, Long staffId, DocumentType type, LocalDate from, LocalDate to,
+                                       int page, int size) {
+        if (page < 0) {
+            throw new ValidationException("page", "Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("size", "Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((long) (page + 1) * size > MAX_RESULT_WINDOW) {
+            throw new ValidationException("page", "Results are available up to the first " + MAX_RESULT_WINDOW);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException("from", "From date must not be after to date");
+        }
+
+        long started = System.nanoTime();
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        boolean ranked = query != null && !query.isBlank();
+        if (ranked) {
+            Query text = textQuery(query);
+            if (text == null) {
+                return new DocumentSearchResult(query, 0, page, size, List.of());
+            }
+            builder.add(text, BooleanClause.Occur.MUST);
+        } else {
+            builder.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        if (staffId != null) {
+            builder.add(LongPoint.newExactQuery(STAFF_ID, staffId), BooleanClause.Occur.FILTER);
+        }
+        if (type != null) {
+            builder.add(new TermQuery(new Term(DOCUMENT_TYPE, type.name())), BooleanClause.Occur.FILTER);
+        }
+        if (from != null || to != null) {
+            long lower = from != null ? epochSecond(from.atStartOfDay()) : Long.MIN_VALUE;
+            long upper = to != null ? epochSecond(to.plusDays(1).atStartOfDay()) - 1 : Long.MAX_VALUE;
+            builder.add(LongPoint.newRangeQuery(UPLOAD_DATE, lower, upper), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // As IndexSearcher.search(Query, int): no more hits than documents, but at least one
+                int limit = Math.max(1, Math.min((page + 1) * size, searcher.getIndexReader().maxDoc()));
+                TopDocs top = ranked
+                        ? searcher.search(builder.build(), new TopScoreDocCollectorManager(limit, Integer.MAX_VALUE))
+                        : searcher.search(builder.build(), new TopFieldCollectorManager(NEWEST_FIRST, limit, Integer.MAX_VALUE));
+                StoredFields storedFields = searcher.storedFields();
+                List<DocumentSearchResult.Hit> hits = new ArrayList<>(size);
+                for (int i = page * size; i < top.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = top.scoreDocs[i];
+                    hits.add(toHit(storedFields.document(scoreDoc.doc), ranked ? scoreDoc.score : 0f));
+                }
+                logger.debug("Document search '{}' found {} in {} µs", query, top.totalHits.value,
+                        (System.nanoTime() - started) / 1000);
+                return new DocumentSearchResult(query, top.totalHits.value, page, size, hits);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Document search failed", e);
+        }
+    }
+
+    public void index(Document document) {
+        IndexedDocument snapshot = IndexedDocument.of(document);
+        TransactionUtil.afterCommit(() -> enqueue(snapshot));
+    }
+
+    public void remove(Long id) {
+        TransactionUtil.afterCommit(() -> enqueue(IndexedDocument.deleted(id)));
+    }
+
+    /**
+     * Drop all documents of a staff member, for deletes that bypass {@link DocumentService}
+     */
+    public void removeByStaff(Long staffId) {
+        TransactionUtil.afterCommit(() -> {
+            pendingStaffRemovals.add(staffId);
+            scheduleDrain();
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Document indexer did not finish; {} changes are applied on the next startup", pending.size());
+            executor.shutdownNow();
+        }
+        searcherManager.close();
+        writer.close();
+    }
+
+    private void enqueue(IndexedDocument snapshot) {
+        pending.put(snapshot.id, snapshot);
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the change is picked up by the next startup's reconcile
+                drainScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Apply everything queued so far, then make it visible to searches and durable in one commit
+     */
+    private void drain() {
+        drainScheduled.set(false);
+        long started = System.currentTimeMillis();
+        int applied = 0;
+        try {
+            for (Long id : new ArrayList<>(pending.keySet())) {
+                IndexedDocument snapshot = pending.remove(id);
+                if (snapshot == null) {
+                    continue;
+                }
+                Term idTerm = new Term(ID, id.toString());
+                if (snapshot.deleted) {
+                    writer.deleteDocuments(idTerm);
+                } else {
+                    writer.updateDocument(idTerm, toLuceneDocument(snapshot));
+                }
+                applied++;
+            }
+            // After updates: a document queued before its staff member was offboarded must not survive
+            Long staffId;
+            while ((staffId = pendingStaffRemovals.poll()) != null) {
+                writer.deleteDocuments(LongPoint.newExactQuery(STAFF_ID, staffId));
+                applied++;
+            }
+            if (applied > 0) {
+                searcherManager.maybeRefresh();
+                writer.commit();
+                logger.debug("Applied {} document index changes in {} ms", applied, System.currentTimeMillis() - started);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Document index update failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private org.apache.lucene.document.Document toLuceneDocument(IndexedDocument snapshot) {
+        org.apache.lucene.document.Document doc = new org.apache.lucene.document.Document();
+        doc.add(new StringField(ID, snapshot.id.toString(), Field.Store.YES));
+        doc.add(new LongPoint(STAFF_ID, snapshot.staffId));
+        doc.add(new StoredField(STAFF_ID, snapshot.staffId));
+        if (snapshot.documentType != null) {
+            doc.add(new StringField(DOCUMENT_TYPE, snapshot.documentType.name(), Field.Store.YES));
+        }
+        if (snapshot.uploadDate != null) {
+            long uploaded = epochSecond(snapshot.uploadDate);
+            doc.add(new LongPoint(UPLOAD_DATE, uploaded));
+            doc.add(new NumericDocValuesField(UPLOAD_DATE, uploaded));
+            doc.add(new StoredField(UPLOAD_DATE, uploaded));
+        }
+        doc.add(new StoredField(FINGERPRINT, snapshot.fingerprint()));
+        addText(doc, DOCUMENT_NAME, snapshot.documentName, Field.Store.YES);
+        addText(doc, FILE_NAME, snapshot.fileName, Field.Store.YES);
+        addText(doc, NOTES, snapshot.notes, Field.Store.NO);
+        if (snapshot.contentHash != null) {
+            documentStorageService.find(snapshot.contentHash).ifPresent(file -> addText(doc, CONTENT,
+                    textExtractor.extract(file, snapshot.contentType, snapshot.fileName), Field.Store.NO));
+        }
+        return doc;
+    }
+
+    private static void addText(org.apache.lucene.document.Document doc, String field, String value, Field.Store store) {
+        if (value != null && !value.isEmpty()) {
+            doc.add(new TextField(field, value, store));
+        }
+    }
+
+    private static DocumentSearchResult.Hit toHit(org.apache.lucene.document.Document doc, float score) {
+        IndexableField uploaded = doc.getField(UPLOAD_DATE);
+        return new DocumentSearchResult.Hit(
+                Long.valueOf(doc.get(ID)),
+                doc.getField(STAFF_ID).numericValue().longValue(),
+                doc.get(DOCUMENT_NAME),
+                doc.get(DOCUMENT_TYPE),
+                doc.get(FILE_NAME),
+                uploaded == null ? null : LocalDateTime.ofEpochSecond(uploaded.numericValue().longValue(), 0, ZoneOffset.UTC),
+                score);
+    }
+
+    /**
+     * Every word and phrase must match in at least one field; a word the analyzer splits
+     * (like "INV-2024") is matched as a phrase
+     */
+    private Query textQuery(String query) {
+        BooleanQuery.Builder all = new BooleanQuery.Builder();
+        boolean any = false;
+        Matcher matcher = QUERY_PART.matcher(query);
+        while (matcher.find()) {
+            List<String> terms = analyze(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+            if (terms.isEmpty()) {
+                continue;
+            }
+            BooleanQuery.Builder fields = new BooleanQuery.Builder();
+            for (Map.Entry<String, Float> field : FIELD_BOOSTS.entrySet()) {
+                Query match = terms.size() == 1
+                        ? new TermQuery(new Term(field.getKey(), terms.get(0)))
+                        : new PhraseQuery(field.getKey(), terms.toArray(new String[0]));
+                fields.add(new BoostQuery(match, field.getValue()), BooleanClause.Occur.SHOULD);
+            }
+            all.add(fields.build(), BooleanClause.Occur.MUST);
+            any = true;
+        }
+        return any ? all.build() : null;
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(CONTENT, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Map<Long, String> readFingerprints() {
+        Map<Long, String> fingerprints = new HashMap<>();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                IndexReader reader = searcher.getIndexReader();
+                Bits liveDocs = MultiBits.getLiveDocs(reader);
+                StoredFields storedFields = reader.storedFields();
+                Set<String> fields = Set.of(ID, FINGERPRINT);
+                for (int i = 0; i < reader.maxDoc(); i++) {
+                    if (liveDocs == null || liveDocs.get(i)) {
+                        org.apache.lucene.document.Document doc = storedFields.document(i, fields);
+                        fingerprints.put(Long.valueOf(doc.get(ID)), doc.get(FINGERPRINT));
+                    }
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Document search index could not be read", e);
+        }
+        return fingerprints;
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Indexed fields copied when the change is made; the entity may still change before it commits
+     */
+    private static final class IndexedDocument {
+        private final Long id;
+        private final boolean deleted;
+        private Long staffId;
+        private String documentName;
+        private DocumentType documentType;
+        private String fileName;
+        private String notes;
+        private LocalDateTime uploadDate;
+        private String contentHash;
+        private String contentType;
+
+        private IndexedDocument(Long id, boolean deleted) {
+            this.id = id;
+            this.deleted = deleted;
+        }
+
+        static IndexedDocument of(Document document) {
+            IndexedDocument snapshot = new IndexedDocument(document.getId(), false);
+            snapshot.staffId = document.getStaff().getId();
+            snapshot.documentName = document.getDocumentName();
+            snapshot.documentType = document.getDocumentType();
+            snapshot.fileName = document.getFileName();
+            snapshot.notes = document.getNotes();
+            snapshot.uploadDate = document.getUploadDate();
+            snapshot.contentHash = document.getContentHash();
+            snapshot.contentType = document.getContentType();
+            return snapshot;
+        }
+
+        static IndexedDocument deleted(Long id) {
+            return new IndexedDocument(id, true);
+        }
+
+        /**
+         * Identifies the indexed state; upload dates count in whole seconds, as the database may round them
+         */
+        String fingerprint() {
+            Long uploaded = uploadDate == null ? null : epochSecond(uploadDate);
+            String type = documentType == null ? null : documentType.name();
+            return Integer.toHexString(Objects.hash(staffId, documentName, type, fileName, notes, uploaded))
+                    + ":" + contentHash;
+        }
+    }
+
+    /**
+     * Standard word splitting, lower-cased and folded to ASCII so "Şükrü" matches "sukru"
+     */
+    private static final class FoldingAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            return new TokenStreamComponents(source, new ASCIIFoldingFilter(new LowerCaseFilter(source)));
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.staffmanagement.service;
 
 import com.staffmanagement.exception.ResourceNotFoundException;
+import com.staffmanagement.model.ChangeEntityType;
 import com.staffmanagement.model.Document;
 import com.staffmanagement.model.Staff;
+import com.staffmanagement.model.Tombstone;
 import com.staffmanagement.repository.DocumentRepository;
+import com.staffmanagement.repository.StaffRepository;
+import com.staffmanagement.repository.TombstoneRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -20,19 +29,29 @@ public class DocumentService {
     private static final Logger logger = LoggerFactory.getLogger(DocumentService.class);
 
     private final DocumentRepository documentRepository;
+    private final TombstoneRepository tombstoneRepository;
     private final StaffService staffService;
+    private final StaffRepository staffRepository;
+    private final DocumentStorageService documentStorageService;
+    private final DocumentPreviewService documentPreviewService;
+    private final DocumentSearchService documentSearchService;
+    private final DocumentExpiryService documentExpiryService;
+    private final PlatformTransactionManager transactionManager;
 
+    @Transactional(readOnly = true)
     public List<Document> getAllDocuments() {
         logger.debug("Fetching all documents");
         return documentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Document getDocumentById(Long id) {
         logger.debug("Fetching document with id: {}", id);
         return documentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Document", id));
     }
 
+    @Transactional(readOnly = true)
     public List<Document> getDocumentsByStaffId(Long staffId) {
         logger.debug("Fetching documents for staff id: {}", staffId);
         return documentRepository.findByStaffId(staffId);
@@ -45,6 +64,8 @@ public class DocumentService {
         document.setUploadDate(LocalDateTime.now());
 
         Document saved = documentRepository.save(document);
+        documentSearchService.index(saved);
+        documentExpiryService.track(saved);
         logger.info("Document created successfully with id: {}", saved.getId());
         return saved;
     }
@@ -55,20 +76,143 @@ public class DocumentService {
 
         document.setDocumentName(documentDetails.getDocumentName());
         document.setDocumentType(documentDetails.getDocumentType());
-        document.setFileName(documentDetails.getFileName());
-        document.setFileUrl(documentDetails.getFileUrl());
-        document.setFileSize(documentDetails.getFileSize());
+        // File fields of uploaded content describe the stored blob and change only with new content
+        if (document.getContentHash() == null) {
+            document.setFileName(documentDetails.getFileName());
+            document.setFileUrl(documentDetails.getFileUrl());
+            document.setFileSize(documentDetails.getFileSize());
+        }
         document.setNotes(documentDetails.getNotes());
+        document.setExpiresAt(documentDetails.getExpiresAt());
 
         Document saved = documentRepository.save(document);
+        documentSearchService.index(saved);
+        documentExpiryService.track(saved);
         logger.info("Document updated successfully");
         return saved;
     }
 
+    /**
+     * Create a document from uploaded content. The content is streamed into the store before the
+     * transaction starts; the quota is then re-checked under a lock on the staff row, so concurrent
+     * uploads for the same employee cannot both squeeze into the remaining space
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Document uploadDocument(Long staffId, Document metadata, InputStream content, long declaredSize,
+                                   String fileName, String contentType) {
+        logger.info("Uploading document for staff id: {} ({} bytes)", staffId, declaredSize);
+        DocumentStorageService.StoredContent stored = storeWithinQuota(staffId, null, content, declaredSize);
+
+        Document saved = transactionTemplate().execute(status -> {
+            Staff staff = lockStaffWithinQuota(staffId, null, stored.getSize());
+            metadata.setStaff(staff);
+            metadata.setUploadDate(LocalDateTime.now());
+            if (metadata.getDocumentName() == null || metadata.getDocumentName().isBlank()) {
+                metadata.setDocumentName(fileName);
+            }
+            applyContent(metadata, stored, fileName, contentType);
+            Document document = documentRepository.save(metadata);
+            document.setFileUrl(contentUrl(document.getId()));
+            return document;
+        });
+        logger.info("Document created successfully with id: {} (content {}{})", saved.getId(), stored.getHash(),
+                stored.isDeduplicated() ? ", deduplicated" : "");
+        documentPreviewService.submit(stored.getHash(), saved.getContentType(), saved.getFileName());
+        documentSearchService.index(saved);
+        documentExpiryService.track(saved);
+        return saved;
+    }
+
+    /**
+     * Replace the content of an existing document; its previous content is counted out of the quota
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Document replaceContent(Long id, InputStream content, long declaredSize, String fileName, String contentType) {
+        logger.info("Replacing content of document with id: {} ({} bytes)", id, declaredSize);
+        Long staffId = getDocumentById(id).getStaff().getId();
+        DocumentStorageService.StoredContent stored = storeWithinQuota(staffId, id, content, declaredSize);
+
+        Document saved = transactionTemplate().execute(status -> {
+            lockStaffWithinQuota(staffId, id, stored.getSize());
+            Document document = getDocumentById(id);
+            applyContent(document, stored, fileName, contentType);
+            document.setFileUrl(contentUrl(id));
+            return documentRepository.save(document);
+        });
+        logger.info("Document content replaced successfully (content {}{})", stored.getHash(),
+                stored.isDeduplicated() ? ", deduplicated" : "");
+        documentPreviewService.submit(stored.getHash(), saved.getContentType(), saved.getFileName());
+        documentSearchService.index(saved);
+        return saved;
+    }
+
+    /**
+     * Locate the stored content of a document for download
+     */
+    @Transactional(readOnly = true)
+    public Path getContentPath(Document document) {
+        if (document.getContentHash() == null) {
+            throw new ResourceNotFoundException("Document content", document.getId());
+        }
+        return documentStorageService.find(document.getContentHash())
+                .orElseThrow(() -> new ResourceNotFoundException("Document content", document.getId()));
+    }
+
     public void deleteDocument(Long id) {
         logger.info("Deleting document with id: {}", id);
         Document document = getDocumentById(id);
         documentRepository.delete(document);
+        tombstoneRepository.save(new Tombstone(ChangeEntityType.DOCUMENT, id));
+        documentSearchService.remove(id);
+        documentExpiryService.untrack(id);
         logger.info("Document deleted successfully");
     }
+
+    private DocumentStorageService.StoredContent storeWithinQuota(Long staffId, Long replacedId, InputStream content,
+                                                                   long declaredSize) {
+        long available = availableBytes(staffId, replacedId);
+        // Multipart parts report their size up front; reject before copying anything
+        if (declaredSize > available) {
+            throw documentStorageService.quotaExceeded(available);
+        }
+        return documentStorageService.store(content, available);
+    }
+
+    private Staff lockStaffWithinQuota(Long staffId, Long replacedId, long size) {
+        Staff staff = staffRepository.findByIdForUpdate(staffId)
+                .orElseThrow(() -> new ResourceNotFoundException("Staff", staffId));
+        long available = availableBytes(staffId, replacedId);
+        if (size > available) {
+            // The stored blob is left to the store's sweep; another document may share it
+            throw documentStorageService.quotaExceeded(available);
+        }
+        return staff;
+    }
+
+    private long availableBytes(Long staffId, Long replacedId) {
+        long used = documentRepository.sumStoredBytesByStaffId(staffId);
+        if (replacedId != null) {
+            Document replaced = documentRepository.findById(replacedId).orElse(null);
+            if (replaced != null && replaced.getContentHash() != null && replaced.getFileSize() != null) {
+                used -= replaced.getFileSize();
+            }
+        }
+        return documentStorageService.getQuotaBytes() - used;
+    }
+
+    private static void applyContent(Document document, DocumentStorageService.StoredContent stored, String fileName,
+                                     String contentType) {
+        document.setContentHash(stored.getHash());
+        document.setFileSize(stored.getSize());
+        document.setFileName(fileName);
+        document.setContentType(contentType != null ? contentType : "application/octet-stream");
+    }
+
+    private static String contentUrl(Long id) {
+        return "/api/documents/" + id + "/content";
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
 }
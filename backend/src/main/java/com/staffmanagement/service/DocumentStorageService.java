@@ -0,0 +1,200 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.exception.BusinessException;
+import com.staffmanagement.repository.DocumentRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed file store for document uploads.
+ * Uploads are streamed to a temporary file while their SHA-256 is computed, then moved to
+ * {@code <dir>/<h0h1>/<h2h3>/<sha256>}; content that is already stored is not written twice.
+ * Blobs are shared between documents, so they are never deleted with a document: a periodic sweep
+ * removes blobs no live or archived document refers to once they are older than a grace period,
+ * which covers uploads whose document row has not been committed yet.
+ */
+@Service
+public class DocumentStorageService {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentStorageService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int LOCK_STRIPES = 64;
+
+    private final DocumentRepository documentRepository;
+    private final Path root;
+    private final Path tmpDir;
+    private final long quotaBytes;
+    private final Duration sweepGrace;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public DocumentStorageService(DocumentRepository documentRepository,
+                                  @Value("${documents.storage.dir:data/documents}") String dir,
+                                  @Value("${documents.storage.quota-per-staff:100MB}") DataSize quotaPerStaff,
+                                  @Value("${documents.storage.sweep-grace-minutes:60}") long sweepGraceMinutes) throws IOException {
+        this.documentRepository = documentRepository;
+        this.root = Files.createDirectories(Paths.get(dir)).toAbsolutePath();
+        this.tmpDir = Files.createDirectories(root.resolve("tmp"));
+        this.quotaBytes = quotaPerStaff.toBytes();
+        this.sweepGrace = Duration.ofMinutes(sweepGraceMinutes);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        purgeTmpDirectory();
+        logger.info("Document store at {} (quota {} bytes per staff)", root, quotaBytes);
+    }
+
+    public long getQuotaBytes() {
+        return quotaBytes;
+    }
+
+    /**
+     * Stream the content into the store, failing as soon as more than {@code maxBytes} have been read
+     */
+    public StoredContent store(InputStream in, long maxBytes) {
+        MessageDigest digest = newDigest();
+        Path tmp = null;
+        long size = 0;
+        try {
+            tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    size += n;
+                    if (size > maxBytes) {
+                        throw quotaExceeded(maxBytes);
+                    }
+                    digest.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path blob = blobPath(hash);
+            synchronized (lockFor(hash)) {
+                if (Files.exists(blob)) {
+                    // Mark the blob as in use again so the sweep's grace period covers this upload too
+                    Files.setLastModifiedTime(blob, FileTime.from(Instant.now()));
+                    Files.delete(tmp);
+                    logger.debug("Stored content {} ({} bytes) already present", hash, size);
+                    return new StoredContent(hash, size, true);
+                }
+                Files.createDirectories(blob.getParent());
+                Files.move(tmp, blob, StandardCopyOption.ATOMIC_MOVE);
+            }
+            logger.debug("Stored content {} ({} bytes)", hash, size);
+            return new StoredContent(hash, size, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Document content could not be stored", e);
+        } finally {
+            if (tmp != null) {
+                deleteQuietly(tmp);
+            }
+        }
+    }
+
+    public Optional<Path> find(String hash) {
+        Path blob = blobPath(hash);
+        return Files.isRegularFile(blob) ? Optional.of(blob) : Optional.empty();
+    }
+
+    public BusinessException quotaExceeded(long availableBytes) {
+        return new BusinessException("DOCUMENT_QUOTA_EXCEEDED",
+                "Document storage quota exceeded: " + Math.max(availableBytes, 0) + " of " + quotaBytes
+                        + " bytes left for this staff member");
+    }
+
+    @Scheduled(fixedDelayString = "${documents.storage.sweep-interval-ms:3600000}")
+    public void sweepUnreferenced() {
+        Set<String> referenced = new HashSet<>(documentRepository.findContentHashes());
+        referenced.addAll(documentRepository.findArchivedContentHashes());
+        Instant cutoff = Instant.now().minus(sweepGrace);
+
+        int removed = 0;
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path blob : (Iterable<Path>) files.filter(this::isBlob)::iterator) {
+                String hash = blob.getFileName().toString();
+                synchronized (lockFor(hash)) {
+                    if (!referenced.contains(hash) && Files.getLastModifiedTime(blob).toInstant().isBefore(cutoff)) {
+                        Files.deleteIfExists(blob);
+                        removed++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Document store sweep failed: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            logger.info("Removed {} unreferenced document blobs", removed);
+        }
+    }
+
+    private boolean isBlob(Path path) {
+        return !path.startsWith(tmpDir) && Files.isRegularFile(path) && path.getFileName().toString().length() == 64;
+    }
+
+    private Path blobPath(String hash) {
+        if (hash.length() != 64) {
+            throw new IllegalArgumentException("Not a SHA-256 hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    private void purgeTmpDirectory() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(tmpDir)) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Result of storing an upload; {@code deduplicated} when the same bytes were already stored
+     */
+    @Data
+    @AllArgsConstructor
+    public static class StoredContent {
+        private String hash;
+        private long size;
+        private boolean deduplicated;
+    }
+}
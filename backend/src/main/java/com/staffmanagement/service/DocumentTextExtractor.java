@@ -0,0 +1,186 @@
+package com.staffmanagement.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.extractor.ExtractorFactory;
+import org.apache.poi.extractor.POITextExtractor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Plain text of stored document content for the search index: Office files through POI
+ * (DOCX, XLSX, PPTX and the older binary formats POI reads), PDFs through PDFBox, and text files as UTF-8.
+ * Anything else yields no text, and the document is found by its metadata only.
+ * Text is cut off after {@code maxChars}, so one huge file cannot take over the heap or the index:
+ * PDFs and text files stop being read at that point. POI only hands out the whole text at once, so
+ * Office files whose XML parts (or, for the binary formats, the file itself) exceed
+ * {@value #OFFICE_BYTES_PER_CHAR} bytes per allowed character are not read at all.
+ */
+class DocumentTextExtractor {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentTextExtractor.class);
+
+    private static final int MAX_PDF_PAGES = 500;
+    // Markup outweighs text in Office XML; beyond this the text would far exceed maxChars anyway
+    private static final int OFFICE_BYTES_PER_CHAR = 8;
+    private static final Set<String> TEXT_EXTENSIONS = Set.of("txt", "csv", "tsv", "md", "json", "xml", "log");
+
+    private final int maxChars;
+
+    DocumentTextExtractor(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    String extract(Path file, String contentType, String fileName) {
+        try {
+            byte[] magic = new byte[4];
+            int read;
+            try (InputStream in = Files.newInputStream(file)) {
+                read = in.readNBytes(magic, 0, magic.length);
+            }
+            if (read == 4 && magic[0] == '%' && magic[1] == 'P' && magic[2] == 'D' && magic[3] == 'F') {
+                return extractPdf(file);
+            }
+            if (read == 4 && ((magic[0] == 'P' && magic[1] == 'K')
+                    || ((magic[0] & 0xFF) == 0xD0 && (magic[1] & 0xFF) == 0xCF && (magic[2] & 0xFF) == 0x11))) {
+                return extractOffice(file, magic[0] == 'P');
+            }
+            if (isText(contentType, fileName)) {
+                return extractText(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Damaged or password-protected files are still indexed by name and notes
+            logger.debug("No text extracted from {}: {}", fileName, e.toString());
+        }
+        return "";
+    }
+
+    private String extractPdf(Path file) throws IOException {
+        try (PDDocument pdf = Loader.loadPDF(file.toFile())) {
+            BoundedWriter text = new BoundedWriter(maxChars);
+            PDFTextStripper stripper = new PDFTextStripper() {
+                @Override
+                protected void endPage(PDPage page) throws IOException {
+                    super.endPage(page);
+                    if (text.isFull()) {
+                        // The remaining pages are skipped instead of parsed
+                        setEndPage(getCurrentPageNo());
+                    }
+                }
+            };
+            stripper.setEndPage(MAX_PDF_PAGES);
+            stripper.writeText(pdf, text);
+            return text.toString();
+        }
+    }
+
+    private String extractOffice(Path file, boolean zipped) throws IOException {
+        long size = zipped ? xmlSize(file) : Files.size(file);
+        if (size > (long) maxChars * OFFICE_BYTES_PER_CHAR) {
+            logger.debug("Not extracting text from {}: {} bytes to parse", file.getFileName(), size);
+            return "";
+        }
+        try (POITextExtractor extractor = ExtractorFactory.createExtractor(file.toFile())) {
+            return extractor == null ? "" : truncate(extractor.getText());
+        }
+    }
+
+    private String extractText(Path file) throws IOException {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[8192];
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE))) {
+            int n;
+            while (text.length() < maxChars && (n = reader.read(buffer, 0, Math.min(buffer.length, maxChars - text.length()))) != -1) {
+                text.append(buffer, 0, n);
+            }
+        }
+        return text.toString();
+    }
+
+    private static boolean isText(String contentType, String fileName) {
+        if (contentType != null) {
+            String type = contentType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("text/") || type.contains("json") || type.contains("xml")) {
+                return true;
+            }
+        }
+        if (fileName != null) {
+            int dot = fileName.lastIndexOf('.');
+            return dot >= 0 && TEXT_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+        }
+        return false;
+    }
+
+    /**
+     * Uncompressed size of the XML parts of an OOXML package, as recorded in its central directory
+     */
+    private static long xmlSize(Path file) throws IOException {
+        long size = 0;
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(".xml")) {
+                    size += Math.max(0, entry.getSize());
+                }
+            }
+        }
+        return size;
+    }
+
+    private String truncate(String text) {
+        return text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+
+    /**
+     * Keeps the first {@code maxChars} characters written and drops the rest
+     */
+    private static final class BoundedWriter extends Writer {
+        private final StringBuilder text = new StringBuilder();
+        private final int maxChars;
+
+        BoundedWriter(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        boolean isFull() {
+            return text.length() >= maxChars;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            text.append(buffer, offset, Math.min(length, maxChars - text.length()));
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
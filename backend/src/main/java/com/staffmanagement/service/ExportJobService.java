@@ -0,0 +1,310 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.dto.ExportJobRequest;
+import com.staffmanagement.dto.ExportJobStatus;
+import com.staffmanagement.exception.BusinessException;
+import com.staffmanagement.exception.ResourceNotFoundException;
+import com.staffmanagement.exception.ValidationException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs exports in the background on a bounded worker pool.
+ * Each job renders into a spool file (CSV is gzip-compressed, XLSX is already zipped),
+ * which is kept for a configurable TTL so clients can poll for it and resume downloads.
+ * Jobs live in memory only; spool files left over from a previous run are removed on startup.
+ */
+@Service
+public class ExportJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+
+    private final ExportService exportService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor executor;
+    private final Path spoolDir;
+    private final Duration ttl;
+
+    private final Map<Long, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    public ExportJobService(ExportService exportService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${export.jobs.pool-size:2}") int poolSize,
+                            @Value("${export.jobs.queue-capacity:20}") int queueCapacity,
+                            @Value("${export.jobs.spool-dir:${java.io.tmpdir}/staff-exports}") String spoolDir,
+                            @Value("${export.jobs.ttl-minutes:60}") long ttlMinutes) throws IOException {
+        this.exportService = exportService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.spoolDir = Files.createDirectories(Paths.get(spoolDir));
+        purgeSpoolDirectory();
+    }
+
+    public ExportJobStatus submit(ExportJobRequest request) {
+        if (request.getType() == null) {
+            throw new ValidationException("type", "Export type is required");
+        }
+        if (request.getFormat() == null) {
+            request.setFormat(ExportJobRequest.Format.CSV);
+        }
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new ValidationException("endDate", "End date must be after start date");
+        }
+
+        ExportJob job = new ExportJob(nextId.getAndIncrement(), request);
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            logger.warn("Export queue is full, rejecting {} export", request.getType());
+            throw new BusinessException("EXPORT_QUEUE_FULL", "Too many exports in progress, please try again later");
+        }
+
+        logger.info("Export job {} queued: {} as {}", job.id, request.getType(), request.getFormat());
+        return job.toStatus();
+    }
+
+    public ExportJobStatus getStatus(Long id) {
+        return getJob(id).toStatus();
+    }
+
+    /**
+     * Resolve the spooled file of a completed job
+     */
+    public Path getFile(Long id) {
+        ExportJob job = getJob(id);
+        if (job.state != ExportJobStatus.State.COMPLETED) {
+            throw new BusinessException("EXPORT_NOT_READY", "Export job " + id + " is " + job.state);
+        }
+        return job.file;
+    }
+
+    public void cancel(Long id) {
+        ExportJob job = getJob(id);
+        logger.info("Cancelling export job {}", id);
+        job.cancelled = true;
+        if (job.future != null) {
+            job.future.cancel(true);
+        }
+        if (job.state == ExportJobStatus.State.QUEUED) {
+            job.finish(ExportJobStatus.State.CANCELLED, ttl);
+        }
+        remove(job);
+    }
+
+    @Scheduled(fixedDelayString = "${export.jobs.cleanup-interval-ms:60000}")
+    public void removeExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        for (ExportJob job : jobs.values()) {
+            if (job.expiresAt != null && job.expiresAt.isBefore(now)) {
+                logger.debug("Export job {} expired", job.id);
+                remove(job);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ExportJob getJob(Long id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("ExportJob", id);
+        }
+        return job;
+    }
+
+    private void run(ExportJob job) {
+        if (job.cancelled) {
+            return;
+        }
+        job.state = ExportJobStatus.State.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        Path part = spoolDir.resolve(job.id + ".part");
+
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(part), 64 * 1024);
+                 OutputStream target = job.request.getFormat() == ExportJobRequest.Format.CSV
+                         ? new GZIPOutputStream(file, 64 * 1024) : file;
+                 OutputStream out = new ProgressOutputStream(target, job)) {
+                readOnlyTransaction.executeWithoutResult(status -> render(job.request, out));
+            }
+
+            job.file = Files.move(part, spoolDir.resolve(job.id + "-" + job.fileName),
+                    StandardCopyOption.REPLACE_EXISTING);
+            if (job.cancelled) {
+                deleteQuietly(job.file);
+                return;
+            }
+            job.fileSize = Files.size(job.file);
+            job.finish(ExportJobStatus.State.COMPLETED, ttl);
+            logger.info("Export job {} completed: {} bytes", job.id, job.fileSize);
+        } catch (Exception e) {
+            deleteQuietly(part);
+            if (job.cancelled) {
+                job.finish(ExportJobStatus.State.CANCELLED, ttl);
+            } else {
+                logger.error("Export job {} failed: {}", job.id, e.getMessage(), e);
+                job.errorMessage = e.getMessage();
+                job.finish(ExportJobStatus.State.FAILED, ttl);
+            }
+        }
+    }
+
+    private void render(ExportJobRequest request, OutputStream out) {
+        String startDate = request.getStartDate() != null ? request.getStartDate().toString() : null;
+        String endDate = request.getEndDate() != null ? request.getEndDate().toString() : null;
+        boolean xlsx = request.getFormat() == ExportJobRequest.Format.XLSX;
+
+        try {
+            switch (request.getType()) {
+                case STAFF -> {
+                    if (xlsx) {
+                        exportService.writeStaffXlsx(out);
+                    } else {
+                        exportService.writeStaffCsv(out);
+                    }
+                }
+                case ATTENDANCE -> {
+                    if (xlsx) {
+                        exportService.writeAttendanceXlsx(out, request.getStaffId(), startDate, endDate);
+                    } else {
+                        exportService.writeAttendanceCsv(out, request.getStaffId(), startDate, endDate);
+                    }
+                }
+                case LEAVE_REQUESTS -> {
+                    if (xlsx) {
+                        exportService.writeLeaveRequestsXlsx(out, request.getStaffId());
+                    } else {
+                        exportService.writeLeaveRequestsCsv(out, request.getStaffId());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void remove(ExportJob job) {
+        jobs.remove(job.id);
+        if (job.file != null) {
+            deleteQuietly(job.file);
+        }
+    }
+
+    private void purgeSpoolDirectory() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir)) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete spool file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static class ExportJob {
+        private final Long id;
+        private final ExportJobRequest request;
+        private final String fileName;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private volatile ExportJobStatus.State state = ExportJobStatus.State.QUEUED;
+        private volatile boolean cancelled;
+        private volatile long bytesWritten;
+        private volatile Future<?> future;
+        private volatile Path file;
+        private volatile Long fileSize;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile LocalDateTime expiresAt;
+        private volatile String errorMessage;
+
+        ExportJob(Long id, ExportJobRequest request) {
+            this.id = id;
+            this.request = request;
+            String baseName = request.getType().name().toLowerCase();
+            this.fileName = request.getFormat() == ExportJobRequest.Format.CSV
+                    ? baseName + ".csv.gz" : baseName + ".xlsx";
+        }
+
+        void finish(ExportJobStatus.State finalState, Duration ttl) {
+            this.finishedAt = LocalDateTime.now();
+            this.expiresAt = finishedAt.plus(ttl);
+            this.state = finalState;
+        }
+
+        ExportJobStatus toStatus() {
+            return new ExportJobStatus(id, request.getType(), request.getFormat(), state, bytesWritten,
+                    fileSize, fileName, createdAt, startedAt, finishedAt, expiresAt, errorMessage);
+        }
+    }
+
+    /**
+     * Counts rendered bytes for progress reporting and aborts the export once the job is cancelled
+     */
+    private static class ProgressOutputStream extends FilterOutputStream {
+        private final ExportJob job;
+
+        ProgressOutputStream(OutputStream out, ExportJob job) {
+            super(out);
+            this.job = job;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkCancelled();
+            out.write(b);
+            job.bytesWritten++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkCancelled();
+            out.write(b, off, len);
+            job.bytesWritten += len;
+        }
+
+        private void checkCancelled() throws InterruptedIOException {
+            if (job.cancelled) {
+                throw new InterruptedIOException("Export job " + job.id + " was cancelled");
+            }
+        }
+    }
+}
@@ -1,156 +1,485 @@
 package com.staffmanagement.service;
 
-import com.staffmanagement.model.AttendanceRecord;
-import com.staffmanagement.model.LeaveRequest;
+import com.staffmanagement.dto.AttendanceExportRow;
+import com.staffmanagement.dto.AttendanceResponse;
+import com.staffmanagement.dto.LeaveRequestExportRow;
+import com.staffmanagement.model.AttendanceStatus;
+import com.staffmanagement.model.ChangeEntityType;
 import com.staffmanagement.model.Staff;
+import com.staffmanagement.model.Tombstone;
 import com.staffmanagement.repository.AttendanceRepository;
 import com.staffmanagement.repository.LeaveRequestRepository;
 import com.staffmanagement.repository.StaffRepository;
-import lombok.RequiredArgsConstructor;
+import com.staffmanagement.repository.TombstoneRepository;
+import com.staffmanagement.util.CsvWriter;
+import com.staffmanagement.util.XlsxWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
-import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ExportService {
     private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
 
+    private static final String CHANGE_UPSERT = "UPSERT";
+    private static final String CHANGE_DELETE = "DELETE";
+
+    private static final String[] STAFF_HEADER = {
+            "ID", "First Name", "Last Name", "Email", "Phone", "Department", "Position",
+            "Hire Date", "Active", "Annual Leave Days", "Used Leave Days", "Remaining Leave Days"
+    };
+
+    static final String[] ATTENDANCE_HEADER = {
+            "ID", "Staff Name", "Date", "Clock In", "Clock Out", "Status",
+            "Total Work Minutes", "Overtime Minutes", "Approved"
+    };
+
+    private static final String[] LEAVE_REQUEST_HEADER = {
+            "ID", "Staff Name", "Leave Type", "Start Date", "End Date", "Days Requested",
+            "Status", "Request Date", "Approval Date", "Rejection Reason"
+    };
+
+    /**
+     * Window start for a client's first delta sync
+     */
+    public static final LocalDateTime DELTA_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final StaffRepository staffRepository;
     private final AttendanceRepository attendanceRepository;
     private final LeaveRequestRepository leaveRequestRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final AttendanceService attendanceService;
+    private final BusinessMetrics businessMetrics;
+    private final Duration deltaSafetyLag;
+
+    public ExportService(StaffRepository staffRepository,
+                         AttendanceRepository attendanceRepository,
+                         LeaveRequestRepository leaveRequestRepository,
+                         TombstoneRepository tombstoneRepository,
+                         AttendanceService attendanceService,
+                         BusinessMetrics businessMetrics,
+                         @Value("${export.delta.safety-lag-seconds:60}") long deltaSafetyLagSeconds) {
+        this.staffRepository = staffRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.attendanceService = attendanceService;
+        this.businessMetrics = businessMetrics;
+        this.deltaSafetyLag = Duration.ofSeconds(deltaSafetyLagSeconds);
+    }
 
     public byte[] exportStaffToCsv() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeStaffCsv(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    public void writeStaffCsv(OutputStream outputStream) {
         logger.debug("Generating staff CSV export");
         List<Staff> staffList = staffRepository.findAll();
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(outputStream);
-
-        // CSV Header
-        writer.println("ID,First Name,Last Name,Email,Phone,Department,Position,Hire Date,Active,Annual Leave Days,Used Leave Days,Remaining Leave Days");
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.header(STAFF_HEADER);
 
-        // CSV Data
         for (Staff staff : staffList) {
-            writer.printf("%d,%s,%s,%s,%s,%s,%s,%s,%s,%d,%d,%d%n",
-                    staff.getId(),
-                    escapeCsvField(staff.getFirstName()),
-                    escapeCsvField(staff.getLastName()),
-                    escapeCsvField(staff.getEmail()),
-                    escapeCsvField(staff.getPhone()),
-                    escapeCsvField(staff.getDepartment()),
-                    escapeCsvField(staff.getPosition()),
-                    staff.getHireDate() != null ? staff.getHireDate().toString() : "",
-                    staff.getActive(),
-                    staff.getAnnualLeaveDays(),
-                    staff.getUsedLeaveDays(),
-                    staff.getRemainingLeaveDays()
-            );
-        }
-
-        writer.flush();
+            writeStaffRow(csv, staff);
+        }
+
+        csv.flush();
         logger.info("Exported {} staff records to CSV", staffList.size());
-        return outputStream.toByteArray();
+        businessMetrics.exported("staff", "csv", staffList.size());
     }
 
     public byte[] exportAttendanceToCsv(Long staffId, String startDate, String endDate) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeAttendanceCsv(outputStream, staffId, startDate, endDate);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Attendance and leave exports read a flat projection joined with staff through a
+     * streaming cursor, so each export is a single SELECT regardless of the row count.
+     */
+    public void writeAttendanceCsv(OutputStream outputStream, Long staffId, String startDate, String endDate) {
         logger.debug("Generating attendance CSV export - staffId: {}, startDate: {}, endDate: {}",
                 staffId, startDate, endDate);
+        long count = 0;
 
-        List<AttendanceRecord> records;
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.header(ATTENDANCE_HEADER);
 
-        if (staffId != null && startDate != null && endDate != null) {
-            LocalDate start = LocalDate.parse(startDate);
-            LocalDate end = LocalDate.parse(endDate);
-            records = attendanceRepository.findByStaffIdAndDateBetween(staffId, start, end);
-        } else if (staffId != null) {
-            records = attendanceRepository.findByStaffId(staffId);
-        } else {
-            records = attendanceRepository.findAll();
+        try (Stream<AttendanceExportRow> rows = streamAttendance(staffId, startDate, endDate)) {
+            Iterator<AttendanceExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writeAttendanceRow(csv, iterator.next());
+                count++;
+            }
         }
 
+        csv.flush();
+        logger.info("Exported {} attendance records to CSV", count);
+        businessMetrics.exported("attendance", "csv", count);
+    }
+
+    public byte[] exportLeaveRequestsToCsv(Long staffId) {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(outputStream);
-
-        // CSV Header
-        writer.println("ID,Staff Name,Date,Clock In,Clock Out,Status,Total Work Minutes,Overtime Minutes,Approved");
-
-        // CSV Data
-        for (AttendanceRecord record : records) {
-            writer.printf("%d,%s,%s,%s,%s,%s,%s,%s,%s%n",
-                    record.getId(),
-                    escapeCsvField(record.getStaff().getFirstName() + " " + record.getStaff().getLastName()),
-                    record.getDate() != null ? record.getDate().toString() : "",
-                    record.getClockInTime() != null ? record.getClockInTime().toString() : "",
-                    record.getClockOutTime() != null ? record.getClockOutTime().toString() : "",
-                    record.getStatus() != null ? record.getStatus().toString() : "",
-                    record.getTotalWorkMinutes() != null ? record.getTotalWorkMinutes().toString() : "0",
-                    record.getOvertimeMinutes() != null ? record.getOvertimeMinutes().toString() : "0",
-                    record.getApproved()
-            );
-        }
-
-        writer.flush();
-        logger.info("Exported {} attendance records to CSV", records.size());
+        writeLeaveRequestsCsv(outputStream, staffId);
         return outputStream.toByteArray();
     }
 
-    public byte[] exportLeaveRequestsToCsv(Long staffId) {
+    public void writeLeaveRequestsCsv(OutputStream outputStream, Long staffId) {
         logger.debug("Generating leave requests CSV export - staffId: {}", staffId);
+        long count = 0;
 
-        List<LeaveRequest> requests;
-        if (staffId != null) {
-            requests = leaveRequestRepository.findByStaffId(staffId);
-        } else {
-            requests = leaveRequestRepository.findAll();
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.header(LEAVE_REQUEST_HEADER);
+
+        try (Stream<LeaveRequestExportRow> rows = streamLeaveRequests(staffId)) {
+            Iterator<LeaveRequestExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writeLeaveRequestRow(csv, iterator.next());
+                count++;
+            }
         }
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(outputStream);
-
-        // CSV Header
-        writer.println("ID,Staff Name,Leave Type,Start Date,End Date,Days Requested,Status,Request Date,Approval Date,Rejection Reason");
-
-        // CSV Data
-        for (LeaveRequest request : requests) {
-            writer.printf("%d,%s,%s,%s,%s,%d,%s,%s,%s,%s%n",
-                    request.getId(),
-                    escapeCsvField(request.getStaff().getFirstName() + " " + request.getStaff().getLastName()),
-                    request.getLeaveType() != null ? request.getLeaveType().toString() : "",
-                    request.getStartDate() != null ? request.getStartDate().toString() : "",
-                    request.getEndDate() != null ? request.getEndDate().toString() : "",
-                    request.getDaysRequested(),
-                    request.getStatus() != null ? request.getStatus().toString() : "",
-                    request.getRequestDate() != null ? request.getRequestDate().toString() : "",
-                    request.getApprovalDate() != null ? request.getApprovalDate().toString() : "",
-                    escapeCsvField(request.getRejectionReason())
-            );
-        }
-
-        writer.flush();
-        logger.info("Exported {} leave requests to CSV", requests.size());
-        return outputStream.toByteArray();
+        csv.flush();
+        logger.info("Exported {} leave requests to CSV", count);
+        businessMetrics.exported("leave-requests", "csv", count);
+    }
+
+    /**
+     * Delta exports cover changes in the window (since, watermark]. The watermark is the newest
+     * update or deletion after {@code since} (or {@code since} itself when nothing changed) and is
+     * resolved before the rows are read, so a client passing it back as the next {@code since}
+     * neither skips nor repeats rows. Deleted rows are reported as DELETE tombstones.
+     * <p>
+     * Timestamps are taken from the writing instance's clock at flush, not at commit, so a row can
+     * become visible after a watermark past its timestamp was handed out. The watermark is therefore
+     * held back by {@code export.delta.safety-lag-seconds}, which has to cover the longest write
+     * transaction plus the clock skew between instances; newer changes follow in the next delta.
+     */
+    public LocalDateTime getStaffWatermark(LocalDateTime since) {
+        return latest(since, staffRepository.findMaxUpdatedAtAfter(since),
+                tombstoneRepository.findMaxDeletedAtAfter(ChangeEntityType.STAFF, since));
+    }
+
+    public LocalDateTime getAttendanceWatermark(LocalDateTime since) {
+        return latest(since, attendanceRepository.findMaxUpdatedAtAfter(since),
+                tombstoneRepository.findMaxDeletedAtAfter(ChangeEntityType.ATTENDANCE_RECORD, since));
+    }
+
+    public LocalDateTime getLeaveRequestWatermark(LocalDateTime since) {
+        return latest(since, leaveRequestRepository.findMaxUpdatedAtAfter(since),
+                tombstoneRepository.findMaxDeletedAtAfter(ChangeEntityType.LEAVE_REQUEST, since));
+    }
+
+    public void writeStaffDeltaCsv(OutputStream outputStream, LocalDateTime since, LocalDateTime until) {
+        logger.debug("Generating staff delta CSV export - since: {}, until: {}", since, until);
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.header(withChangeColumn(STAFF_HEADER));
+
+        List<Staff> changed = since.equals(until) ? List.of() : staffRepository.findUpdatedBetween(since, until);
+        for (Staff staff : changed) {
+            csv.field(CHANGE_UPSERT);
+            writeStaffRow(csv, staff);
+        }
+        int deleted = writeTombstones(csv, ChangeEntityType.STAFF, since, until, STAFF_HEADER.length);
+
+        csv.flush();
+        logger.info("Exported staff delta: {} changed, {} deleted", changed.size(), deleted);
+        businessMetrics.exported("staff", "csv-delta", changed.size() + deleted);
+    }
+
+    public void writeAttendanceDeltaCsv(OutputStream outputStream, LocalDateTime since, LocalDateTime until) {
+        logger.debug("Generating attendance delta CSV export - since: {}, until: {}", since, until);
+        long changed = 0;
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.header(withChangeColumn(ATTENDANCE_HEADER));
+
+        if (!since.equals(until)) {
+            try (Stream<AttendanceExportRow> rows = attendanceRepository.streamExportRowsUpdatedBetween(since, until)) {
+                Iterator<AttendanceExportRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    csv.field(CHANGE_UPSERT);
+                    writeAttendanceRow(csv, iterator.next());
+                    changed++;
+                }
+            }
+        }
+        int deleted = writeTombstones(csv, ChangeEntityType.ATTENDANCE_RECORD, since, until, ATTENDANCE_HEADER.length);
+
+        csv.flush();
+        logger.info("Exported attendance delta: {} changed, {} deleted", changed, deleted);
+        businessMetrics.exported("attendance", "csv-delta", changed + deleted);
+    }
+
+    public void writeLeaveRequestsDeltaCsv(OutputStream outputStream, LocalDateTime since, LocalDateTime until) {
+        logger.debug("Generating leave requests delta CSV export - since: {}, until: {}", since, until);
+        long changed = 0;
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.header(withChangeColumn(LEAVE_REQUEST_HEADER));
+
+        if (!since.equals(until)) {
+            try (Stream<LeaveRequestExportRow> rows = leaveRequestRepository.streamExportRowsUpdatedBetween(since, until)) {
+                Iterator<LeaveRequestExportRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    csv.field(CHANGE_UPSERT);
+                    writeLeaveRequestRow(csv, iterator.next());
+                    changed++;
+                }
+            }
+        }
+        int deleted = writeTombstones(csv, ChangeEntityType.LEAVE_REQUEST, since, until, LEAVE_REQUEST_HEADER.length);
+
+        csv.flush();
+        logger.info("Exported leave requests delta: {} changed, {} deleted", changed, deleted);
+        businessMetrics.exported("leave-requests", "csv-delta", changed + deleted);
+    }
+
+    public void writeStaffXlsx(OutputStream outputStream) throws IOException {
+        logger.debug("Generating staff XLSX export");
+        List<Staff> staffList = staffRepository.findAll();
+
+        try (XlsxWriter xlsx = new XlsxWriter()) {
+            xlsx.sheet("Staff", STAFF_HEADER);
+            for (Staff staff : staffList) {
+                xlsx.row()
+                        .cell(staff.getId())
+                        .cell(staff.getFirstName())
+                        .cell(staff.getLastName())
+                        .cell(staff.getEmail())
+                        .cell(staff.getPhone())
+                        .cell(staff.getDepartment())
+                        .cell(staff.getPosition())
+                        .cell(staff.getHireDate())
+                        .cell(staff.getActive())
+                        .cell(staff.getAnnualLeaveDays())
+                        .cell(staff.getUsedLeaveDays())
+                        .cell(staff.getRemainingLeaveDays());
+            }
+            xlsx.write(outputStream);
+        }
+
+        logger.info("Exported {} staff records to XLSX", staffList.size());
+        businessMetrics.exported("staff", "xlsx", staffList.size());
+    }
+
+    public void writeAttendanceXlsx(OutputStream outputStream, Long staffId, String startDate, String endDate)
+            throws IOException {
+        logger.debug("Generating attendance XLSX export - staffId: {}, startDate: {}, endDate: {}",
+                staffId, startDate, endDate);
+        long count = 0;
+
+        try (XlsxWriter xlsx = new XlsxWriter();
+             Stream<AttendanceExportRow> rows = streamAttendance(staffId, startDate, endDate)) {
+            xlsx.sheet("Attendance", ATTENDANCE_HEADER);
+            Iterator<AttendanceExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                AttendanceExportRow row = iterator.next();
+                writeAttendanceRow(xlsx, row.getId(), row.getFirstName(), row.getLastName(), row.getDate(),
+                        row.getClockInTime(), row.getClockOutTime(), row.getStatus(),
+                        row.getTotalWorkMinutes(), row.getOvertimeMinutes(), row.getApproved());
+                count++;
+            }
+            xlsx.write(outputStream);
+        }
+
+        logger.info("Exported {} attendance records to XLSX", count);
+        businessMetrics.exported("attendance", "xlsx", count);
+    }
+
+    public void writeLeaveRequestsXlsx(OutputStream outputStream, Long staffId) throws IOException {
+        logger.debug("Generating leave requests XLSX export - staffId: {}", staffId);
+        long count = 0;
+
+        try (XlsxWriter xlsx = new XlsxWriter();
+             Stream<LeaveRequestExportRow> rows = streamLeaveRequests(staffId)) {
+            xlsx.sheet("Leave Requests", LEAVE_REQUEST_HEADER);
+            Iterator<LeaveRequestExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                LeaveRequestExportRow row = iterator.next();
+                xlsx.row()
+                        .cell(row.getId())
+                        .cell(row.getFirstName() + " " + row.getLastName())
+                        .cell(row.getLeaveType())
+                        .cell(row.getStartDate())
+                        .cell(row.getEndDate())
+                        .cell(row.getDaysRequested())
+                        .cell(row.getStatus())
+                        .cell(row.getRequestDate())
+                        .cell(row.getApprovalDate())
+                        .cell(row.getRejectionReason());
+                count++;
+            }
+            xlsx.write(outputStream);
+        }
+
+        logger.info("Exported {} leave requests to XLSX", count);
+        businessMetrics.exported("leave-requests", "xlsx", count);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void writeMonthlyReportXlsx(OutputStream outputStream, Long staffId, int year, int month)
+            throws IOException {
+        logger.debug("Generating monthly report XLSX export for staff {} - {}/{}", staffId, year, month);
+        Map<String, Object> report = attendanceService.getMonthlyReport(staffId, year, month);
+        List<AttendanceResponse> records = (List<AttendanceResponse>) report.get("records");
+
+        try (XlsxWriter xlsx = new XlsxWriter()) {
+            xlsx.sheet("Summary", "Metric", "Value");
+            xlsx.row().cell("Staff ID").cell(staffId);
+            xlsx.row().cell("Year").cell(year);
+            xlsx.row().cell("Month").cell(month);
+            xlsx.row().cell("Working Days").cell((Number) report.get("workingDays"));
+            xlsx.row().cell("Present Days").cell((Number) report.get("presentDays"));
+            xlsx.row().cell("Absent Days").cell((Number) report.get("absentDays"));
+            xlsx.row().cell("Late Days").cell((Number) report.get("lateDays"));
+            xlsx.row().cell("Total Work Hours").cell((Number) report.get("totalWorkHours"));
+            xlsx.row().cell("Total Overtime Hours").cell((Number) report.get("totalOvertimeHours"));
+
+            xlsx.sheet("Records", ATTENDANCE_HEADER);
+            for (AttendanceResponse record : records) {
+                writeAttendanceRow(xlsx, record.getId(), record.getStaff().getFirstName(),
+                        record.getStaff().getLastName(), record.getDate(), record.getClockInTime(),
+                        record.getClockOutTime(), record.getStatus(), record.getTotalWorkMinutes(),
+                        record.getOvertimeMinutes(), record.getApproved());
+            }
+            xlsx.write(outputStream);
+        }
+
+        logger.info("Exported monthly report with {} attendance records to XLSX", records.size());
+        businessMetrics.exported("monthly-report", "xlsx", records.size());
+    }
+
+    private void writeStaffRow(CsvWriter csv, Staff staff) {
+        csv.field(staff.getId())
+                .field(staff.getFirstName())
+                .field(staff.getLastName())
+                .field(staff.getEmail())
+                .field(staff.getPhone())
+                .field(staff.getDepartment())
+                .field(staff.getPosition())
+                .field(staff.getHireDate())
+                .field(staff.getActive())
+                .field(staff.getAnnualLeaveDays())
+                .field(staff.getUsedLeaveDays())
+                .field(staff.getRemainingLeaveDays())
+                .endRow();
+    }
+
+    static void writeAttendanceRow(CsvWriter csv, AttendanceExportRow row) {
+        csv.field(row.getId())
+                .field(row.getFirstName(), ' ', row.getLastName())
+                .field(row.getDate())
+                .field(row.getClockInTime())
+                .field(row.getClockOutTime())
+                .field(row.getStatus())
+                .field(row.getTotalWorkMinutes() != null ? row.getTotalWorkMinutes() : 0L)
+                .field(row.getOvertimeMinutes() != null ? row.getOvertimeMinutes() : 0L)
+                .field(row.getApproved())
+                .endRow();
+    }
+
+    private void writeLeaveRequestRow(CsvWriter csv, LeaveRequestExportRow row) {
+        csv.field(row.getId())
+                .field(row.getFirstName(), ' ', row.getLastName())
+                .field(row.getLeaveType())
+                .field(row.getStartDate())
+                .field(row.getEndDate())
+                .field(row.getDaysRequested())
+                .field(row.getStatus())
+                .field(row.getRequestDate())
+                .field(row.getApprovalDate())
+                .field(row.getRejectionReason())
+                .endRow();
     }
 
     /**
-     * Escape CSV field to handle commas, quotes, and newlines
+     * Write DELETE rows carrying only the id, padded to the full column count
      */
-    private String escapeCsvField(String field) {
-        if (field == null) {
-            return "";
+    private int writeTombstones(CsvWriter csv, ChangeEntityType type, LocalDateTime since, LocalDateTime until,
+                                int columns) {
+        if (since.equals(until)) {
+            return 0;
+        }
+        List<Tombstone> tombstones = tombstoneRepository.findDeletedBetween(type, since, until);
+        for (Tombstone tombstone : tombstones) {
+            csv.field(CHANGE_DELETE).field(tombstone.getEntityId());
+            for (int i = 1; i < columns; i++) {
+                csv.empty();
+            }
+            csv.endRow();
         }
+        return tombstones.size();
+    }
 
-        // If field contains comma, quote, or newline, wrap it in quotes and escape existing quotes
-        if (field.contains(",") || field.contains("\"") || field.contains("\n")) {
-            return "\"" + field.replace("\"", "\"\"") + "\"";
+    private LocalDateTime latest(LocalDateTime since, LocalDateTime lastUpdate, LocalDateTime lastDeletion) {
+        LocalDateTime watermark = since;
+        if (lastUpdate != null && lastUpdate.isAfter(watermark)) {
+            watermark = lastUpdate;
+        }
+        if (lastDeletion != null && lastDeletion.isAfter(watermark)) {
+            watermark = lastDeletion;
+        }
+        LocalDateTime settled = LocalDateTime.now().minus(deltaSafetyLag);
+        if (watermark.isAfter(settled)) {
+            watermark = settled.isAfter(since) ? settled : since;
         }
+        return watermark;
+    }
+
+    private static String[] withChangeColumn(String[] header) {
+        String[] result = new String[header.length + 1];
+        result[0] = "Change";
+        System.arraycopy(header, 0, result, 1, header.length);
+        return result;
+    }
+
+    private Stream<AttendanceExportRow> streamAttendance(Long staffId, String startDate, String endDate) {
+        if (staffId != null && startDate != null && endDate != null) {
+            return attendanceRepository.streamExportRowsByStaffIdAndDateBetween(
+                    staffId, LocalDate.parse(startDate), LocalDate.parse(endDate));
+        } else if (staffId != null) {
+            return attendanceRepository.streamExportRowsByStaffId(staffId);
+        } else if (startDate != null && endDate != null) {
+            return attendanceRepository.streamExportRowsByDateBetween(LocalDate.parse(startDate), LocalDate.parse(endDate));
+        }
+        return attendanceRepository.streamExportRows();
+    }
+
+    private Stream<LeaveRequestExportRow> streamLeaveRequests(Long staffId) {
+        if (staffId != null) {
+            return leaveRequestRepository.streamExportRowsByStaffId(staffId);
+        }
+        return leaveRequestRepository.streamExportRows();
+    }
 
-        return field;
+    private void writeAttendanceRow(XlsxWriter xlsx, Long id, String firstName, String lastName, LocalDate date,
+                                    LocalDateTime clockIn, LocalDateTime clockOut, AttendanceStatus status,
+                                    Long totalWorkMinutes, Long overtimeMinutes, Boolean approved) {
+        xlsx.row()
+                .cell(id)
+                .cell(firstName + " " + lastName)
+                .cell(date)
+                .cell(clockIn)
+                .cell(clockOut)
+                .cell(status)
+                .cell(totalWorkMinutes != null ? totalWorkMinutes : 0L)
+                .cell(overtimeMinutes != null ? overtimeMinutes : 0L)
+                .cell(approved);
     }
 }
@@ -1,158 +1,354 @@
 package com.staffmanagement.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.staffmanagement.exception.ValidationException;
 import com.staffmanagement.model.LeaveRequest;
+import com.staffmanagement.model.LeaveStatus;
+import com.staffmanagement.model.LeaveType;
 import com.staffmanagement.model.Staff;
-import lombok.RequiredArgsConstructor;
-import org.apache.poi.xwpf.usermodel.*;
+import com.staffmanagement.repository.LeaveRequestRepository;
+import com.staffmanagement.util.DocxTemplate;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+/**
+ * Leave certificates (Word .docx) filled in from a DOCX template with {{placeholders}}.
+ * The built-in template is on the classpath; HR can point {@code certificates.leave.template}
+ * at an edited copy of it. The template is compiled once into a {@link DocxTemplate} and compiled
+ * again when the file's modification time changes; if the edited file is broken, the previous
+ * version stays in use and the error is logged.
+ * Rendered certificates are cached in memory, up to {@code certificates.cache.max-bytes}, under
+ * a version hashed from the template and every value filled into it, which also serves as the
+ * strong ETag. Any change to the leave, the staff record or the template (or the issue date
+ * rolling over) gives a new version, so stale entries are never served and simply age out.
+ * Bulk downloads render on a small shared pool and stream each certificate into a ZIP as soon as
+ * it is done, so only the certificates in flight are held in memory.
+ */
 @Service
-@RequiredArgsConstructor
 public class LeaveCertificateService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaveCertificateService.class);
+
+    private static final String BUILT_IN_TEMPLATE = "templates/leave-certificate.docx";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    public static final Set<String> PLACEHOLDERS = Set.of("issueDate", "staffName", "firstName", "lastName",
+            "position", "department", "hireDate", "startDate", "endDate", "days", "leaveType", "reason");
+    private static final List<String> SORTED_PLACEHOLDERS = PLACEHOLDERS.stream().sorted().toList();
+
     private final LeaveRequestService leaveRequestService;
-    private final StaffService staffService;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final BusinessMetrics businessMetrics;
+    private final Path templateFile;
+    private final ThreadPoolExecutor executor;
+    private final int workers;
+    private final Cache<String, RenderedCertificate> cache;
+    private volatile LoadedTemplate template;
 
-    public byte[] generateLeaveCertificate(Long leaveRequestId) throws IOException {
-        LeaveRequest leaveRequest = leaveRequestService.getLeaveRequestById(leaveRequestId);
-        Staff staff = leaveRequest.getStaff();
+    public LeaveCertificateService(LeaveRequestService leaveRequestService,
+                                   LeaveRequestRepository leaveRequestRepository,
+                                   BusinessMetrics businessMetrics,
+                                   @Value("${certificates.leave.template:}") String templatePath,
+                                   @Value("${certificates.bulk.workers:4}") int maxWorkers,
+                                   @Value("${certificates.cache.max-bytes:33554432}") long cacheMaxBytes)
+            throws IOException {
+        this.leaveRequestService = leaveRequestService;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.businessMetrics = businessMetrics;
+        this.templateFile = templatePath.isBlank() ? null : Paths.get(templatePath).toAbsolutePath();
+        if (templateFile == null) {
+            try (InputStream in = new ClassPathResource(BUILT_IN_TEMPLATE).getInputStream()) {
+                this.template = compile(in.readAllBytes(), null);
+            }
+            logger.info("Leave certificates use the built-in template");
+        } else {
+            FileTime modified = Files.getLastModifiedTime(templateFile);
+            this.template = compile(Files.readAllBytes(templateFile), modified);
+            logger.info("Leave certificates use template {}", templateFile);
+        }
+        // Entries of earlier days can no longer be asked for, as their issue date is part of the version
+        this.cache = businessMetrics.monitor(Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher((String key, RenderedCertificate certificate) -> certificate.content.length)
+                .expireAfterAccess(Duration.ofDays(1))
+                .recordStats()
+                .build(), "leave-certificates");
 
-        XWPFDocument document = new XWPFDocument();
+        // Rendering is CPU-bound, so more workers than cores would only queue up
+        this.workers = Math.max(1, Math.min(maxWorkers, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "certificate-render-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
 
-        // Title
-        XWPFParagraph titlePara = document.createParagraph();
-        titlePara.setAlignment(ParagraphAlignment.CENTER);
-        XWPFRun titleRun = titlePara.createRun();
-        titleRun.setBold(true);
-        titleRun.setFontSize(16);
-        titleRun.setText("İZİN BELGESİ");
-        titleRun.addBreak();
-        titleRun.addBreak();
+    /**
+     * The certificate of a leave request, rendered only if this version is not cached yet
+     */
+    public RenderedCertificate getLeaveCertificate(Long leaveRequestId) {
+        LeaveRequest leaveRequest = leaveRequestService.getLeaveRequestById(leaveRequestId);
+        LoadedTemplate loaded = currentTemplate();
+        Map<String, String> values = values(leaveRequest, LocalDate.now());
+        String etag = "\"" + leaveRequestId + "-" + version(loaded, values) + "\"";
+        return cache.get(etag, key -> {
+            businessMetrics.certificateRendered();
+            return new RenderedCertificate(etag, loaded.docx.render(values));
+        });
+    }
 
-        // Document date
-        XWPFParagraph datePara = document.createParagraph();
-        datePara.setAlignment(ParagraphAlignment.RIGHT);
-        XWPFRun dateRun = datePara.createRun();
-        dateRun.setText("Tarih: " + LocalDate.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy")));
-        dateRun.addBreak();
+    /**
+     * A certificate for made-up data, rendered outside the cache, so that a warm-up loads and
+     * initializes everything a real download needs
+     */
+    public byte[] renderSample() {
+        Staff staff = new Staff();
+        staff.setFirstName("Örnek");
+        staff.setLastName("Personel");
+        staff.setPosition("Uzman");
+        staff.setDepartment("İnsan Kaynakları");
+        staff.setHireDate(LocalDate.of(2020, 1, 1));
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setStaff(staff);
+        leaveRequest.setLeaveType(LeaveType.ANNUAL);
+        leaveRequest.setStartDate(LocalDate.of(2020, 7, 1));
+        leaveRequest.setEndDate(LocalDate.of(2020, 7, 10));
+        leaveRequest.setReason("Yıllık izin");
+        return currentTemplate().docx.render(values(leaveRequest, LocalDate.now()));
+    }
 
-        // Main content
-        XWPFParagraph contentPara = document.createParagraph();
-        contentPara.setAlignment(ParagraphAlignment.BOTH);
-        XWPFRun contentRun = contentPara.createRun();
+    /**
+     * Approved leaves overlapping the period, optionally of one department and leave type,
+     * loaded together with their staff in a single query
+     */
+    public List<LeaveRequest> findCertificateLeaves(LocalDate from, LocalDate to, String department,
+                                                    LeaveType leaveType) {
+        if (from == null || to == null) {
+            throw new ValidationException("from", "Start and end date are required");
+        }
+        if (to.isBefore(from)) {
+            throw new ValidationException("to", "End date must be after start date");
+        }
+        String departmentFilter = department == null || department.isBlank() ? null : department.trim();
+        return leaveRequestRepository.findForCertificates(LeaveStatus.APPROVED, from, to, departmentFilter, leaveType);
+    }
+
+    /**
+     * Certificates for the given leaves as one ZIP, in the order they finish rendering. At most two
+     * per worker are queued or waiting to be written at any time
+     */
+    public void writeCertificatesZip(OutputStream outputStream, List<LeaveRequest> leaveRequests) throws IOException {
+        long started = System.currentTimeMillis();
+        DocxTemplate docx = currentTemplate().docx;
+        LocalDate issueDate = LocalDate.now();
+        CompletionService<Certificate> completion = new ExecutorCompletionService<>(executor);
+        // Completed futures keep their result, so only the ones not yet written are referenced
+        Set<Future<Certificate>> inFlight = new HashSet<>();
+        Iterator<LeaveRequest> next = leaveRequests.iterator();
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        try {
+            for (int written = 0; written < leaveRequests.size(); written++) {
+                while (inFlight.size() < workers * 2 && next.hasNext()) {
+                    LeaveRequest leaveRequest = next.next();
+                    inFlight.add(completion.submit(() -> render(docx, leaveRequest, issueDate)));
+                }
+                Future<Certificate> done = take(completion);
+                inFlight.remove(done);
+                write(zip, await(done));
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(false));
+        }
+        zip.finish();
+        zip.flush();
+        logger.info("Wrote {} leave certificates in {} ms", leaveRequests.size(),
+                System.currentTimeMillis() - started);
+        businessMetrics.certificatesRendered(leaveRequests.size());
+    }
 
-        contentRun.setText("Şirketimizde ");
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
 
-        XWPFRun boldRun = contentPara.createRun();
-        boldRun.setBold(true);
-        boldRun.setText(staff.getPosition());
+    private static Certificate render(DocxTemplate docx, LeaveRequest leaveRequest, LocalDate issueDate) {
+        byte[] content = docx.render(values(leaveRequest, issueDate));
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return new Certificate("izin_belgesi_" + leaveRequest.getId() + ".docx", content, crc.getValue());
+    }
 
-        contentRun = contentPara.createRun();
-        contentRun.setText(" pozisyonunda çalışan ");
+    /**
+     * A .docx is already deflated, so entries are stored as they are rather than compressed twice
+     */
+    private static void write(ZipOutputStream zip, Certificate certificate) throws IOException {
+        ZipEntry entry = new ZipEntry(certificate.name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(certificate.content.length);
+        entry.setCompressedSize(certificate.content.length);
+        entry.setCrc(certificate.crc);
+        zip.putNextEntry(entry);
+        zip.write(certificate.content);
+        zip.closeEntry();
+    }
 
-        boldRun = contentPara.createRun();
-        boldRun.setBold(true);
-        boldRun.setText(staff.getFirstName() + " " + staff.getLastName());
+    private static Future<Certificate> take(CompletionService<Certificate> completion) throws IOException {
+        try {
+            return completion.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Certificate download was interrupted");
+        }
+    }
 
-        contentRun = contentPara.createRun();
-        contentRun.setText(" (T.C. Kimlik No: __________) adlı personelimize, ");
+    private static Certificate await(Future<Certificate> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Certificate download was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
 
+    /**
+     * Placeholder values for a leave request; see {@link #PLACEHOLDERS}
+     */
+    private static Map<String, String> values(LeaveRequest leaveRequest, LocalDate issueDate) {
+        Staff staff = leaveRequest.getStaff();
         LocalDate startDate = leaveRequest.getStartDate();
         LocalDate endDate = leaveRequest.getEndDate();
-        long daysBetween = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-
-        boldRun = contentPara.createRun();
-        boldRun.setBold(true);
-        boldRun.setText(startDate.format(DateTimeFormatter.ofPattern("dd.MM.yyyy")));
-
-        contentRun = contentPara.createRun();
-        contentRun.setText(" - ");
-
-        boldRun = contentPara.createRun();
-        boldRun.setBold(true);
-        boldRun.setText(endDate.format(DateTimeFormatter.ofPattern("dd.MM.yyyy")));
-
-        contentRun = contentPara.createRun();
-        contentRun.setText(" tarihleri arasında ");
-
-        boldRun = contentPara.createRun();
-        boldRun.setBold(true);
-        boldRun.setText(daysBetween + " gün");
-
-        contentRun = contentPara.createRun();
-        contentRun.setText(" ");
-
-        boldRun = contentPara.createRun();
-        boldRun.setBold(true);
-        boldRun.setText(getLeaveTypeInTurkish(leaveRequest.getLeaveType().toString()));
-
-        contentRun = contentPara.createRun();
-        contentRun.setText(" kullanma izni verilmiştir.");
-        contentRun.addBreak();
-        contentRun.addBreak();
-
-        // Reason
-        if (leaveRequest.getReason() != null && !leaveRequest.getReason().isEmpty()) {
-            XWPFParagraph reasonPara = document.createParagraph();
-            reasonPara.setAlignment(ParagraphAlignment.BOTH);
-            XWPFRun reasonRun = reasonPara.createRun();
-            reasonRun.setBold(true);
-            reasonRun.setText("İzin Sebebi: ");
-            reasonRun = reasonPara.createRun();
-            reasonRun.setText(leaveRequest.getReason());
-            reasonRun.addBreak();
-            reasonRun.addBreak();
-        }
-
-        // Employee details
-        XWPFParagraph detailsPara = document.createParagraph();
-        XWPFRun detailsRun = detailsPara.createRun();
-        detailsRun.setBold(true);
-        detailsRun.setText("Personel Bilgileri:");
-        detailsRun.addBreak();
-
-        detailsRun = detailsPara.createRun();
-        detailsRun.setText("Ad Soyad: " + staff.getFirstName() + " " + staff.getLastName());
-        detailsRun.addBreak();
-        detailsRun.setText("Pozisyon: " + staff.getPosition());
-        detailsRun.addBreak();
-        detailsRun.setText("Departman: " + staff.getDepartment());
-        detailsRun.addBreak();
-        detailsRun.setText("İşe Başlama Tarihi: " + staff.getHireDate().format(DateTimeFormatter.ofPattern("dd.MM.yyyy")));
-        detailsRun.addBreak();
-        detailsRun.addBreak();
-        detailsRun.addBreak();
-
-        // Signature section
-        XWPFParagraph signaturePara = document.createParagraph();
-        XWPFRun signatureRun = signaturePara.createRun();
-        signatureRun.setText("Bilgilerinize sunulur.");
-        signatureRun.addBreak();
-        signatureRun.addBreak();
-        signatureRun.addBreak();
-
-        XWPFParagraph hrPara = document.createParagraph();
-        hrPara.setAlignment(ParagraphAlignment.RIGHT);
-        XWPFRun hrRun = hrPara.createRun();
-        hrRun.setText("İnsan Kaynakları Departmanı");
-        hrRun.addBreak();
-        hrRun.setText("_____________________");
-        hrRun.addBreak();
-        hrRun.setText("İmza ve Kaşe");
-
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        document.write(out);
-        document.close();
-
-        return out.toByteArray();
-    }
-
-    private String getLeaveTypeInTurkish(String leaveType) {
+
+        Map<String, String> values = new HashMap<>();
+        values.put("issueDate", format(issueDate));
+        values.put("staffName", staff.getFirstName() + " " + staff.getLastName());
+        values.put("firstName", staff.getFirstName());
+        values.put("lastName", staff.getLastName());
+        values.put("position", staff.getPosition());
+        values.put("department", staff.getDepartment());
+        values.put("hireDate", format(staff.getHireDate()));
+        values.put("startDate", format(startDate));
+        values.put("endDate", format(endDate));
+        values.put("days", String.valueOf(ChronoUnit.DAYS.between(startDate, endDate) + 1));
+        values.put("leaveType", getLeaveTypeInTurkish(leaveRequest.getLeaveType().toString()));
+        values.put("reason", leaveRequest.getReason());
+        return values;
+    }
+
+    /**
+     * Hash of the template and the values, in placeholder order; nulls and empty strings are
+     * rendered alike, so they hash alike
+     */
+    private static String version(LoadedTemplate loaded, Map<String, String> values) {
+        MessageDigest digest = newDigest();
+        digest.update(loaded.hash);
+        for (String placeholder : SORTED_PLACEHOLDERS) {
+            String value = values.get(placeholder);
+            byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+            digest.update(placeholder.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update((byte) (bytes.length >>> 24));
+            digest.update((byte) (bytes.length >>> 16));
+            digest.update((byte) (bytes.length >>> 8));
+            digest.update((byte) bytes.length);
+            digest.update(bytes);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    private LoadedTemplate currentTemplate() {
+        LoadedTemplate loaded = template;
+        if (templateFile == null) {
+            return loaded;
+        }
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(templateFile);
+        } catch (IOException e) {
+            logger.warn("Leave certificate template {} is not readable, using the last loaded version: {}",
+                    templateFile, e.getMessage());
+            return loaded;
+        }
+        if (modified.equals(loaded.modified)) {
+            return loaded;
+        }
+        synchronized (this) {
+            if (!modified.equals(template.modified)) {
+                try {
+                    template = compile(Files.readAllBytes(templateFile), modified);
+                    logger.info("Reloaded leave certificate template {}", templateFile);
+                } catch (IOException | RuntimeException e) {
+                    // Remember the broken version so it is not compiled again on every request
+                    template = new LoadedTemplate(template.docx, template.hash, modified);
+                    logger.error("Leave certificate template {} could not be loaded, keeping the previous version: {}",
+                            templateFile, e.getMessage());
+                }
+            }
+            return template;
+        }
+    }
+
+    private static LoadedTemplate compile(byte[] content, FileTime modified) throws IOException {
+        long started = System.currentTimeMillis();
+        DocxTemplate docx = DocxTemplate.compile(new ByteArrayInputStream(content), PLACEHOLDERS);
+        logger.debug("Compiled leave certificate template with {} in {} ms", docx.getPlaceholders(),
+                System.currentTimeMillis() - started);
+        return new LoadedTemplate(docx, newDigest().digest(content), modified);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String format(LocalDate date) {
+        return date == null ? "" : date.format(DATE_FORMAT);
+    }
+
+    private static String getLeaveTypeInTurkish(String leaveType) {
         return switch (leaveType) {
             case "ANNUAL" -> "yıllık izin";
             case "SICK" -> "hastalık izni";
@@ -164,4 +360,46 @@ public class LeaveCertificateService {
             default -> "izin";
         };
     }
+
+    private static final class Certificate {
+        private final String name;
+        private final byte[] content;
+        private final long crc;
+
+        Certificate(String name, byte[] content, long crc) {
+            this.name = name;
+            this.content = content;
+            this.crc = crc;
+        }
+    }
+
+    public static final class RenderedCertificate {
+        private final String etag;
+        private final byte[] content;
+
+        RenderedCertificate(String etag, byte[] content) {
+            this.etag = etag;
+            this.content = content;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+    }
+
+    private static final class LoadedTemplate {
+        private final DocxTemplate docx;
+        private final byte[] hash;
+        private final FileTime modified;
+
+        LoadedTemplate(DocxTemplate docx, byte[] hash, FileTime modified) {
+            this.docx = docx;
+            this.hash = hash;
+            this.modified = modified;
+        }
+    }
 }
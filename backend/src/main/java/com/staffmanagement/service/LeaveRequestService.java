@@ -3,10 +3,13 @@ package com.staffmanagement.service;
 import com.staffmanagement.exception.BusinessException;
 import com.staffmanagement.exception.ResourceNotFoundException;
 import com.staffmanagement.exception.ValidationException;
+import com.staffmanagement.model.ChangeEntityType;
 import com.staffmanagement.model.LeaveRequest;
 import com.staffmanagement.model.LeaveStatus;
 import com.staffmanagement.model.Staff;
+import com.staffmanagement.model.Tombstone;
 import com.staffmanagement.repository.LeaveRequestRepository;
+import com.staffmanagement.repository.TombstoneRepository;
 import com.staffmanagement.util.DateUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -24,24 +27,30 @@ public class LeaveRequestService {
     private static final Logger logger = LoggerFactory.getLogger(LeaveRequestService.class);
 
     private final LeaveRequestRepository leaveRequestRepository;
+    private final TombstoneRepository tombstoneRepository;
     private final StaffService staffService;
+    private final BusinessMetrics businessMetrics;
 
+    @Transactional(readOnly = true)
     public List<LeaveRequest> getAllLeaveRequests() {
         logger.debug("Fetching all leave requests");
         return leaveRequestRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public LeaveRequest getLeaveRequestById(Long id) {
         logger.debug("Fetching leave request with id: {}", id);
         return leaveRequestRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("LeaveRequest", id));
     }
 
+    @Transactional(readOnly = true)
     public List<LeaveRequest> getLeaveRequestsByStaffId(Long staffId) {
         logger.debug("Fetching leave requests for staff id: {}", staffId);
         return leaveRequestRepository.findByStaffId(staffId);
     }
 
+    @Transactional(readOnly = true)
     public List<LeaveRequest> getLeaveRequestsByStatus(LeaveStatus status) {
         logger.debug("Fetching leave requests with status: {}", status);
         return leaveRequestRepository.findByStatus(status);
@@ -133,6 +142,7 @@ public class LeaveRequestService {
         LeaveRequest approved = leaveRequestRepository.save(leaveRequest);
         logger.info("Leave request approved. Staff {} now has {} remaining leave days",
                 staff.getId(), staff.getRemainingLeaveDays());
+        businessMetrics.leaveApproved();
         return approved;
     }
 
@@ -153,6 +163,7 @@ public class LeaveRequestService {
 
         LeaveRequest rejected = leaveRequestRepository.save(leaveRequest);
         logger.info("Leave request {} rejected with reason: {}", id, reason);
+        businessMetrics.leaveRejected();
         return rejected;
     }
 
@@ -160,6 +171,7 @@ public class LeaveRequestService {
         logger.info("Deleting leave request with id: {}", id);
         LeaveRequest leaveRequest = getLeaveRequestById(id);
         leaveRequestRepository.delete(leaveRequest);
+        tombstoneRepository.save(new Tombstone(ChangeEntityType.LEAVE_REQUEST, id));
         logger.info("Leave request deleted successfully");
     }
 }
@@ -0,0 +1,243 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.dto.AttendanceExportRow;
+import com.staffmanagement.exception.ValidationException;
+import com.staffmanagement.repository.AttendanceRepository;
+import com.staffmanagement.util.CsvWriter;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Attendance exports over long date ranges, split into one partition per calendar month.
+ * Partitions are read and encoded in parallel, each in its own read-only transaction (and so on
+ * its own connection), into temp files that are then copied to the response in month order,
+ * either concatenated into one CSV or as one ZIP entry per month.
+ * Workers are shared by all partitioned exports and capped at half the connection pool,
+ * so a large export cannot starve interactive requests of connections.
+ */
+@Service
+public class PartitionedExportService {
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedExportService.class);
+
+    private final AttendanceRepository attendanceRepository;
+    private final BusinessMetrics businessMetrics;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor executor;
+    private final int workers;
+
+    public PartitionedExportService(AttendanceRepository attendanceRepository,
+                                    BusinessMetrics businessMetrics,
+                                    PlatformTransactionManager transactionManager,
+                                    DataSource dataSource,
+                                    @Value("${export.partitioned.max-workers:4}") int maxWorkers) {
+        this.attendanceRepository = attendanceRepository;
+        this.businessMetrics = businessMetrics;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        // The pool sits behind the metrics proxy, so it is unwrapped rather than type-checked
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+        int poolSize = hikari != null ? hikari.getMaximumPoolSize() : maxWorkers * 2;
+        this.workers = Math.max(1, Math.min(maxWorkers, poolSize / 2));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "partition-export-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        logger.info("Partitioned exports use {} workers (connection pool size {})", workers, poolSize);
+    }
+
+    /**
+     * Split a date range into calendar-month partitions, clipped to the range
+     */
+    public List<LocalDate[]> partition(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new ValidationException("startDate", "Start and end date are required for a partitioned export");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("endDate", "End date must be after start date");
+        }
+
+        List<LocalDate[]> partitions = new ArrayList<>();
+        LocalDate from = startDate;
+        while (!from.isAfter(endDate)) {
+            LocalDate monthEnd = YearMonth.from(from).atEndOfMonth();
+            LocalDate to = monthEnd.isBefore(endDate) ? monthEnd : endDate;
+            partitions.add(new LocalDate[]{from, to});
+            from = to.plusDays(1);
+        }
+        return partitions;
+    }
+
+    public void writeAttendanceCsv(OutputStream outputStream, Long staffId, LocalDate startDate, LocalDate endDate)
+            throws IOException {
+        logger.debug("Generating partitioned attendance CSV - staffId: {}, {} to {}", staffId, startDate, endDate);
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.header(ExportService.ATTENDANCE_HEADER).flush();
+
+        writePartitions(staffId, partition(startDate, endDate), false, (range, file) -> Files.copy(file, outputStream));
+        outputStream.flush();
+    }
+
+    public void writeAttendanceZip(OutputStream outputStream, Long staffId, LocalDate startDate, LocalDate endDate)
+            throws IOException {
+        logger.debug("Generating partitioned attendance ZIP - staffId: {}, {} to {}", staffId, startDate, endDate);
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+
+        writePartitions(staffId, partition(startDate, endDate), true, (range, file) -> {
+            zip.putNextEntry(new ZipEntry("attendance_" + YearMonth.from(range[0]) + ".csv"));
+            Files.copy(file, zip);
+            zip.closeEntry();
+        });
+        zip.finish();
+        zip.flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Keep every worker busy (plus one queued partition) and hand finished partitions to the sink in order
+     */
+    private void writePartitions(Long staffId, List<LocalDate[]> partitions, boolean headerPerPartition,
+                                 PartitionSink sink) {
+        long started = System.currentTimeMillis();
+        Deque<Future<Path>> pending = new ArrayDeque<>();
+        AtomicBoolean aborted = new AtomicBoolean();
+        Iterator<LocalDate[]> next = partitions.iterator();
+        AtomicLong rows = new AtomicLong();
+        try {
+            for (LocalDate[] range : partitions) {
+                while (pending.size() <= workers && next.hasNext()) {
+                    LocalDate[] submitted = next.next();
+                    pending.add(executor.submit(() -> renderPartition(staffId, submitted, headerPerPartition, aborted, rows)));
+                }
+                Path file = await(pending.peek());
+                pending.remove();
+                try {
+                    sink.accept(range, file);
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            aborted.set(true);
+            for (Future<Path> future : pending) {
+                discard(future);
+            }
+        }
+        logger.info("Exported {} attendance partitions in {} ms", partitions.size(),
+                System.currentTimeMillis() - started);
+        businessMetrics.exported("attendance", headerPerPartition ? "zip" : "csv", rows.get());
+    }
+
+    private Path renderPartition(Long staffId, LocalDate[] range, boolean header, AtomicBoolean aborted,
+                                 AtomicLong exportedRows) throws IOException {
+        Path file = Files.createTempFile("attendance-partition-", ".csv");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            CsvWriter csv = new CsvWriter(out, 64 * 1024);
+            if (header) {
+                csv.header(ExportService.ATTENDANCE_HEADER);
+            }
+            Long count = readOnlyTransaction.execute(status -> {
+                long written = 0;
+                try (Stream<AttendanceExportRow> rows = streamPartition(staffId, range)) {
+                    Iterator<AttendanceExportRow> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        if (aborted.get()) {
+                            throw new CancellationException("Partitioned export was aborted");
+                        }
+                        ExportService.writeAttendanceRow(csv, iterator.next());
+                        written++;
+                    }
+                }
+                return written;
+            });
+            exportedRows.addAndGet(count);
+            csv.flush();
+            return file;
+        } catch (RuntimeException | IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private Stream<AttendanceExportRow> streamPartition(Long staffId, LocalDate[] range) {
+        if (staffId != null) {
+            return attendanceRepository.streamExportRowsByStaffIdAndDateBetween(staffId, range[0], range[1]);
+        }
+        return attendanceRepository.streamExportRowsByDateBetween(range[0], range[1]);
+    }
+
+    private Path await(Future<Path> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Partitioned export was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Drop a partition that will not be written: queued ones are cancelled, running ones stop at
+     * the next row once the export is marked aborted, and finished ones have their file deleted
+     */
+    private void discard(Future<Path> future) {
+        if (future.cancel(false)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(future.get());
+        } catch (Exception e) {
+            logger.debug("Discarded partition could not be cleaned up: {}", e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface PartitionSink {
+        void accept(LocalDate[] range, Path file) throws IOException;
+    }
+}
@@ -0,0 +1,389 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.dto.StaffImportResult;
+import com.staffmanagement.exception.BusinessException;
+import com.staffmanagement.exception.ValidationException;
+import com.staffmanagement.model.Staff;
+import com.staffmanagement.repository.StaffRepository;
+import com.staffmanagement.util.CsvReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Bulk staff onboarding from a CSV or XLSX file with one staff member per row.
+ * Columns are matched by header name, so a staff export can be imported again; unknown columns
+ * (ID, Remaining Leave Days) are ignored. The whole file is validated before anything is written:
+ * bean constraints and hire dates per row, emails against each other in memory and against the
+ * database in a single query. Valid rows are then persisted in one transaction, flushed as JDBC
+ * batches of staff.import.batch-size rows.
+ * In ALL_OR_NOTHING mode any invalid row rejects the file; in BEST_EFFORT mode the valid rows are
+ * imported and the rest reported.
+ */
+@Service
+public class StaffImportService {
+    private static final Logger logger = LoggerFactory.getLogger(StaffImportService.class);
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    /**
+     * Importable columns by normalized header name (lower case, letters and digits only)
+     */
+    private static final Map<String, BiConsumer<ParsedRow, String>> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("firstname", (row, value) -> row.staff.setFirstName(row.text("firstName", value)));
+        COLUMNS.put("lastname", (row, value) -> row.staff.setLastName(row.text("lastName", value)));
+        COLUMNS.put("email", (row, value) -> row.staff.setEmail(row.text("email", value)));
+        COLUMNS.put("phone", (row, value) -> row.staff.setPhone(row.text("phone", value)));
+        COLUMNS.put("address", (row, value) -> row.staff.setAddress(row.text("address", value)));
+        COLUMNS.put("position", (row, value) -> row.staff.setPosition(row.text("position", value)));
+        COLUMNS.put("department", (row, value) -> row.staff.setDepartment(row.text("department", value)));
+        COLUMNS.put("hiredate", (row, value) -> row.staff.setHireDate(row.date("hireDate", value)));
+        COLUMNS.put("dateofbirth", (row, value) -> row.staff.setDateOfBirth(row.date("dateOfBirth", value)));
+        COLUMNS.put("annualleavedays", (row, value) ->
+                row.staff.setAnnualLeaveDays(row.days("annualLeaveDays", value, row.staff.getAnnualLeaveDays())));
+        COLUMNS.put("usedleavedays", (row, value) ->
+                row.staff.setUsedLeaveDays(row.days("usedLeaveDays", value, row.staff.getUsedLeaveDays())));
+        COLUMNS.put("active", (row, value) -> row.staff.setActive(row.bool("active", value)));
+    }
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstname", "lastname", "email");
+
+    // Persisting through the EntityManager bypasses repository exception translation
+    private static final HibernateJpaDialect JPA_DIALECT = new HibernateJpaDialect();
+
+    private final StaffRepository staffRepository;
+    private final StaffSearchService staffSearchService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int maxRows;
+    private final int batchSize;
+
+    public StaffImportService(StaffRepository staffRepository,
+                              StaffSearchService staffSearchService,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              Validator validator,
+                              @Value("${staff.import.max-rows:10000}") int maxRows,
+                              @Value("${staff.import.batch-size:500}") int batchSize) {
+        this.staffRepository = staffRepository;
+        this.staffSearchService = staffSearchService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.maxRows = maxRows;
+        this.batchSize = batchSize;
+    }
+
+    public StaffImportResult importStaff(InputStream inputStream, String fileName, StaffImportResult.Mode mode) {
+        long started = System.currentTimeMillis();
+        logger.info("Importing staff from {} ({})", fileName, mode);
+
+        List<ParsedRow> rows = parse(readRecords(inputStream, fileName));
+        validate(rows);
+
+        List<ParsedRow> valid = rows.stream().filter(ParsedRow::isValid).toList();
+        List<StaffImportResult.RowError> errors = rows.stream().flatMap(row -> row.errors.stream()).toList();
+        boolean rejected = mode == StaffImportResult.Mode.ALL_OR_NOTHING && !errors.isEmpty();
+
+        if (!rejected && !valid.isEmpty()) {
+            insert(valid);
+        }
+
+        int imported = rejected ? 0 : valid.size();
+        logger.info("Staff import from {} finished: {} of {} rows imported, {} rejected{} in {} ms",
+                fileName, imported, rows.size(), rows.size() - valid.size(),
+                rejected ? " (file rejected)" : "", System.currentTimeMillis() - started);
+        return new StaffImportResult(mode, rows.size(), imported, rows.size() - imported, !rejected,
+                System.currentTimeMillis() - started, errors);
+    }
+
+    private List<String[]> readRecords(InputStream inputStream, String fileName) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        try {
+            if (name.endsWith(".csv")) {
+                return readCsv(inputStream);
+            }
+            if (name.endsWith(".xlsx")) {
+                return readXlsx(inputStream);
+            }
+        } catch (IOException e) {
+            throw new ValidationException("file", "File could not be read: " + e.getMessage());
+        }
+        throw new ValidationException("file", "Only .csv and .xlsx files can be imported");
+    }
+
+    private List<String[]> readCsv(InputStream inputStream) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        try (CsvReader csv = new CsvReader(inputStream)) {
+            String[] record;
+            while ((record = csv.readRecord()) != null) {
+                checkRowLimit(records.size());
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Read the first sheet as text; date cells become ISO dates, other cells their displayed value
+     */
+    private List<String[]> readXlsx(InputStream inputStream) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        try (Workbook workbook = new XSSFWorkbook(inputStream)) {
+            DataFormatter formatter = new DataFormatter(Locale.ROOT);
+            Sheet sheet = workbook.getSheetAt(0);
+            for (int r = sheet.getFirstRowNum(); r <= sheet.getLastRowNum(); r++) {
+                Row row = sheet.getRow(r);
+                if (row == null || row.getLastCellNum() < 0) {
+                    records.add(new String[0]);
+                    continue;
+                }
+                checkRowLimit(records.size());
+                String[] record = new String[row.getLastCellNum()];
+                for (int c = 0; c < record.length; c++) {
+                    Cell cell = row.getCell(c);
+                    if (cell != null && cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
+                        record[c] = cell.getLocalDateTimeCellValue().toLocalDate().toString();
+                    } else {
+                        record[c] = cell != null ? formatter.formatCellValue(cell) : "";
+                    }
+                }
+                records.add(record);
+            }
+        } catch (UnsupportedFileFormatException e) {
+            throw new ValidationException("file", "File is not a valid XLSX workbook");
+        }
+        return records;
+    }
+
+    private void checkRowLimit(int records) {
+        // One record is the header
+        if (records > maxRows) {
+            throw new ValidationException("file", "A single import is limited to " + maxRows + " rows");
+        }
+    }
+
+    private List<ParsedRow> parse(List<String[]> records) {
+        if (records.isEmpty()) {
+            throw new ValidationException("file", "File is empty");
+        }
+
+        String[] header = records.get(0);
+        List<BiConsumer<ParsedRow, String>> setters = new ArrayList<>();
+        Set<String> present = new HashSet<>();
+        for (String column : header) {
+            String normalized = normalizeHeader(column);
+            setters.add(COLUMNS.get(normalized));
+            present.add(normalized);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !present.contains(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new ValidationException("file", "Missing required column(s): " + String.join(", ", missing));
+        }
+
+        List<ParsedRow> rows = new ArrayList<>(records.size() - 1);
+        for (int i = 1; i < records.size(); i++) {
+            String[] record = records.get(i);
+            if (isBlank(record)) {
+                continue;
+            }
+            ParsedRow row = new ParsedRow(i + 1);
+            for (int c = 0; c < record.length && c < setters.size(); c++) {
+                if (setters.get(c) != null) {
+                    setters.get(c).accept(row, record[c]);
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Per-row checks, then email uniqueness within the file and against the database in one query
+     */
+    private void validate(List<ParsedRow> rows) {
+        LocalDate today = LocalDate.now();
+        Map<String, Integer> firstRowByEmail = new HashMap<>();
+        for (ParsedRow row : rows) {
+            for (ConstraintViolation<Staff> violation : validator.validate(row.staff)) {
+                row.error(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            if (row.staff.getHireDate() != null && row.staff.getHireDate().isAfter(today)) {
+                row.error("hireDate", "Hire date cannot be in the future");
+            }
+            // Parse errors may precede the email column
+            String email = row.staff.getEmail();
+            row.errors.forEach(error -> error.setEmail(email));
+            if (email != null) {
+                Integer first = firstRowByEmail.putIfAbsent(email, row.row);
+                if (first != null) {
+                    row.error("email", "Email is duplicated in row " + first);
+                }
+            }
+        }
+
+        if (!firstRowByEmail.isEmpty()) {
+            Set<String> existing = new HashSet<>(staffRepository.findExistingEmails(firstRowByEmail.keySet()));
+            for (ParsedRow row : rows) {
+                if (existing.contains(row.staff.getEmail())) {
+                    row.error("email", "Email already exists");
+                }
+            }
+        }
+    }
+
+    private void insert(List<ParsedRow> rows) {
+        List<Staff> staff = rows.stream().map(row -> row.staff).toList();
+        staff.forEach(Staff::calculateRemainingLeaveDays);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Sequence ids are assigned in memory, so the inserts go out as JDBC batches
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                for (int i = 0; i < staff.size(); i++) {
+                    entityManager.persist(staff.get(i));
+                    if ((i + 1) % batchSize == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            DataAccessException translated = e instanceof DataAccessException dataAccess
+                    ? dataAccess : JPA_DIALECT.translateExceptionIfPossible(e);
+            // Another request added one of the emails after the uniqueness check, or is still adding it
+            if (translated instanceof DataIntegrityViolationException
+                    || translated instanceof ConcurrencyFailureException) {
+                logger.warn("Staff import conflicted with a concurrent change: {}", translated.getMessage());
+                throw new BusinessException("IMPORT_CONFLICT",
+                        "Staff were added concurrently with this import; nothing was imported, please retry");
+            }
+            throw e;
+        }
+
+        staffSearchService.indexAll(staff);
+    }
+
+    private static String normalizeHeader(String name) {
+        StringBuilder normalized = new StringBuilder();
+        for (char c : name.toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static boolean isBlank(String[] record) {
+        for (String value : record) {
+            if (value != null && !value.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A data row being imported with the errors found so far
+     */
+    private static class ParsedRow {
+        final int row;
+        final Staff staff = new Staff();
+        final List<StaffImportResult.RowError> errors = new ArrayList<>(0);
+
+        ParsedRow(int row) {
+            this.row = row;
+        }
+
+        boolean isValid() {
+            return errors.isEmpty();
+        }
+
+        void error(String field, String message) {
+            errors.add(new StaffImportResult.RowError(row, staff.getEmail(), field, message));
+        }
+
+        String text(String field, String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            String trimmed = value.trim();
+            if (trimmed.length() > MAX_TEXT_LENGTH) {
+                error(field, "Must be at most " + MAX_TEXT_LENGTH + " characters");
+            }
+            return trimmed;
+        }
+
+        LocalDate date(String field, String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            String trimmed = value.trim();
+            try {
+                return trimmed.indexOf('.') > 0 ? LocalDate.parse(trimmed, DISPLAY_DATE) : LocalDate.parse(trimmed);
+            } catch (DateTimeParseException e) {
+                error(field, "Invalid date '" + trimmed + "', expected yyyy-MM-dd or dd.MM.yyyy");
+                return null;
+            }
+        }
+
+        Integer days(String field, String value, Integer defaultValue) {
+            if (value == null || value.isBlank()) {
+                return defaultValue;
+            }
+            try {
+                int days = Integer.parseInt(value.trim());
+                if (days < 0) {
+                    error(field, "Must not be negative");
+                }
+                return days;
+            } catch (NumberFormatException e) {
+                error(field, "Invalid number '" + value.trim() + "'");
+                return defaultValue;
+            }
+        }
+
+        Boolean bool(String field, String value) {
+            if (value == null || value.isBlank()) {
+                return true;
+            }
+            switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "true", "yes", "1":
+                    return true;
+                case "false", "no", "0":
+                    return false;
+                default:
+                    error(field, "Invalid value '" + value.trim() + "', expected true or false");
+                    return true;
+            }
+        }
+    }
+}
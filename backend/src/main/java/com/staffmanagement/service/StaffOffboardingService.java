@@ -0,0 +1,144 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.dto.StaffOffboardingResult;
+import com.staffmanagement.exception.ResourceNotFoundException;
+import com.staffmanagement.model.ChangeEntityType;
+import com.staffmanagement.model.Tombstone;
+import com.staffmanagement.repository.StaffRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Removes an employee together with their attendance, leave requests and documents.
+ * Every step is a single set-based statement keyed by staff id, so offboarding takes the same
+ * dozen round trips whatever the size of the history; no child entity is loaded. Tombstones for
+ * delta exports are written by INSERT ... SELECT, and with archiving the rows are first copied
+ * to the *_archive tables under their original ids.
+ */
+@Service
+@Transactional
+public class StaffOffboardingService {
+    private static final Logger logger = LoggerFactory.getLogger(StaffOffboardingService.class);
+
+    private static final String ARCHIVE_ATTENDANCE = "INSERT INTO ArchivedAttendanceRecord (id, staffId, date, "
+            + "clockInTime, clockOutTime, breakStartTime, breakEndTime, status, totalWorkMinutes, overtimeMinutes, "
+            + "breakMinutes, clockInLocation, clockOutLocation, clockInIpAddress, clockOutIpAddress, notes, approved, "
+            + "approvedAt, approvedBy, createdAt, updatedAt, archivedAt) "
+            + "SELECT a.id, a.staff.id, a.date, a.clockInTime, a.clockOutTime, a.breakStartTime, a.breakEndTime, "
+            + "a.status, a.totalWorkMinutes, a.overtimeMinutes, a.breakMinutes, a.clockInLocation, a.clockOutLocation, "
+            + "a.clockInIpAddress, a.clockOutIpAddress, a.notes, a.approved, a.approvedAt, a.approvedBy, a.createdAt, "
+            + "a.updatedAt, :now FROM AttendanceRecord a WHERE a.staff.id = :staffId";
+
+    private static final String ARCHIVE_LEAVE_REQUESTS = "INSERT INTO ArchivedLeaveRequest (id, staffId, startDate, "
+            + "endDate, leaveType, status, reason, rejectionReason, daysRequested, requestDate, approvalDate, createdAt, "
+            + "updatedAt, archivedAt) "
+            + "SELECT l.id, l.staff.id, l.startDate, l.endDate, l.leaveType, l.status, l.reason, l.rejectionReason, "
+            + "l.daysRequested, l.requestDate, l.approvalDate, l.createdAt, l.updatedAt, :now "
+            + "FROM LeaveRequest l WHERE l.staff.id = :staffId";
+
+    private static final String ARCHIVE_DOCUMENTS = "INSERT INTO ArchivedDocument (id, staffId, documentName, "
+            + "documentType, fileName, fileUrl, fileSize, contentHash, contentType, uploadDate, uploadedBy, notes, "
+            + "expiresAt, createdAt, updatedAt, archivedAt) "
+            + "SELECT d.id, d.staff.id, d.documentName, d.documentType, d.fileName, d.fileUrl, d.fileSize, "
+            + "d.contentHash, d.contentType, d.uploadDate, d.uploadedBy, d.notes, d.expiresAt, d.createdAt, d.updatedAt, :now "
+            + "FROM Document d WHERE d.staff.id = :staffId";
+
+    private static final String ARCHIVE_STAFF = "INSERT INTO ArchivedStaff (id, firstName, lastName, email, phone, "
+            + "address, position, department, hireDate, dateOfBirth, annualLeaveDays, usedLeaveDays, remainingLeaveDays, "
+            + "carriedOverLeaveDays, lastCarryoverYear, active, createdAt, updatedAt, archivedAt) "
+            + "SELECT s.id, s.firstName, s.lastName, s.email, s.phone, s.address, s.position, s.department, s.hireDate, "
+            + "s.dateOfBirth, s.annualLeaveDays, s.usedLeaveDays, s.remainingLeaveDays, s.carriedOverLeaveDays, "
+            + "s.lastCarryoverYear, s.active, s.createdAt, s.updatedAt, :now FROM Staff s WHERE s.id = :staffId";
+
+    private final EntityManager entityManager;
+    private final StaffRepository staffRepository;
+    private final StaffSearchService staffSearchService;
+    private final DocumentSearchService documentSearchService;
+    private final DocumentExpiryService documentExpiryService;
+    private final String tombstoneIdExpression;
+
+    public StaffOffboardingService(EntityManager entityManager,
+                                   EntityManagerFactory entityManagerFactory,
+                                   StaffRepository staffRepository,
+                                   StaffSearchService staffSearchService,
+                                   DocumentSearchService documentSearchService,
+                                   DocumentExpiryService documentExpiryService) {
+        this.entityManager = entityManager;
+        this.staffRepository = staffRepository;
+        this.staffSearchService = staffSearchService;
+        this.documentSearchService = documentSearchService;
+        this.documentExpiryService = documentExpiryService;
+        // Tombstone ids come from its pooled-lo sequence; each nextval reserves a block, so the
+        // rows inserted here can never collide with ids Hibernate hands out from its own blocks
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.tombstoneIdExpression = dialect.getSequenceSupport().getSelectSequenceNextValString("tombstones_seq");
+    }
+
+    public StaffOffboardingResult offboard(Long staffId, boolean archive) {
+        long started = System.currentTimeMillis();
+        logger.info("Offboarding staff with id: {} ({})", staffId, archive ? "archive" : "delete");
+        if (!staffRepository.existsById(staffId)) {
+            throw new ResourceNotFoundException("Staff", staffId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        writeTombstones(staffId, now);
+        if (archive) {
+            execute(ARCHIVE_ATTENDANCE, staffId, now);
+            execute(ARCHIVE_LEAVE_REQUESTS, staffId, now);
+            execute(ARCHIVE_DOCUMENTS, staffId, now);
+            execute(ARCHIVE_STAFF, staffId, now);
+        }
+
+        int attendance = execute("DELETE FROM AttendanceRecord a WHERE a.staff.id = :staffId", staffId, null);
+        int leaveRequests = execute("DELETE FROM LeaveRequest l WHERE l.staff.id = :staffId", staffId, null);
+        int documents = execute("DELETE FROM Document d WHERE d.staff.id = :staffId", staffId, null);
+        // A bulk delete bypasses the cascade; Hibernate evicts cached staff and staff query results for it
+        execute("DELETE FROM Staff s WHERE s.id = :staffId", staffId, null);
+        staffSearchService.remove(staffId);
+        documentSearchService.removeByStaff(staffId);
+        documentExpiryService.untrackStaff(staffId);
+
+        long duration = System.currentTimeMillis() - started;
+        logger.info("Staff {} offboarded: {} attendance records, {} leave requests, {} documents {} in {} ms",
+                staffId, attendance, leaveRequests, documents, archive ? "archived" : "deleted", duration);
+        return new StaffOffboardingResult(staffId, archive, attendance, leaveRequests, documents, duration);
+    }
+
+    private void writeTombstones(Long staffId, LocalDateTime now) {
+        String insert = "INSERT INTO tombstones (id, entity_type, entity_id, deleted_at) SELECT "
+                + tombstoneIdExpression + ", '%s', id, :now FROM %s WHERE %s = :staffId";
+        executeNative(insert.formatted(ChangeEntityType.ATTENDANCE_RECORD, "attendance_records", "staff_id"), staffId, now);
+        executeNative(insert.formatted(ChangeEntityType.LEAVE_REQUEST, "leave_requests", "staff_id"), staffId, now);
+        executeNative(insert.formatted(ChangeEntityType.DOCUMENT, "documents", "staff_id"), staffId, now);
+        executeNative(insert.formatted(ChangeEntityType.STAFF, "staff", "id"), staffId, now);
+    }
+
+    private int execute(String hql, Long staffId, LocalDateTime now) {
+        Query query = entityManager.createQuery(hql).setParameter("staffId", staffId);
+        if (now != null) {
+            query.setParameter("now", now);
+        }
+        return query.executeUpdate();
+    }
+
+    private void executeNative(String sql, Long staffId, LocalDateTime now) {
+        entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                // Without it Hibernate would invalidate every cache region, not just tombstones
+                .addSynchronizedEntityClass(Tombstone.class)
+                .setParameter("staffId", staffId)
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,482 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.dto.StaffSearchResult;
+import com.staffmanagement.model.Staff;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typeahead index over staff name, email, department and position.
+ * Text is folded to lower-case ASCII (so "Işık Şahin" matches "isik sahin") and split into tokens.
+ * Each distinct token is a term in a sorted dictionary, with separate postings (int arrays of
+ * document slots) for name and non-name fields, so prefix lookups are a range scan of the
+ * dictionary. Infix lookups go through a trigram index over the vocabulary rather than over
+ * documents, which keeps it small and narrows an infix query to a handful of terms.
+ * Scores are accumulated straight from postings, and the ranking key and active flag live in
+ * arrays next to them, so a search does no per-document string matching or object dereferencing
+ * until a document makes it into the requested page.
+ * Searches take a read lock and may run concurrently; updates take the write lock.
+ */
+public class StaffSearchIndex {
+    private static final int GRAM = 3;
+
+    // Match quality per query token, multiplied by the field weight
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int INFIX = 1;
+    private static final int NAME_WEIGHT = 2;
+    private static final int OTHER_WEIGHT = 1;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Term> terms = new TreeMap<>();
+    private final Map<String, Set<String>> gramTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    private Entry[] slots = new Entry[1024];
+    private long[] sortPrefixes = new long[1024];
+    private boolean[] activeFlags = new boolean[1024];
+    private int slotCount;
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    /**
+     * Add a staff member, or replace the indexed copy if already present
+     */
+    public void put(Staff staff) {
+        Entry entry = new Entry(staff);
+        lock.writeLock().lock();
+        try {
+            removeEntry(entries.get(entry.id));
+            entry.slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+            if (entry.slot == slots.length) {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+                sortPrefixes = Arrays.copyOf(sortPrefixes, slots.length);
+                activeFlags = Arrays.copyOf(activeFlags, slots.length);
+            }
+            slots[entry.slot] = entry;
+            sortPrefixes[entry.slot] = entry.sortPrefix;
+            activeFlags[entry.slot] = entry.active;
+            entries.put(entry.id, entry);
+            for (String token : entry.nameTokens) {
+                term(token).name.add(entry.slot);
+            }
+            for (String token : entry.otherTokens) {
+                term(token).other.add(entry.slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Collection<Staff> staff) {
+        staff.forEach(this::put);
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(entries.get(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            terms.clear();
+            gramTerms.clear();
+            slots = new Entry[1024];
+            sortPrefixes = new long[1024];
+            activeFlags = new boolean[1024];
+            slotCount = 0;
+            freeSlots.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every query token must match a token of the staff member, as a whole word, a prefix or
+     * (from three characters on) anywhere inside it. A staff member scores the best match per
+     * query token, with name matches counting double; ties are ordered by last and first name.
+     */
+    public StaffSearchResult search(String query, boolean includeInactive, int page, int size) {
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0) {
+            return new StaffSearchResult(query, 0, page, size, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            Scratch state = scratch.get().reset(slotCount);
+            for (int i = 0; i < queryTokens.length; i++) {
+                String token = queryTokens[i];
+                for (Map.Entry<String, Term> match : terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+                    int quality = match.getKey().length() == token.length() ? EXACT : PREFIX;
+                    match.getValue().collect(state, i, quality);
+                }
+                if (token.length() >= GRAM) {
+                    for (String term : infixTerms(token)) {
+                        terms.get(term).collect(state, i, INFIX);
+                    }
+                }
+                state.endToken();
+            }
+
+            // Callers bound the page, but the heap never needs more entries than there are matches
+            int limit = (int) Math.min((page + 1L) * size, state.matchCount);
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            int total = 0;
+            for (int i = 0; i < state.matchCount; i++) {
+                int slot = state.matched[i];
+                if (!includeInactive && !activeFlags[slot]) {
+                    continue;
+                }
+                total++;
+                int score = state.score[slot];
+                long sortPrefix = sortPrefixes[slot];
+                if (top.size() == limit) {
+                    Scored worst = top.peek();
+                    if (score < worst.score || (score == worst.score && (sortPrefix > worst.entry.sortPrefix
+                            || (sortPrefix == worst.entry.sortPrefix && worst.entry.compareTo(slots[slot]) < 0)))) {
+                        continue;
+                    }
+                }
+                top.add(new Scored(slots[slot], score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Scored> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING);
+            List<StaffSearchResult.Hit> hits = new ArrayList<>(size);
+            for (int i = (int) Math.min((long) page * size, ranked.size()); i < ranked.size(); i++) {
+                hits.add(ranked.get(i).toHit());
+            }
+            return new StaffSearchResult(query, total, page, size, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-case, strip diacritics and map Turkish dotless/dotted i, so text compares as plain ASCII
+     */
+    public static String fold(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                folded.append(c >= 'A' && c <= 'Z' ? (char) (c + 32) : c);
+                continue;
+            }
+            switch (c) {
+                case 'ı', 'İ' -> folded.append('i');
+                case 'ş', 'Ş' -> folded.append('s');
+                case 'ğ', 'Ğ' -> folded.append('g');
+                case 'ç', 'Ç' -> folded.append('c');
+                case 'ö', 'Ö' -> folded.append('o');
+                case 'ü', 'Ü' -> folded.append('u');
+                default -> {
+                    if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                        continue;
+                    }
+                    String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+                    folded.append(Character.toLowerCase(decomposed.charAt(0)));
+                }
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Fold and split on anything that is not a letter or digit (spaces, dots, '@', dashes)
+     */
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String folded = fold(text);
+        List<String> tokens = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    /**
+     * Terms containing the token somewhere other than at the start (prefix matches are scored already)
+     */
+    private List<String> infixTerms(String token) {
+        Set<String> smallest = null;
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            Set<String> candidates = gramTerms.get(token.substring(i, i + GRAM));
+            if (candidates == null) {
+                return List.of();
+            }
+            if (smallest == null || candidates.size() < smallest.size()) {
+                smallest = candidates;
+            }
+        }
+        List<String> result = new ArrayList<>();
+        for (String term : smallest) {
+            if (!term.startsWith(token) && term.contains(token)) {
+                result.add(term);
+            }
+        }
+        return result;
+    }
+
+    private Term term(String token) {
+        Term term = terms.get(token);
+        if (term == null) {
+            term = new Term();
+            terms.put(token, term);
+            for (int i = 0; i + GRAM <= token.length(); i++) {
+                gramTerms.computeIfAbsent(token.substring(i, i + GRAM), key -> new HashSet<>()).add(token);
+            }
+        }
+        return term;
+    }
+
+    private void removeEntry(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        entries.remove(entry.id);
+        for (String token : entry.nameTokens) {
+            terms.get(token).name.remove(entry.slot);
+        }
+        for (String token : entry.otherTokens) {
+            terms.get(token).other.remove(entry.slot);
+        }
+        for (String token : entry.nameTokens) {
+            dropIfUnused(token);
+        }
+        for (String token : entry.otherTokens) {
+            dropIfUnused(token);
+        }
+        slots[entry.slot] = null;
+        freeSlots.push(entry.slot);
+    }
+
+    private void dropIfUnused(String token) {
+        Term term = terms.get(token);
+        if (term == null || term.name.size > 0 || term.other.size > 0) {
+            return;
+        }
+        terms.remove(token);
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            String gram = token.substring(i, i + GRAM);
+            Set<String> gramSet = gramTerms.get(gram);
+            if (gramSet != null && gramSet.remove(token) && gramSet.isEmpty()) {
+                gramTerms.remove(gram);
+            }
+        }
+    }
+
+    private static final Comparator<Scored> RANKING = Comparator.<Scored>comparingInt(scored -> -scored.score)
+            .thenComparing(scored -> scored.entry);
+
+    private static final class Entry implements Comparable<Entry> {
+        private final Long id;
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        private final String department;
+        private final String position;
+        private final boolean active;
+        private final String sortKey;
+        private final long sortPrefix;
+        private final String[] nameTokens;
+        private final String[] otherTokens;
+        private int slot;
+
+        Entry(Staff staff) {
+            this.id = staff.getId();
+            this.firstName = staff.getFirstName();
+            this.lastName = staff.getLastName();
+            this.email = staff.getEmail();
+            this.department = staff.getDepartment();
+            this.position = staff.getPosition();
+            this.active = !Boolean.FALSE.equals(staff.getActive());
+            this.sortKey = fold(Objects.toString(lastName, "") + " " + Objects.toString(firstName, ""));
+            this.sortPrefix = packPrefix(sortKey);
+            this.nameTokens = distinct(tokenize(firstName), tokenize(lastName));
+            this.otherTokens = distinct(tokenize(email), tokenize(department), tokenize(position));
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            if (sortPrefix != other.sortPrefix) {
+                return Long.compare(sortPrefix, other.sortPrefix);
+            }
+            int bySortKey = sortKey.compareTo(other.sortKey);
+            return bySortKey != 0 ? bySortKey : Long.compare(id, other.id);
+        }
+
+        /**
+         * First nine characters at seven bits each, ordered like the string itself
+         * (non-ASCII characters collapse to the top value and are told apart by the full key)
+         */
+        private static long packPrefix(String key) {
+            long packed = 0;
+            for (int i = 0; i < 9; i++) {
+                packed = (packed << 7) | (i < key.length() ? Math.min(key.charAt(i), 127) : 0);
+            }
+            return packed;
+        }
+
+        private static String[] distinct(String[]... tokenArrays) {
+            Set<String> tokens = new LinkedHashSet<>();
+            for (String[] tokenArray : tokenArrays) {
+                tokens.addAll(Arrays.asList(tokenArray));
+            }
+            return tokens.toArray(new String[0]);
+        }
+    }
+
+    private static final class Term {
+        private final Postings name = new Postings();
+        private final Postings other = new Postings();
+
+        void collect(Scratch state, int tokenIndex, int quality) {
+            name.collect(state, tokenIndex, quality * NAME_WEIGHT);
+            other.collect(state, tokenIndex, quality * OTHER_WEIGHT);
+        }
+    }
+
+    private static final class Scored {
+        private final Entry entry;
+        private final int score;
+
+        Scored(Entry entry, int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+
+        StaffSearchResult.Hit toHit() {
+            return new StaffSearchResult.Hit(entry.id, entry.firstName, entry.lastName, entry.email,
+                    entry.department, entry.position, entry.active, score);
+        }
+    }
+
+    /**
+     * Unordered int set of document slots; removal swaps in the last element
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+
+        void collect(Scratch state, int tokenIndex, int points) {
+            for (int i = 0; i < size; i++) {
+                state.offer(slots[i], tokenIndex, points);
+            }
+        }
+    }
+
+    /**
+     * Per-thread score accumulators, reused across searches. A slot is only considered for query
+     * token i if it matched tokens 0..i-1; {@code stage} counts matched tokens and is valid only
+     * when {@code epochs} holds the current search's epoch, so nothing is cleared between searches.
+     */
+    private static final class Scratch {
+        private int[] epochs = new int[0];
+        private int[] stage = new int[0];
+        private int[] score = new int[0];
+        private int[] best = new int[0];
+        private int[] matched = new int[16];
+        private int matchCount;
+        private int[] pending = new int[16];
+        private int pendingCount;
+        private int epoch;
+
+        Scratch reset(int slotCount) {
+            if (epochs.length < slotCount) {
+                int capacity = Math.max(slotCount, epochs.length * 2);
+                epochs = new int[capacity];
+                stage = new int[capacity];
+                score = new int[capacity];
+                best = new int[capacity];
+                epoch = 0;
+            }
+            epoch++;
+            matchCount = 0;
+            pendingCount = 0;
+            return this;
+        }
+
+        void offer(int slot, int tokenIndex, int points) {
+            if (epochs[slot] != epoch) {
+                if (tokenIndex != 0) {
+                    return;
+                }
+                epochs[slot] = epoch;
+                stage[slot] = 0;
+                score[slot] = 0;
+            }
+            if (stage[slot] == tokenIndex) {
+                stage[slot] = tokenIndex + 1;
+                best[slot] = points;
+                if (pendingCount == pending.length) {
+                    pending = Arrays.copyOf(pending, pendingCount * 2);
+                }
+                pending[pendingCount++] = slot;
+            } else if (stage[slot] == tokenIndex + 1 && points > best[slot]) {
+                best[slot] = points;
+            }
+        }
+
+        /**
+         * Add the best match of the finished token; the slots that matched it are the next round's survivors
+         */
+        void endToken() {
+            for (int i = 0; i < pendingCount; i++) {
+                score[pending[i]] += best[pending[i]];
+            }
+            int[] swap = matched;
+            matched = pending;
+            matchCount = pendingCount;
+            pending = swap;
+            pendingCount = 0;
+        }
+    }
+}
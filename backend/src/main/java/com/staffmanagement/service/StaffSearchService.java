@@ -0,0 +1,87 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.dto.StaffSearchResult;
+import com.staffmanagement.exception.ValidationException;
+import com.staffmanagement.model.Staff;
+import com.staffmanagement.repository.StaffRepository;
+import com.staffmanagement.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Typeahead search over staff, answered from {@link StaffSearchIndex} without touching the database.
+ * The index is built once the application is ready and then kept current by {@link StaffService},
+ * whose changes are applied only after their transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class StaffSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(StaffSearchService.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    // Deepest result a page may reach; ranking keeps every result up to the end of the page in a heap
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final StaffRepository staffRepository;
+    private final StaffSearchIndex index = new StaffSearchIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        index.clear();
+        index.putAll(staffRepository.findAll());
+        logger.info("Staff search index built with {} entries in {} ms", index.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    public StaffSearchResult search(String query, boolean includeInactive, int page, int size) {
+        if (page < 0) {
+            throw new ValidationException("page", "Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("size", "Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((long) (page + 1) * size > MAX_RESULT_WINDOW) {
+            throw new ValidationException("page", "Results are available up to the first " + MAX_RESULT_WINDOW);
+        }
+        logger.debug("Searching staff: '{}' (page {}, size {})", query, page, size);
+        return index.search(query, includeInactive, page, size);
+    }
+
+    public void index(Staff staff) {
+        Staff snapshot = snapshot(staff);
+        TransactionUtil.afterCommit(() -> index.put(snapshot));
+    }
+
+    public void indexAll(Collection<Staff> staff) {
+        List<Staff> snapshots = staff.stream().map(StaffSearchService::snapshot).toList();
+        TransactionUtil.afterCommit(() -> index.putAll(snapshots));
+    }
+
+    public void remove(Long id) {
+        TransactionUtil.afterCommit(() -> index.remove(id));
+    }
+
+    /**
+     * Copy the indexed fields now: the entity may still change before the transaction commits
+     */
+    private static Staff snapshot(Staff staff) {
+        Staff snapshot = new Staff();
+        snapshot.setId(staff.getId());
+        snapshot.setFirstName(staff.getFirstName());
+        snapshot.setLastName(staff.getLastName());
+        snapshot.setEmail(staff.getEmail());
+        snapshot.setDepartment(staff.getDepartment());
+        snapshot.setPosition(staff.getPosition());
+        snapshot.setActive(staff.getActive());
+        return snapshot;
+    }
+}
@@ -1,5 +1,6 @@
 package com.staffmanagement.service;
 
+import com.staffmanagement.dto.StaffResponse;
 import com.staffmanagement.exception.ResourceNotFoundException;
 import com.staffmanagement.exception.ValidationException;
 import com.staffmanagement.model.Staff;
@@ -19,23 +20,29 @@ import java.util.List;
 public class StaffService {
     private static final Logger logger = LoggerFactory.getLogger(StaffService.class);
     private final StaffRepository staffRepository;
+    private final StaffSearchService staffSearchService;
+    private final StaffOffboardingService staffOffboardingService;
 
-    public List<Staff> getAllStaff() {
+    @Transactional(readOnly = true)
+    public List<StaffResponse> getAllStaff() {
         logger.debug("Fetching all staff members");
-        return staffRepository.findAll();
+        return staffRepository.findAllResponses();
     }
 
-    public List<Staff> getActiveStaff() {
+    @Transactional(readOnly = true)
+    public List<StaffResponse> getActiveStaff() {
         logger.debug("Fetching active staff members");
-        return staffRepository.findByActiveTrue();
+        return staffRepository.findActiveResponses();
     }
 
+    @Transactional(readOnly = true)
     public Staff getStaffById(Long id) {
         logger.debug("Fetching staff with id: {}", id);
         return staffRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Staff", id));
     }
 
+    @Transactional(readOnly = true)
     public Staff getStaffByEmail(String email) {
         logger.debug("Fetching staff with email: {}", email);
         return staffRepository.findByEmail(email)
@@ -57,6 +64,7 @@ public class StaffService {
 
         staff.calculateRemainingLeaveDays();
         Staff savedStaff = staffRepository.save(staff);
+        staffSearchService.index(savedStaff);
         logger.info("Staff created successfully with id: {}", savedStaff.getId());
         return savedStaff;
     }
@@ -80,28 +88,28 @@ public class StaffService {
 
         staff.calculateRemainingLeaveDays();
         Staff updated = staffRepository.save(staff);
+        staffSearchService.index(updated);
         logger.info("Staff updated successfully: {}", id);
         return updated;
     }
 
     public void deleteStaff(Long id) {
-        logger.info("Deleting staff with id: {}", id);
-        Staff staff = getStaffById(id);
-        staffRepository.delete(staff);
-        logger.info("Staff deleted successfully: {}", id);
+        // Set-based: attendance, leave requests and documents go with the staff row without being loaded
+        staffOffboardingService.offboard(id, false);
     }
 
     public void deactivateStaff(Long id) {
         logger.info("Deactivating staff with id: {}", id);
         Staff staff = getStaffById(id);
         staff.setActive(false);
-        staffRepository.save(staff);
+        staffSearchService.index(staffRepository.save(staff));
         logger.info("Staff deactivated successfully: {}", id);
     }
 
-    public List<Staff> getStaffByDepartment(String department) {
+    @Transactional(readOnly = true)
+    public List<StaffResponse> getStaffByDepartment(String department) {
         logger.debug("Fetching staff by department: {}", department);
-        return staffRepository.findByDepartment(department);
+        return staffRepository.findResponsesByDepartment(department);
     }
 
     /**
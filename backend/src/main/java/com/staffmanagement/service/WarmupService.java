@@ -0,0 +1,214 @@
+package com.staffmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.staffmanagement.dto.*;
+import com.staffmanagement.model.AttendanceRecord;
+import com.staffmanagement.model.Document;
+import com.staffmanagement.model.LeaveRequest;
+import com.staffmanagement.model.LeaveStatus;
+import com.staffmanagement.model.Staff;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Warms up the expensive first-use paths once at startup instead of on the first user request:
+ * POI and XMLBeans for certificates and XLSX exports, Hibernate query plans and the staff cache
+ * for the dashboard and list queries, and Jackson (de)serializers for the entities and DTOs the
+ * controllers exchange. Runs as the last application runner, so the application reports ready
+ * (readiness state ACCEPTING_TRAFFIC) only once it is done or {@code warmup.budget-ms} has run
+ * out; steps that have not started by then are skipped. Per-step timings are kept as a
+ * {@link WarmupReport} and recorded, with the total, as the {@code warmup.duration} timer.
+ */
+@Service
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class WarmupService implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+
+    private static final List<Class<?>> REQUEST_TYPES = List.of(
+            Staff.class, LeaveRequest.class, AttendanceRecord.class, Document.class, ExportJobRequest.class);
+    private static final List<Class<?>> RESPONSE_TYPES = List.of(
+            StaffResponse.class, LeaveRequestResponse.class, AttendanceResponse.class, DocumentResponse.class,
+            DashboardStats.class, StaffSearchResult.class, DocumentSearchResult.class, DocumentExpiryGroup.class,
+            ExportJobStatus.class, ErrorResponse.class);
+
+    private final LeaveCertificateService leaveCertificateService;
+    private final DashboardService dashboardService;
+    private final StaffService staffService;
+    private final LeaveRequestService leaveRequestService;
+    private final AttendanceService attendanceService;
+    private final ExportService exportService;
+    private final BusinessMetrics businessMetrics;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long budgetMillis;
+    private volatile WarmupReport report;
+
+    public WarmupService(LeaveCertificateService leaveCertificateService,
+                         DashboardService dashboardService,
+                         StaffService staffService,
+                         LeaveRequestService leaveRequestService,
+                         AttendanceService attendanceService,
+                         ExportService exportService,
+                         BusinessMetrics businessMetrics,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${warmup.enabled:true}") boolean enabled,
+                         @Value("${warmup.budget-ms:15000}") long budgetMillis) {
+        this.leaveCertificateService = leaveCertificateService;
+        this.dashboardService = dashboardService;
+        this.staffService = staffService;
+        this.leaveRequestService = leaveRequestService;
+        this.attendanceService = attendanceService;
+        this.exportService = exportService;
+        this.businessMetrics = businessMetrics;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.budgetMillis = budgetMillis;
+        this.report = new WarmupReport(enabled, false, budgetMillis, 0, List.of());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            logger.info("Startup warm-up is disabled");
+            return;
+        }
+        long started = System.nanoTime();
+        List<WarmupReport.Step> steps = new CopyOnWriteArrayList<>();
+        AtomicBoolean stopped = new AtomicBoolean();
+        Thread worker = new Thread(() -> {
+            // The warm-up export is not a real one and must not show up in the business counters
+            businessMetrics.pause();
+            try {
+                runSteps(steps, stopped);
+            } finally {
+                businessMetrics.resume();
+            }
+        }, "startup-warmup");
+        worker.setDaemon(true);
+        worker.start();
+        try {
+            worker.join(budgetMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // A step still running finishes in the background, but no further step is started
+        stopped.set(true);
+        boolean completed = !worker.isAlive();
+        long elapsed = System.nanoTime() - started;
+        record("total", completed ? "completed" : "out-of-budget", elapsed);
+        long duration = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        report = new WarmupReport(true, completed, budgetMillis, duration, List.copyOf(steps));
+        if (completed) {
+            logger.info("Startup warm-up finished in {} ms: {}", duration, summary(steps));
+        } else {
+            logger.warn("Startup warm-up ran out of its {} ms budget: {}", budgetMillis, summary(steps));
+        }
+    }
+
+    public WarmupReport getReport() {
+        return report;
+    }
+
+    private void runSteps(List<WarmupReport.Step> steps, AtomicBoolean stopped) {
+        List<Object> samples = new ArrayList<>();
+        Map<String, WarmupStep> plan = new LinkedHashMap<>();
+        plan.put("certificate", leaveCertificateService::renderSample);
+        plan.put("queries", () -> {
+            samples.add(dashboardService.getDashboardStats());
+            samples.add(staffService.getActiveStaff());
+            samples.add(leaveRequestService.getLeaveRequestsByStatus(LeaveStatus.PENDING).stream()
+                    .map(LeaveRequestResponse::from).toList());
+            samples.add(attendanceService.getAttendanceByDate(LocalDate.now()).stream()
+                    .map(AttendanceResponse::from).toList());
+        });
+        plan.put("jackson", () -> {
+            for (Class<?> type : REQUEST_TYPES) {
+                objectMapper.readerFor(type);
+            }
+            for (Class<?> type : RESPONSE_TYPES) {
+                objectMapper.writerFor(type);
+            }
+            for (Object sample : samples) {
+                objectMapper.writeValueAsBytes(sample);
+            }
+        });
+        // No staff has id 0, so only the header row is written; what matters is loading POI's streaming writer
+        plan.put("export", () -> exportService.writeLeaveRequestsXlsx(OutputStream.nullOutputStream(), 0L));
+
+        plan.forEach((name, step) -> {
+            if (stopped.get()) {
+                record(name, "skipped", 0);
+                steps.add(new WarmupReport.Step(name, "SKIPPED", 0, null));
+                return;
+            }
+            long started = System.nanoTime();
+            String status = "DONE";
+            String error = null;
+            try {
+                step.run();
+            } catch (Exception e) {
+                // A failed warm-up step only means the first real request pays the cost after all
+                logger.warn("Warm-up step {} failed: {}", name, e.toString());
+                status = "FAILED";
+                error = e.toString();
+            }
+            long elapsed = System.nanoTime() - started;
+            record(name, status.toLowerCase(), elapsed);
+            steps.add(new WarmupReport.Step(name, status, TimeUnit.NANOSECONDS.toMillis(elapsed), error));
+        });
+    }
+
+    /**
+     * @param step a step name, or total for the whole warm-up
+     */
+    private void record(String step, String status, long nanos) {
+        Timer.builder("warmup.duration")
+                .description("Startup warm-up, per step and in total")
+                .tag("step", step)
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String summary(List<WarmupReport.Step> steps) {
+        StringBuilder summary = new StringBuilder();
+        for (WarmupReport.Step step : steps) {
+            if (!summary.isEmpty()) {
+                summary.append(", ");
+            }
+            summary.append(step.getName()).append(' ');
+            if ("DONE".equals(step.getStatus())) {
+                summary.append(step.getDurationMillis()).append(" ms");
+            } else {
+                summary.append(step.getStatus().toLowerCase());
+            }
+        }
+        return summary.toString();
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        void run() throws Exception;
+    }
+}
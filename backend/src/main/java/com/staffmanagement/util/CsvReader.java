@@ -0,0 +1,105 @@
+package com.staffmanagement.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record-at-a-time RFC 4180 CSV reader, the counterpart of {@link CsvWriter}.
+ * Handles quoted fields with doubled quotes and embedded line breaks, CRLF, LF or CR
+ * record ends and a leading UTF-8 byte order mark (as written by Excel).
+ * Input is decoded as UTF-8.
+ */
+public class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader in;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private int pos;
+    private int limit;
+    private boolean firstChar = true;
+
+    public CsvReader(InputStream in) {
+        this.in = new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read the next record, or null at the end of the input
+     */
+    public String[] readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new EOFException("Unterminated quoted field in record " + (fields.size() + 1));
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    skipIf('\n');
+                }
+                fields.add(field.toString());
+                return fields.toArray(new String[0]);
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            limit = in.read(buf, 0, buf.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        char c = buf[pos++];
+        if (firstChar) {
+            firstChar = false;
+            if (c == '\uFEFF') {
+                return read();
+            }
+        }
+        return c;
+    }
+
+    private void skipIf(char expected) throws IOException {
+        int c = read();
+        if (c != expected && c != -1) {
+            pos--;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.staffmanagement.util;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Streaming RFC 4180 CSV writer.
+ * Fields are escaped in a single pass and encoded as UTF-8 straight into a reusable
+ * byte buffer; numbers, dates and timestamps are written digit by digit, so writing
+ * a row does not create intermediate Strings. Records end with CRLF.
+ * I/O failures of the underlying stream are rethrown as {@link UncheckedIOException}.
+ */
+public class CsvWriter implements Flushable {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    private final OutputStream out;
+    private byte[] buf;
+    private int pos;
+    private boolean firstField = true;
+
+    public CsvWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buf = new byte[Math.max(bufferSize, 64)];
+    }
+
+    /**
+     * Write a complete header record
+     */
+    public CsvWriter header(String... names) {
+        for (String name : names) {
+            field(name);
+        }
+        return endRow();
+    }
+
+    public CsvWriter field(CharSequence value) {
+        if (value == null) {
+            return empty();
+        }
+        ensure(3 * value.length() + 3);
+        separator();
+        int start = reserveQuote();
+        boolean quote = encode(value);
+        closeQuote(start, quote);
+        return this;
+    }
+
+    /**
+     * Write two values joined by a separator as a single field (e.g. "First Last")
+     */
+    public CsvWriter field(CharSequence first, char separator, CharSequence second) {
+        int length = (first != null ? first.length() : 0) + (second != null ? second.length() : 0) + 1;
+        ensure(3 * length + 3);
+        separator();
+        int start = reserveQuote();
+        boolean quote = first != null && encode(first);
+        quote |= encodeChar(separator);
+        quote |= second != null && encode(second);
+        closeQuote(start, quote);
+        return this;
+    }
+
+    public CsvWriter field(long value) {
+        ensure(21);
+        separator();
+        writeLong(value);
+        return this;
+    }
+
+    public CsvWriter field(Long value) {
+        return value != null ? field(value.longValue()) : empty();
+    }
+
+    public CsvWriter field(Integer value) {
+        return value != null ? field(value.longValue()) : empty();
+    }
+
+    public CsvWriter field(boolean value) {
+        byte[] bytes = value ? TRUE : FALSE;
+        ensure(bytes.length + 1);
+        separator();
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+        return this;
+    }
+
+    public CsvWriter field(Boolean value) {
+        return value != null ? field(value.booleanValue()) : empty();
+    }
+
+    public CsvWriter field(Enum<?> value) {
+        return value != null ? field(value.name()) : empty();
+    }
+
+    /**
+     * Write a date in ISO-8601 form (same as {@link LocalDate#toString()})
+     */
+    public CsvWriter field(LocalDate value) {
+        if (value == null) {
+            return empty();
+        }
+        if (value.getYear() < 0 || value.getYear() > 9999) {
+            return field(value.toString());
+        }
+        ensure(11);
+        separator();
+        writeDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+        return this;
+    }
+
+    /**
+     * Write a timestamp in ISO-8601 form (same as {@link LocalDateTime#toString()})
+     */
+    public CsvWriter field(LocalDateTime value) {
+        if (value == null) {
+            return empty();
+        }
+        if (value.getYear() < 0 || value.getYear() > 9999) {
+            return field(value.toString());
+        }
+        ensure(31);
+        separator();
+        writeDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+        buf[pos++] = 'T';
+        writeTwoDigits(value.getHour());
+        buf[pos++] = ':';
+        writeTwoDigits(value.getMinute());
+
+        int second = value.getSecond();
+        int nano = value.getNano();
+        if (second > 0 || nano > 0) {
+            buf[pos++] = ':';
+            writeTwoDigits(second);
+            if (nano > 0) {
+                buf[pos++] = '.';
+                if (nano % 1_000_000 == 0) {
+                    writeFixedDigits(nano / 1_000_000, 3);
+                } else if (nano % 1_000 == 0) {
+                    writeFixedDigits(nano / 1_000, 6);
+                } else {
+                    writeFixedDigits(nano, 9);
+                }
+            }
+        }
+        return this;
+    }
+
+    public CsvWriter empty() {
+        ensure(1);
+        separator();
+        return this;
+    }
+
+    public CsvWriter endRow() {
+        ensure(2);
+        buf[pos++] = '\r';
+        buf[pos++] = '\n';
+        firstField = true;
+        return this;
+    }
+
+    @Override
+    public void flush() {
+        try {
+            drain();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void separator() {
+        if (firstField) {
+            firstField = false;
+        } else {
+            buf[pos++] = ',';
+        }
+    }
+
+    /**
+     * Leave room for an opening quote; whether it is needed is only known once the value is encoded
+     */
+    private int reserveQuote() {
+        return pos++;
+    }
+
+    private void closeQuote(int start, boolean quote) {
+        if (quote) {
+            buf[start] = '"';
+            buf[pos++] = '"';
+        } else {
+            System.arraycopy(buf, start + 1, buf, start, pos - start - 1);
+            pos--;
+        }
+    }
+
+    /**
+     * Encode a value as UTF-8, doubling quotes; returns whether the field must be quoted
+     */
+    private boolean encode(CharSequence value) {
+        boolean quote = false;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                quote |= encodeChar(c);
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return quote;
+    }
+
+    private boolean encodeChar(char c) {
+        if (c >= 0x80) {
+            return encode(String.valueOf(c));
+        }
+        buf[pos++] = (byte) c;
+        if (c == '"') {
+            buf[pos++] = '"';
+            return true;
+        }
+        return c == ',' || c == '\n' || c == '\r';
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            byte[] digits = Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(digits, 0, buf, pos, digits.length);
+            pos += digits.length;
+            return;
+        }
+        if (value < 0) {
+            buf[pos++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            buf[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        pos = end;
+    }
+
+    private void writeDate(int year, int month, int day) {
+        writeFixedDigits(year, 4);
+        buf[pos++] = '-';
+        writeTwoDigits(month);
+        buf[pos++] = '-';
+        writeTwoDigits(day);
+    }
+
+    private void writeTwoDigits(int value) {
+        buf[pos++] = (byte) ('0' + value / 10);
+        buf[pos++] = (byte) ('0' + value % 10);
+    }
+
+    private void writeFixedDigits(int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        pos += width;
+    }
+
+    /**
+     * Make room for the next field: drain to the stream first, grow only for oversized values
+     */
+    private void ensure(int needed) {
+        if (pos + needed <= buf.length) {
+            return;
+        }
+        try {
+            drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (needed > buf.length) {
+            buf = new byte[Math.max(needed, buf.length * 2)];
+        }
+    }
+
+    private void drain() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package com.staffmanagement.util;
+
+import org.apache.poi.xwpf.usermodel.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * A DOCX file with {@code {{name}}} placeholders, compiled once and filled many times.
+ * Compiling lets POI merge the runs Word splits a placeholder into, then cuts every part of the
+ * package that holds placeholders into literal byte segments and value slots. Parts without
+ * placeholders are compressed up front and, together with their ZIP headers, form a fixed prefix
+ * of the output; filling the template copies that prefix, writes the values into the remaining
+ * parts and compresses only those. A paragraph with an optional placeholder, {@code {{name?}}},
+ * is left out entirely when the value is empty.
+ * Instances are immutable and can be shared between threads.
+ */
+public class DocxTemplate {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([A-Za-z][A-Za-z0-9]*)(\\??)\\s*}}");
+    private static final String PARAGRAPH_START = "<w:p>";
+    private static final String PARAGRAPH_START_WITH_ATTRIBUTES = "<w:p ";
+    private static final String PARAGRAPH_END = "</w:p>";
+    private static final String TEXT_START = "<w:t>";
+    private static final String TEXT_START_WITH_ATTRIBUTES = "<w:t ";
+    private static final String TEXT_END = "</w:t>";
+    private static final String LINE_BREAK = "</w:t><w:br/><w:t xml:space=\"preserve\">";
+    private static final String TAB = "</w:t><w:tab/><w:t xml:space=\"preserve\">";
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int UTF8_NAMES = 0x0800;
+    private static final int DEFLATED = 8;
+    private static final int ZIP_VERSION = 20;
+    private static final int DOS_DATE_1980_01_01 = 0x0021;
+
+    private final List<Part> parts = new ArrayList<>();
+    private final byte[] staticPrefix;
+    private final Set<String> placeholders = new TreeSet<>();
+    private final int sizeHint;
+
+    /**
+     * Compile a template, failing if it is not a DOCX file or uses a placeholder outside {@code allowed}
+     */
+    public static DocxTemplate compile(InputStream docx, Set<String> allowed) throws IOException {
+        return new DocxTemplate(normalize(docx), allowed);
+    }
+
+    private DocxTemplate(byte[] docx, Set<String> allowed) throws IOException {
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+        int size = 0;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(docx), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                byte[] content = zip.readAllBytes();
+                String text = entry.getName().endsWith(".xml") ? new String(content, StandardCharsets.UTF_8) : null;
+                if (text != null && PLACEHOLDER.matcher(text).find()) {
+                    Part part = new Part(entry.getName(), parse(text, allowed));
+                    parts.add(part);
+                    size += content.length;
+                } else {
+                    Part part = new Part(entry.getName(), null);
+                    part.crc = crc(content, content.length);
+                    part.size = content.length;
+                    byte[] compressed = deflate(content, content.length);
+                    part.compressedSize = compressed.length;
+                    part.offset = prefix.size();
+                    writeLocalHeader(prefix, part);
+                    prefix.write(compressed);
+                    parts.add(part);
+                }
+            }
+        }
+        if (placeholders.isEmpty()) {
+            throw new IllegalArgumentException("Template has no {{placeholders}}");
+        }
+        this.staticPrefix = prefix.toByteArray();
+        this.sizeHint = size;
+    }
+
+    public Set<String> getPlaceholders() {
+        return Collections.unmodifiableSet(placeholders);
+    }
+
+    /**
+     * Fill in the placeholders; missing values are left empty. Values are XML-escaped, characters
+     * XML does not allow are dropped, and line breaks and tabs become Word breaks and tabs inside
+     * document text (spaces elsewhere)
+     */
+    public byte[] render(Map<String, String> values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(staticPrefix.length + sizeHint);
+        out.writeBytes(staticPrefix);
+
+        Map<String, Filled> escaped = new HashMap<>();
+        for (String name : placeholders) {
+            escaped.put(name, new Filled(values.get(name)));
+        }
+
+        List<Part> dynamic = new ArrayList<>();
+        ByteArrayOutputStream xml = new ByteArrayOutputStream(sizeHint);
+        for (Part template : parts) {
+            if (template.segments == null) {
+                continue;
+            }
+            xml.reset();
+            for (Segment segment : template.segments) {
+                segment.write(xml, escaped);
+            }
+            byte[] content = xml.toByteArray();
+            Part part = new Part(template.name, null);
+            part.crc = crc(content, content.length);
+            part.size = content.length;
+            byte[] compressed = deflate(content, content.length);
+            part.compressedSize = compressed.length;
+            part.offset = out.size();
+            writeLocalHeader(out, part);
+            out.writeBytes(compressed);
+            dynamic.add(part);
+        }
+
+        // Central directory in the template's original part order
+        int directoryOffset = out.size();
+        Iterator<Part> rendered = dynamic.iterator();
+        for (Part part : parts) {
+            writeCentralHeader(out, part.segments == null ? part : rendered.next());
+        }
+        int directorySize = out.size() - directoryOffset;
+        writeInt(out, END_OF_CENTRAL_DIRECTORY);
+        writeShort(out, 0);
+        writeShort(out, 0);
+        writeShort(out, parts.size());
+        writeShort(out, parts.size());
+        writeInt(out, directorySize);
+        writeInt(out, directoryOffset);
+        writeShort(out, 0);
+        return out.toByteArray();
+    }
+
+    /**
+     * Merge runs so that each placeholder sits in a single run, whatever Word did to it while editing
+     */
+    private static byte[] normalize(InputStream docx) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(docx)) {
+            normalizeBody(document);
+            for (XWPFHeader header : document.getHeaderList()) {
+                normalizeBody(header);
+            }
+            for (XWPFFooter footer : document.getFooterList()) {
+                normalizeBody(footer);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static void normalizeBody(IBody body) {
+        for (IBodyElement element : body.getBodyElements()) {
+            if (element instanceof XWPFParagraph paragraph) {
+                normalizeParagraph(paragraph);
+            } else if (element instanceof XWPFTable table) {
+                for (XWPFTableRow row : table.getRows()) {
+                    for (XWPFTableCell cell : row.getTableCells()) {
+                        normalizeBody(cell);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void normalizeParagraph(XWPFParagraph paragraph) {
+        if (!paragraph.getText().contains("{{")) {
+            return;
+        }
+        List<XWPFRun> runs = paragraph.getRuns();
+        for (int i = 0; i < runs.size(); i++) {
+            XWPFRun run = runs.get(i);
+            int last = run.getCTR().sizeOfTArray() - 1;
+            if (last < 0 || !isOpen(run.getCTR().getTArray(last).getStringValue())) {
+                continue;
+            }
+            // Pull following runs into this run's last text until the placeholder is closed
+            StringBuilder merged = new StringBuilder(run.getCTR().getTArray(last).getStringValue());
+            while (isOpen(merged) && i + 1 < runs.size()) {
+                merged.append(runs.get(i + 1).text());
+                paragraph.removeRun(i + 1);
+            }
+            run.setText(merged.toString(), last);
+        }
+    }
+
+    /**
+     * Whether the text ends inside a placeholder, or with a brace that may start one
+     */
+    private static boolean isOpen(CharSequence text) {
+        String s = text.toString();
+        int open = s.lastIndexOf("{{");
+        return (open >= 0 && s.indexOf("}}", open) < 0) || s.endsWith("{");
+    }
+
+    private List<Segment> parse(String xml, Set<String> allowed) {
+        List<Segment> segments = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(xml);
+        int position = 0;
+        while (matcher.find(position)) {
+            String name = matcher.group(1);
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown placeholder {{" + name + "}}; allowed are " + new TreeSet<>(allowed));
+            }
+            placeholders.add(name);
+            if (matcher.group(2).isEmpty()) {
+                segments.add(new Literal(xml.substring(position, matcher.start())));
+                segments.add(new Value(name, inText(xml, matcher.start())));
+                position = matcher.end();
+                continue;
+            }
+            // Optional: the whole enclosing paragraph depends on the value
+            int start = Math.max(xml.lastIndexOf(PARAGRAPH_START, matcher.start()),
+                    xml.lastIndexOf(PARAGRAPH_START_WITH_ATTRIBUTES, matcher.start()));
+            int end = xml.indexOf(PARAGRAPH_END, matcher.end());
+            if (start < position || end < 0) {
+                throw new IllegalArgumentException("Optional placeholder {{" + name + "?}} must be inside a paragraph of its own");
+            }
+            end += PARAGRAPH_END.length();
+            segments.add(new Literal(xml.substring(position, start)));
+            List<Segment> paragraph = new ArrayList<>();
+            int inner = start;
+            Matcher innerMatcher = PLACEHOLDER.matcher(xml).region(start, end);
+            while (innerMatcher.find()) {
+                String innerName = innerMatcher.group(1);
+                if (!allowed.contains(innerName)) {
+                    throw new IllegalArgumentException("Unknown placeholder {{" + innerName + "}}; allowed are " + new TreeSet<>(allowed));
+                }
+                placeholders.add(innerName);
+                paragraph.add(new Literal(xml.substring(inner, innerMatcher.start())));
+                paragraph.add(new Value(innerName, inText(xml, innerMatcher.start())));
+                inner = innerMatcher.end();
+            }
+            paragraph.add(new Literal(xml.substring(inner, end)));
+            segments.add(new OptionalParagraph(name, paragraph));
+            position = end;
+        }
+        segments.add(new Literal(xml.substring(position)));
+        return segments;
+    }
+
+    /**
+     * Whether a position in a part is inside the text of a run, where breaks and tabs can be written
+     */
+    private static boolean inText(String xml, int position) {
+        int start = Math.max(xml.lastIndexOf(TEXT_START, position), xml.lastIndexOf(TEXT_START_WITH_ATTRIBUTES, position));
+        return start > xml.lastIndexOf(TEXT_END, position);
+    }
+
+    /**
+     * XML-escape a value. Characters XML 1.0 does not allow (C0 controls, lone surrogates, U+FFFE and
+     * U+FFFF) are dropped; line breaks, including the vertical tab Word uses for soft line breaks, and
+     * tabs become {@code <w:br/>} and {@code <w:tab/>} in run text and spaces anywhere else
+     */
+    static String escape(String value, boolean runText) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = switch (c) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\n', '\u000B' -> runText ? LINE_BREAK : " ";
+                case '\r' -> i + 1 < value.length() && value.charAt(i + 1) == '\n' ? "" : (runText ? LINE_BREAK : " ");
+                case '\t' -> runText ? TAB : " ";
+                case '\uFFFE', '\uFFFF' -> "";
+                default -> c < 0x20 ? "" : null;
+            };
+            if (replacement == null && Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    if (escaped != null) {
+                        escaped.append(c).append(value.charAt(i + 1));
+                    }
+                    i++;
+                    continue;
+                }
+                replacement = "";
+            }
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped == null ? value : escaped.toString();
+    }
+
+    private static long crc(byte[] content, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, length);
+        return crc.getValue();
+    }
+
+    private static byte[] deflate(byte[] content, int length) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(content, 0, length);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, length / 3));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeLocalHeader(ByteArrayOutputStream out, Part part) {
+        byte[] name = part.name.getBytes(StandardCharsets.UTF_8);
+        writeInt(out, LOCAL_HEADER);
+        writeShort(out, ZIP_VERSION);
+        writeShort(out, UTF8_NAMES);
+        writeShort(out, DEFLATED);
+        writeShort(out, 0);
+        writeShort(out, DOS_DATE_1980_01_01);
+        writeInt(out, (int) part.crc);
+        writeInt(out, part.compressedSize);
+        writeInt(out, part.size);
+        writeShort(out, name.length);
+        writeShort(out, 0);
+        out.writeBytes(name);
+    }
+
+    private static void writeCentralHeader(ByteArrayOutputStream out, Part part) {
+        byte[] name = part.name.getBytes(StandardCharsets.UTF_8);
+        writeInt(out, CENTRAL_HEADER);
+        writeShort(out, ZIP_VERSION);
+        writeShort(out, ZIP_VERSION);
+        writeShort(out, UTF8_NAMES);
+        writeShort(out, DEFLATED);
+        writeShort(out, 0);
+        writeShort(out, DOS_DATE_1980_01_01);
+        writeInt(out, (int) part.crc);
+        writeInt(out, part.compressedSize);
+        writeInt(out, part.size);
+        writeShort(out, name.length);
+        writeShort(out, 0);
+        writeShort(out, 0);
+        writeShort(out, 0);
+        writeShort(out, 0);
+        writeInt(out, 0);
+        writeInt(out, part.offset);
+        out.writeBytes(name);
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        writeShort(out, value & 0xFFFF);
+        writeShort(out, (value >>> 16) & 0xFFFF);
+    }
+
+    /**
+     * A package part: either compressed once (no segments) or rendered per request from its segments
+     */
+    private static final class Part {
+        private final String name;
+        private final List<Segment> segments;
+        private long crc;
+        private int size;
+        private int compressedSize;
+        private int offset;
+
+        Part(String name, List<Segment> segments) {
+            this.name = name;
+            this.segments = segments;
+        }
+    }
+
+    private interface Segment {
+        void write(ByteArrayOutputStream out, Map<String, Filled> values);
+    }
+
+    /**
+     * A value escaped for run text and for anywhere else in a part
+     */
+    private static final class Filled {
+        private final byte[] text;
+        private final byte[] runText;
+
+        Filled(String value) {
+            String text = value == null ? "" : escape(value, false);
+            String runText = value == null ? "" : escape(value, true);
+            this.text = text.getBytes(StandardCharsets.UTF_8);
+            this.runText = runText.equals(text) ? this.text : runText.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class Literal implements Segment {
+        private final byte[] bytes;
+
+        Literal(String xml) {
+            this.bytes = xml.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void write(ByteArrayOutputStream out, Map<String, Filled> values) {
+            out.writeBytes(bytes);
+        }
+    }
+
+    private static final class Value implements Segment {
+        private final String name;
+        private final boolean runText;
+
+        Value(String name, boolean runText) {
+            this.name = name;
+            this.runText = runText;
+        }
+
+        @Override
+        public void write(ByteArrayOutputStream out, Map<String, Filled> values) {
+            Filled value = values.get(name);
+            out.writeBytes(runText ? value.runText : value.text);
+        }
+    }
+
+    private static final class OptionalParagraph implements Segment {
+        private final String name;
+        private final List<Segment> paragraph;
+
+        OptionalParagraph(String name, List<Segment> paragraph) {
+            this.name = name;
+            this.paragraph = paragraph;
+        }
+
+        @Override
+        public void write(ByteArrayOutputStream out, Map<String, Filled> values) {
+            if (values.get(name).text.length > 0) {
+                for (Segment segment : paragraph) {
+                    segment.write(out, values);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.staffmanagement.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: timers are hashed into buckets of {@code tickMillis} on the first
+ * wheel, and timers too far out for it go to coarser wheels whose ticks are a whole rotation of
+ * the wheel below. When the clock reaches a coarse bucket, its timers cascade down into finer
+ * wheels, and they expire from the first wheel. Scheduling and cancelling are O(1) and advancing
+ * costs O(1) per tick plus the timers it touches, however many timers are scheduled or how far
+ * out they are; wheels are added as deadlines need them.
+ * Timers expire once the clock reaches the tick their deadline falls in, so at tick precision.
+ * Not thread-safe; callers synchronize.
+ */
+public class TimingWheel<T> {
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Wheel<T>> wheels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and a wheel needs at least two buckets");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        wheels.add(new Wheel<>(tickMillis, wheelSize));
+    }
+
+    /**
+     * Schedule an item, returning the timer to cancel it with, or null if the deadline falls in
+     * the current tick or before it, in which case nothing is scheduled
+     */
+    public Timer<T> schedule(long deadlineMillis, T item) {
+        if (deadlineMillis < currentTime + tickMillis) {
+            return null;
+        }
+        Timer<T> timer = new Timer<>(deadlineMillis, item);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    public boolean cancel(Timer<T> timer) {
+        if (timer == null || timer.bucket == null) {
+            return false;
+        }
+        timer.bucket.remove(timer);
+        timer.bucket = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Move the clock forward to {@code nowMillis}, handing every item whose tick has been reached to {@code expired}
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        if (size == 0) {
+            currentTime = Math.max(currentTime, nowMillis - Math.floorMod(nowMillis, tickMillis));
+            return;
+        }
+        while (currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+            // Coarse wheels first, so timers cascading out of them can still expire in this tick
+            for (int level = wheels.size() - 1; level >= 0; level--) {
+                Wheel<T> wheel = wheels.get(level);
+                if (Math.floorMod(currentTime, wheel.tickMillis) != 0) {
+                    continue;
+                }
+                Set<Timer<T>> bucket = wheel.bucketFor(currentTime);
+                if (bucket.isEmpty()) {
+                    continue;
+                }
+                List<Timer<T>> timers = new ArrayList<>(bucket);
+                bucket.clear();
+                for (Timer<T> timer : timers) {
+                    timer.bucket = null;
+                    if (timer.deadline < currentTime + tickMillis) {
+                        size--;
+                        expired.accept(timer.item);
+                    } else {
+                        place(timer);
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Put a timer on the finest wheel whose current rotation reaches its deadline. On any wheel
+     * above the first this is never the bucket being passed, as the wheel below spans at least that far
+     */
+    private void place(Timer<T> timer) {
+        for (int level = 0; ; level++) {
+            if (level == wheels.size()) {
+                if (wheels.get(level - 1).tickMillis > Long.MAX_VALUE / wheelSize / wheelSize) {
+                    throw new IllegalArgumentException("Deadline too far out: " + timer.deadline);
+                }
+                wheels.add(new Wheel<>(wheels.get(level - 1).tickMillis * wheelSize, wheelSize));
+            }
+            Wheel<T> wheel = wheels.get(level);
+            long wheelStart = currentTime - Math.floorMod(currentTime, wheel.tickMillis);
+            if (timer.deadline < wheelStart + wheel.tickMillis * wheelSize) {
+                timer.bucket = wheel.bucketFor(timer.deadline);
+                timer.bucket.add(timer);
+                return;
+            }
+        }
+    }
+
+    public static final class Timer<T> {
+        private final long deadline;
+        private final T item;
+        private Set<Timer<T>> bucket;
+
+        private Timer(long deadline, T item) {
+            this.deadline = deadline;
+            this.item = item;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+
+    private static final class Wheel<T> {
+        private final long tickMillis;
+        private final Set<Timer<T>>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Wheel(long tickMillis, int wheelSize) {
+            this.tickMillis = tickMillis;
+            this.buckets = new Set[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new LinkedHashSet<>();
+            }
+        }
+
+        Set<Timer<T>> bucketFor(long time) {
+            return buckets[(int) Math.floorMod(Math.floorDiv(time, tickMillis), (long) buckets.length)];
+        }
+    }
+}
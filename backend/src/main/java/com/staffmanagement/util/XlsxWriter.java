@@ -0,0 +1,143 @@
+package com.staffmanagement.util;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Row-at-a-time XLSX writer on top of POI's streaming {@link SXSSFWorkbook}.
+ * Only the last {@code rowWindow} rows of a sheet stay in memory; older rows are
+ * flushed to compressed temp files, so sheet size is bounded by disk rather than heap.
+ * Dates, timestamps, numbers and booleans are written as typed cells with shared styles.
+ */
+public class XlsxWriter implements Closeable {
+    public static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private static final int DEFAULT_ROW_WINDOW = 100;
+    private static final int DEFAULT_COLUMN_WIDTH = 18 * 256;
+
+    private final SXSSFWorkbook workbook;
+    private final CellStyle headerStyle;
+    private final CellStyle dateStyle;
+    private final CellStyle dateTimeStyle;
+
+    private SXSSFSheet sheet;
+    private Row row;
+    private int rowIndex;
+    private int columnIndex;
+
+    public XlsxWriter() {
+        this(DEFAULT_ROW_WINDOW);
+    }
+
+    public XlsxWriter(int rowWindow) {
+        this.workbook = new SXSSFWorkbook(rowWindow);
+        this.workbook.setCompressTempFiles(true);
+
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        this.headerStyle = workbook.createCellStyle();
+        this.headerStyle.setFont(bold);
+        this.headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        this.headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+        CreationHelper helper = workbook.getCreationHelper();
+        this.dateStyle = workbook.createCellStyle();
+        this.dateStyle.setDataFormat(helper.createDataFormat().getFormat("dd.mm.yyyy"));
+        this.dateTimeStyle = workbook.createCellStyle();
+        this.dateTimeStyle.setDataFormat(helper.createDataFormat().getFormat("dd.mm.yyyy hh:mm"));
+    }
+
+    /**
+     * Start a new sheet with a frozen, bold header row
+     */
+    public XlsxWriter sheet(String name, String... headers) {
+        sheet = workbook.createSheet(name);
+        rowIndex = 0;
+        row();
+        for (int i = 0; i < headers.length; i++) {
+            sheet.setColumnWidth(i, DEFAULT_COLUMN_WIDTH);
+            Cell cell = nextCell();
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+        return this;
+    }
+
+    public XlsxWriter row() {
+        row = sheet.createRow(rowIndex++);
+        columnIndex = 0;
+        return this;
+    }
+
+    public XlsxWriter cell(String value) {
+        Cell cell = nextCell();
+        if (value != null) {
+            cell.setCellValue(value);
+        }
+        return this;
+    }
+
+    public XlsxWriter cell(Number value) {
+        Cell cell = nextCell();
+        if (value != null) {
+            cell.setCellValue(value.doubleValue());
+        }
+        return this;
+    }
+
+    public XlsxWriter cell(Boolean value) {
+        Cell cell = nextCell();
+        if (value != null) {
+            cell.setCellValue(value);
+        }
+        return this;
+    }
+
+    public XlsxWriter cell(Enum<?> value) {
+        return cell(value != null ? value.name() : null);
+    }
+
+    public XlsxWriter cell(LocalDate value) {
+        Cell cell = nextCell();
+        if (value != null) {
+            cell.setCellValue(value);
+            cell.setCellStyle(dateStyle);
+        }
+        return this;
+    }
+
+    public XlsxWriter cell(LocalDateTime value) {
+        Cell cell = nextCell();
+        if (value != null) {
+            cell.setCellValue(value);
+            cell.setCellStyle(dateTimeStyle);
+        }
+        return this;
+    }
+
+    public void write(OutputStream out) throws IOException {
+        workbook.write(out);
+        out.flush();
+    }
+
+    /**
+     * Release the workbook and delete its temp files
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private Cell nextCell() {
+        return row.createCell(columnIndex++);
+    }
+}
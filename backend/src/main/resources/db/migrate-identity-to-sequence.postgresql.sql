@@ -0,0 +1,74 @@
+-- Moves an existing PostgreSQL database from IDENTITY/serial id columns to the per-table
+-- sequences the entities now use (pooled-lo, allocationSize = 50).
+--
+-- Only needed when the schema is kept between runs (spring.jpa.hibernate.ddl-auto=update,
+-- validate or none); with "create" Hibernate builds the sequences itself. Run it once, with the
+-- application stopped, before starting the new version:
+--
+--   psql -d staffdb -f migrate-identity-to-sequence.postgresql.sql
+--
+-- Each sequence is positioned just past the current MAX(id), so the first block handed out
+-- starts at MAX(id) + 1. Rows written before change tracking existed get created_at and
+-- updated_at set to the migration time, so the next delta export includes them instead of
+-- never reporting them. The statements are safe to re-run.
+
+BEGIN;
+
+ALTER TABLE staff ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE staff ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS staff_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('staff_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM staff), false);
+
+ALTER TABLE attendance_records ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE attendance_records ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS attendance_records_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('attendance_records_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM attendance_records), false);
+
+ALTER TABLE leave_requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE leave_requests ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS leave_requests_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('leave_requests_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM leave_requests), false);
+
+ALTER TABLE documents ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE documents ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS documents_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('documents_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM documents), false);
+
+ALTER TABLE tombstones ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tombstones ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS tombstones_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('tombstones_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM tombstones), false);
+
+ALTER TABLE staff ADD COLUMN IF NOT EXISTS created_at timestamp(6);
+ALTER TABLE staff ADD COLUMN IF NOT EXISTS updated_at timestamp(6);
+UPDATE staff
+   SET created_at = COALESCE(created_at, updated_at, LOCALTIMESTAMP),
+       updated_at = COALESCE(updated_at, LOCALTIMESTAMP)
+ WHERE created_at IS NULL OR updated_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_staff_updated_at ON staff (updated_at);
+
+ALTER TABLE attendance_records ADD COLUMN IF NOT EXISTS created_at timestamp(6);
+ALTER TABLE attendance_records ADD COLUMN IF NOT EXISTS updated_at timestamp(6);
+UPDATE attendance_records
+   SET created_at = COALESCE(created_at, updated_at, LOCALTIMESTAMP),
+       updated_at = COALESCE(updated_at, LOCALTIMESTAMP)
+ WHERE created_at IS NULL OR updated_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_attendance_records_updated_at ON attendance_records (updated_at);
+
+ALTER TABLE leave_requests ADD COLUMN IF NOT EXISTS created_at timestamp(6);
+ALTER TABLE leave_requests ADD COLUMN IF NOT EXISTS updated_at timestamp(6);
+UPDATE leave_requests
+   SET created_at = COALESCE(created_at, updated_at, LOCALTIMESTAMP),
+       updated_at = COALESCE(updated_at, LOCALTIMESTAMP)
+ WHERE created_at IS NULL OR updated_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_leave_requests_updated_at ON leave_requests (updated_at);
+
+ALTER TABLE documents ADD COLUMN IF NOT EXISTS created_at timestamp(6);
+ALTER TABLE documents ADD COLUMN IF NOT EXISTS updated_at timestamp(6);
+UPDATE documents
+   SET created_at = COALESCE(created_at, updated_at, LOCALTIMESTAMP),
+       updated_at = COALESCE(updated_at, LOCALTIMESTAMP)
+ WHERE created_at IS NULL OR updated_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_documents_updated_at ON documents (updated_at);
+
+COMMIT;
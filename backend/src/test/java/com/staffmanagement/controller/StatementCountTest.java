@@ -0,0 +1,183 @@
+package com.staffmanagement.controller;
+
+import com.staffmanagement.model.AttendanceRecord;
+import com.staffmanagement.model.Document;
+import com.staffmanagement.model.DocumentType;
+import com.staffmanagement.model.LeaveRequest;
+import com.staffmanagement.model.LeaveType;
+import com.staffmanagement.model.Staff;
+import com.staffmanagement.repository.AttendanceRepository;
+import com.staffmanagement.repository.DocumentRepository;
+import com.staffmanagement.repository.LeaveRequestRepository;
+import com.staffmanagement.repository.StaffRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * List endpoints and exports must issue the same number of SQL statements for one row as for
+ * many, i.e. load staff through joins instead of once per record (N+1)
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "warmup.enabled=false",
+        "documents.storage.dir=target/test-data/documents",
+        "documents.preview.dir=target/test-data/previews",
+        "documents.search.index-dir=target/test-data/search-index",
+        "documents.expiry.tick-ms=3600000",
+        "management.tracing.sampling.probability=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class StatementCountTest {
+    private static final int ROWS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private StaffRepository staffRepository;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void clearData() {
+        documentRepository.deleteAllInBatch();
+        attendanceRepository.deleteAllInBatch();
+        leaveRequestRepository.deleteAllInBatch();
+        staffRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/staff",
+            "/api/attendance",
+            "/api/leave-requests",
+            "/api/documents",
+            "/api/export/staff",
+            "/api/export/attendance",
+            "/api/export/leave-requests",
+            "/api/export/staff/xlsx",
+            "/api/export/attendance/xlsx",
+            "/api/export/leave-requests/xlsx"
+    })
+    void statementCountDoesNotGrowWithRows(String url) throws Exception {
+        createStaff(0, 1);
+        long oneRow = statementsFor(url);
+
+        createStaff(1, ROWS);
+        long manyRows = statementsFor(url);
+
+        assertThat(oneRow).as("statements for one row of %s", url).isBetween(1L, 2L);
+        assertThat(manyRows).as("statements for %d rows of %s", ROWS, url).isEqualTo(oneRow);
+    }
+
+    @Test
+    void monthlyReportXlsxListsTheMonthsRecords() throws Exception {
+        createStaff(0, 1);
+        Long staffId = staffRepository.findByEmail("staff0@company.com").orElseThrow().getId();
+
+        MvcResult result = mockMvc.perform(get("/api/export/monthly-report/xlsx")
+                .param("staffId", staffId.toString()).param("year", "2024").param("month", "3")).andReturn();
+        byte[] xlsx = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(xlsx))) {
+            Sheet records = workbook.getSheet("Records");
+            assertThat(records.getLastRowNum()).isEqualTo(1);
+            assertThat(records.getRow(1).getCell(1).getStringCellValue()).isEqualTo("First0 Last0");
+        }
+    }
+
+    private long statementsFor(String url) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        MvcResult result = mockMvc.perform(get(url)).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        } else {
+            assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Staff members {@code from} (inclusive) to {@code to} (exclusive), each with one attendance
+     * record, leave request and document
+     */
+    private void createStaff(int from, int to) {
+        List<Staff> staff = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Staff member = new Staff();
+            member.setFirstName("First" + i);
+            member.setLastName("Last" + i);
+            member.setEmail("staff" + i + "@company.com");
+            member.setDepartment("Engineering");
+            member.setPosition("Engineer");
+            member.setHireDate(LocalDate.of(2020, 1, 1));
+            staff.add(member);
+        }
+        staffRepository.saveAll(staff);
+
+        List<AttendanceRecord> attendance = new ArrayList<>();
+        List<LeaveRequest> leaveRequests = new ArrayList<>();
+        List<Document> documents = new ArrayList<>();
+        for (Staff member : staff) {
+            AttendanceRecord record = new AttendanceRecord();
+            record.setStaff(member);
+            record.setDate(LocalDate.of(2024, 3, 4));
+            record.setClockInTime(LocalDateTime.of(2024, 3, 4, 9, 0));
+            record.setClockOutTime(LocalDateTime.of(2024, 3, 4, 17, 30));
+            attendance.add(record);
+
+            LeaveRequest leaveRequest = new LeaveRequest();
+            leaveRequest.setStaff(member);
+            leaveRequest.setLeaveType(LeaveType.ANNUAL);
+            leaveRequest.setStartDate(LocalDate.of(2024, 7, 1));
+            leaveRequest.setEndDate(LocalDate.of(2024, 7, 5));
+            leaveRequest.setDaysRequested(5);
+            leaveRequests.add(leaveRequest);
+
+            Document document = new Document();
+            document.setStaff(member);
+            document.setDocumentName("Contract");
+            document.setDocumentType(DocumentType.CONTRACT);
+            documents.add(document);
+        }
+        attendanceRepository.saveAll(attendance);
+        leaveRequestRepository.saveAll(leaveRequests);
+        documentRepository.saveAll(documents);
+    }
+}
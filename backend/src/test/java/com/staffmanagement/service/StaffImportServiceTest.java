@@ -0,0 +1,68 @@
+package com.staffmanagement.service;
+
+import com.staffmanagement.dto.StaffImportResult;
+import com.staffmanagement.exception.BusinessException;
+import com.staffmanagement.model.Staff;
+import com.staffmanagement.repository.StaffRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+// The spy makes this a context of its own, so it gets its own database and index directories
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:staff-import-test;LOCK_TIMEOUT=10000",
+        "spring.jpa.show-sql=false",
+        "warmup.enabled=false",
+        "documents.storage.dir=target/test-data/staff-import/documents",
+        "documents.preview.dir=target/test-data/staff-import/previews",
+        "documents.search.index-dir=target/test-data/staff-import/search-index",
+        "documents.expiry.tick-ms=3600000",
+        "management.tracing.sampling.probability=0"
+})
+@ActiveProfiles("dev")
+class StaffImportServiceTest {
+    @Autowired
+    private StaffImportService staffImportService;
+    @SpyBean
+    private StaffRepository staffRepository;
+
+    /**
+     * Another request inserts an email between the uniqueness check and the insert: the unique key
+     * rejects the batch, and the import reports a conflict instead of failing with a server error
+     */
+    @Test
+    void emailAddedAfterTheUniquenessCheckIsReportedAsConflict() {
+        Staff existing = new Staff();
+        existing.setFirstName("Ada");
+        existing.setLastName("Lovelace");
+        existing.setEmail("ada.lovelace@company.com");
+        existing.setHireDate(LocalDate.of(2020, 1, 1));
+        staffRepository.save(existing);
+        doReturn(List.of()).when(staffRepository).findExistingEmails(any());
+
+        String csv = """
+                First Name,Last Name,Email
+                Grace,Hopper,grace.hopper@company.com
+                Ada,Lovelace,ada.lovelace@company.com
+                """;
+        BusinessException conflict = catchThrowableOfType(() -> staffImportService.importStaff(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "staff.csv",
+                StaffImportResult.Mode.BEST_EFFORT), BusinessException.class);
+
+        assertThat(conflict).isNotNull();
+        assertThat(conflict.getErrorCode()).isEqualTo("IMPORT_CONFLICT");
+        assertThat(staffRepository.findByEmail("grace.hopper@company.com")).isEmpty();
+    }
+}
@@ -0,0 +1,46 @@
+package com.staffmanagement.util;
+
+import com.staffmanagement.service.LeaveCertificateService;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocxTemplateTest {
+
+    /**
+     * Free text from a leave request may hold control characters, lone surrogates, line breaks and
+     * tabs; the rendered document must still be well-formed and keep the breaks and tabs
+     */
+    @Test
+    void renderedDocumentOpensWithAnyValue() throws IOException {
+        DocxTemplate template;
+        try (InputStream docx = getClass().getResourceAsStream("/templates/leave-certificate.docx")) {
+            template = DocxTemplate.compile(docx, LeaveCertificateService.PLACEHOLDERS);
+        }
+
+        byte[] rendered = template.render(Map.of(
+                "staffName", "Ada 😀 & <Lovelace>",
+                "reason", "first\u0000line\r\nsecond\u000Bthird\tcolumn\uD800\uFFFF"));
+
+        try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(rendered));
+             XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+            String text = extractor.getText();
+            assertThat(text).contains("Ada 😀 & <Lovelace>");
+            assertThat(text).contains("firstline\nsecond\nthird\tcolumn");
+            assertThat(text).doesNotContain("\u0000", "\uD800", "\uFFFF");
+        }
+    }
+
+    @Test
+    void breaksAndTabsBecomeSpacesOutsideRunText() {
+        assertThat(DocxTemplate.escape("a\r\nb\tc\u000Bd\u0001", false)).isEqualTo("a b c d");
+        assertThat(DocxTemplate.escape("plain", true)).isEqualTo("plain");
+    }
+}
@@ -0,0 +1,105 @@
+package com.staffmanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 4;
+
+    @Test
+    void deadlineInTheCurrentTickIsNotScheduled() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, 1005);
+
+        assertThat(wheel.getCurrentTime()).isEqualTo(1000);
+        assertThat(wheel.schedule(999, "past")).isNull();
+        assertThat(wheel.schedule(1009, "this tick")).isNull();
+        assertThat(wheel.schedule(1010, "next tick")).isNotNull();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void deadlineOneRotationOutCascadesAndFiresInItsTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, 1000);
+        wheel.schedule(1000 + TICK * WHEEL_SIZE, "rotation");
+        wheel.schedule(1000 + TICK * WHEEL_SIZE + 5, "rotation and a half tick");
+
+        Map<String, Long> fired = tickUntil(wheel, 1100);
+
+        assertThat(fired).containsEntry("rotation", 1040L).containsEntry("rotation and a half tick", 1040L);
+    }
+
+    @Test
+    void deadlineSeveralWheelsOutFiresInItsTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, 0);
+        // Beyond the third wheel (640 ms), so four wheels deep
+        wheel.schedule(677, "far");
+        wheel.schedule(2 * 640 + 3, "further");
+
+        Map<String, Long> fired = tickUntil(wheel, 2000);
+
+        assertThat(fired).containsEntry("far", 670L).containsEntry("further", 1280L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelBeforeCascade() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, 0);
+        TimingWheel.Timer<String> timer = wheel.schedule(100, "cancelled");
+
+        assertThat(wheel.cancel(timer)).isTrue();
+        assertThat(wheel.cancel(timer)).isFalse();
+        assertThat(wheel.size()).isZero();
+        assertThat(tickUntil(wheel, 200)).isEmpty();
+    }
+
+    @Test
+    void cancelAfterCascade() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, 0);
+        TimingWheel.Timer<String> timer = wheel.schedule(75, "cancelled");
+        wheel.schedule(76, "kept");
+
+        // At 40 the second wheel's bucket holding both timers cascades into the first wheel
+        assertThat(tickUntil(wheel, 50)).isEmpty();
+        assertThat(wheel.cancel(timer)).isTrue();
+
+        assertThat(tickUntil(wheel, 200)).containsOnlyKeys("kept");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advanceOverALongGapFiresEverythingDueInDeadlineOrder() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, 0);
+        wheel.schedule(999, "999");
+        wheel.schedule(300, "300");
+        wheel.schedule(15, "15");
+        wheel.schedule(75, "75");
+        wheel.schedule(40, "40");
+        wheel.schedule(1500, "not yet");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(1000, fired::add);
+
+        assertThat(fired).containsExactly("15", "40", "75", "300", "999");
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.getCurrentTime()).isEqualTo(1000);
+    }
+
+    /**
+     * Advance one tick at a time, recording the clock at which each item fired
+     */
+    private static Map<String, Long> tickUntil(TimingWheel<String> wheel, long until) {
+        Map<String, Long> fired = new LinkedHashMap<>();
+        for (long now = wheel.getCurrentTime() + TICK; now <= until; now += TICK) {
+            long time = now;
+            wheel.advance(now, item -> fired.put(item, time));
+        }
+        return fired;
+    }
+}
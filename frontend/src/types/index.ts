@@ -55,9 +55,12 @@ export interface Document {
   fileName: string;
   fileUrl: string;
   fileSize: number;
+  contentHash?: string;
+  contentType?: string;
   uploadDate?: string;
   uploadedBy: string;
   notes: string;
+  expiresAt?: string;
 }
 
 export enum DocumentType {